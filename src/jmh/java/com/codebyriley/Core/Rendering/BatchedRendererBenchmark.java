@@ -0,0 +1,111 @@
+package com.codebyriley.Core.Rendering;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.codebyriley.Core.Rendering.Backend.RecordingRenderBackend;
+import com.codebyriley.Util.Math.Transform;
+
+/**
+ * Quad emission cost of BatchedRenderer against the recording backend, so it runs headless.
+ * Each invocation fills one batch without flushing, which keeps the backend's own bookkeeping
+ * out of the numbers; scores and gc.alloc.rate.norm are per quad.
+ *
+ * Run with: mvn -Pjmh test. {@link #main} fails the build if any quad path allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchedRendererBenchmark {
+    private static final int QUADS = BatchedRenderer.MAX_QUADS;
+    // Allowed allocation per quad; JMH reports small noise even for allocation-free code
+    private static final double MAX_BYTES_PER_QUAD = 0.5;
+
+    private BatchedRenderer renderer;
+    private Transform transform;
+
+    @Setup
+    public void setup() {
+        GLStateCache.setBackend(new RecordingRenderBackend());
+        renderer = new BatchedRenderer();
+        transform = new Transform();
+        transform.mRotation = 0.3f;
+        transform.mScale.x = 2.0f;
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUADS)
+    public void axisAligned() {
+        renderer.begin();
+        for (int i = 0; i < QUADS; i++) {
+            renderer.addQuad(i, i, 16, 16, 0, 0, 1, 1, 1, 1, 1, 1, 7);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUADS)
+    public void rotated() {
+        renderer.begin();
+        for (int i = 0; i < QUADS; i++) {
+            renderer.addQuad(i, i, 16, 16, i * 0.01f, 0, 0, 1, 1, 1, 1, 1, 1, 7);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUADS)
+    public void rotatedAboutPivot() {
+        renderer.begin();
+        for (int i = 0; i < QUADS; i++) {
+            renderer.addQuad(i, i, 16, 16, i * 0.01f, 100, 50, 0, 0, 1, 1, 1, 1, 1, 1, 7);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUADS)
+    public void fromTransform() {
+        renderer.begin();
+        for (int i = 0; i < QUADS; i++) {
+            transform.mPosition.x = i;
+            renderer.addQuad(transform, 16, 16, 0, 0, 1, 1, 1, 1, 1, 1, 7);
+        }
+    }
+
+    /**
+     * Run every benchmark with the GC profiler and exit non-zero if one allocates per quad.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(BatchedRendererBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        boolean allocates = false;
+        for (RunResult run : new Runner(options).run()) {
+            String name = run.getParams().getBenchmark();
+            for (Map.Entry<String, Result> entry : run.getSecondaryResults().entrySet()) {
+                // The label is "gc.alloc.rate.norm" with a leading middle dot in older JMH versions
+                if (!entry.getKey().endsWith("gc.alloc.rate.norm")) continue;
+                double bytes = entry.getValue().getScore();
+                System.out.printf("%s: %.3f bytes/quad%n", name, bytes);
+                if (bytes > MAX_BYTES_PER_QUAD) allocates = true;
+            }
+        }
+        if (allocates) {
+            System.err.println("BatchedRendererBenchmark: quad emission allocates");
+            System.exit(1);
+        }
+    }
+}
@@ -16,9 +16,21 @@ import com.codebyriley.Core.Rendering.WindowBase;
 import com.codebyriley.Core.Input.InputKeyboard;
 import com.codebyriley.Core.Input.InputMouse;
 import com.codebyriley.Core.Rendering.BatchedRenderer;
+import com.codebyriley.Core.Rendering.Camera2D;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.GpuTimer;
+import com.codebyriley.Core.Rendering.RenderQueue;
 import com.codebyriley.Core.Rendering.UIRenderer;
+import com.codebyriley.Core.Rendering.Shaders.ShaderHotReload;
+import com.codebyriley.Core.Rendering.Shaders.ShaderProgramRegistry;
+import com.codebyriley.Core.Rendering.Textures.AsyncTextureLoader;
+import com.codebyriley.Core.Rendering.Textures.TextureArray;
+import com.codebyriley.Core.Rendering.Textures.KtxTextureLoader;
+import com.codebyriley.Core.Rendering.Textures.TextureCache;
+import com.codebyriley.Core.Rendering.UI.TextField;
 import com.codebyriley.Core.Rendering.UI.UIManager;
 import com.codebyriley.Core.Rendering.UI.Text.FontLoader;
+import com.codebyriley.Core.Rendering.UI.Text.GlyphAtlas;
 import com.codebyriley.Core.Rendering.UI.Text.TextRenderer;
 import com.codebyriley.Core.Scene.BasicScene;
 import com.codebyriley.Core.Scene.SceneBase;
@@ -27,6 +39,7 @@ import com.codebyriley.Core.Scene.SceneSerialisation;
 import com.codebyriley.Core.Scene.SceneTransitions;
 import com.codebyriley.Core.Scene.Entities.Entity;
 import com.codebyriley.Util.Log;
+import com.codebyriley.Util.Profiler;
 import com.codebyriley.Core.Scene.SceneSerialisation.SceneWithUI;
 import com.codebyriley.Core.Scene.SceneSerialisation.UIElementData;
 import com.codebyriley.Core.Rendering.UI.UIElement;
@@ -38,11 +51,16 @@ import com.codebyriley.Core.Scene.Entities.EntityBase;
 public class Engine {
 
     private TextRenderer textRenderer;
-    private FontLoader font;
+    private GlyphAtlas font;
     private FontLoader TypeLightSansFont;
     private UIActionHandler uiActionHandler;
 
     private BatchedRenderer sceneRenderer;
+    private TextureArray spriteArray;
+    private Camera2D camera;
+    private int lastFrameDrawCalls = 0;
+    private GpuTimer gpuTimer;
+    private static final float TEXTURE_UPLOAD_BUDGET_MS = 2.0f; // GL thread time per frame for async texture uploads
     private UIRenderer uiRenderer;
     private UIManager uiManager;
     private WindowBase window;
@@ -86,6 +104,10 @@ public class Engine {
             if(key == GLFW.GLFW_KEY_ESCAPE && action == GLFW.GLFW_RELEASE) {
                 GLFW.glfwSetWindowShouldClose(window, true);
             }
+            // F3 toggles the CPU frame profiler
+            if(key == GLFW.GLFW_KEY_F3 && action == GLFW.GLFW_RELEASE) {
+                Profiler.setEnabled(!Profiler.isEnabled());
+            }
         });
 
         // Set framebuffer size callback to handle window resizing properly
@@ -110,7 +132,7 @@ public class Engine {
         Log.info("Initial viewport set to: " + WindowBase.windowWidth + "x" + WindowBase.windowHeight);
 
         // Init Fonts
-        font = FontLoader.create("fonts/Tektur-Bold.ttf", 48, 96);
+        font = new GlyphAtlas("fonts/Tektur-Bold.ttf", 48, 1024);
         
         // Create Renderers
         sceneRenderer = new BatchedRenderer();
@@ -118,6 +140,16 @@ public class Engine {
             Log.error("Failed to create BatchedRenderer");
             throw new RuntimeException("Failed to create BatchedRenderer");
         }
+        // Scene sprites are in world coordinates; the camera starts on the plain screen mapping
+        camera = new Camera2D();
+        sceneRenderer.setCamera(camera);
+        try {
+            // Same-sized sprite sets share one texture array so they batch into a single draw
+            spriteArray = TextureArray.fromResourceDirectories("textures/ships", "textures/ship_mods", "textures/effects");
+            sceneRenderer.setTextureArray(spriteArray);
+        } catch (RuntimeException e) {
+            Log.warn("Sprite texture array unavailable, falling back to texture slots: " + e.getMessage());
+        }
         
         uiRenderer = new UIRenderer();
         if (uiRenderer == null) {
@@ -127,11 +159,14 @@ public class Engine {
         
         uiManager = new UIManager(uiRenderer);
         textRenderer = new TextRenderer(uiRenderer, font);
+        gpuTimer = new GpuTimer();
         uiActionHandler = new EngineUIActionHandler(this);
         
         // Validate renderers
-        Log.info("Renderers initialized successfully");
+        Log.info("Renderers initialized successfully (" + ShaderProgramRegistry.getProgramCount() + " shader programs, "
+            + ShaderProgramRegistry.getBinaryLoadCount() + " from cached binaries, " + ShaderProgramRegistry.getCompileCount() + " compiled)");
         Log.checkGLErrorDetailed("Engine.Init", "renderer initialization");
+        ShaderHotReload.start();
 
         // Check saves directory and load scene
         if(!Files.exists(Paths.get(getAppdataPath() + "saves/"))) {
@@ -242,6 +277,7 @@ public class Engine {
     public void Update() {
         lastFpsTime = glfwGetTime();
         while(!ShouldClose) {
+            Profiler.beginFrame();
             float currentFrame = (float)glfwGetTime();
             deltaTime = (currentFrame - lastFrame) * 1000;
             lastFrame = currentFrame;
@@ -252,15 +288,82 @@ public class Engine {
                 fps = frames / (now - lastFpsTime);
                 frames = 0;
                 lastFpsTime = now;
+                Log.debug("GL state cache: " + GLStateCache.getFrameHits() + " redundant calls skipped, "
+                    + GLStateCache.getFrameMisses() + " issued last frame");
+                logRenderQueueStats();
+                logGpuTimes();
+                if (TextureCache.getEntryCount() > 0) {
+                    Log.debug("Texture cache: " + TextureCache.getEntryCount() + " textures (" + TextureCache.getIdleCount() + " idle), "
+                        + TextureCache.getResidentBytes() / 1024 + " KB resident, " + TextureCache.getHitCount() + " hits, "
+                        + TextureCache.getMissCount() + " misses, " + TextureCache.getEvictionCount() + " evictions");
+                }
+                if (KtxTextureLoader.GetUploadedBytes() > 0) {
+                    Log.debug("KTX2 textures: " + KtxTextureLoader.GetUploadedBytes() / 1024 + " KB uploaded, "
+                        + KtxTextureLoader.GetSavedBytes() / 1024 + " KB VRAM saved against RGBA8");
+                }
+                if (Profiler.isEnabled() && Profiler.getRecordedFrames() > 0) {
+                    Log.debug("CPU profile, average frame " + String.format("%.3f ms", Profiler.getAverageFrameMs())
+                        + ", last frame:\n" + Profiler.dumpFrame(0));
+                }
+                if (uiManager.isCachedRendering()) {
+                    Log.debug("UI cache: " + uiManager.getRedrawCount() + " redraws ("
+                        + uiManager.getPartialRedrawCount() + " partial) in the last second");
+                    uiManager.resetRedrawCounts();
+                }
             }
+            GLStateCache.beginFrame();
+            gpuTimer.beginFrame();
+            lastFrameDrawCalls = sceneRenderer.getDrawCallCount();
+            sceneRenderer.resetDrawCallCount();
     
+            Profiler.begin("texture.upload");
+            AsyncTextureLoader.ProcessUploads(TEXTURE_UPLOAD_BUDGET_MS);
+            Profiler.end();
+            Profiler.begin("shader.reload");
+            ShaderHotReload.update();
+            Profiler.end();
+            Profiler.begin("scene.update");
             SceneManager.Update(deltaTime);
+            Profiler.end();
+            Profiler.begin("draw");
             Draw();
+            Profiler.end();
+            Profiler.begin("input");
             PollEvents();
+            Profiler.end();
             
             // Process any pending scene changes after rendering is complete
             processPendingScene();
+            Profiler.endFrame();
+        }
+    }
+
+    private void logRenderQueueStats() {
+        SceneBase scene = SceneManager.GetCurrentScene();
+        if (scene == null) return;
+        if (scene.GetVisibleSpriteCount() + scene.GetCulledSpriteCount() > 0) {
+            Log.debug("Sprite culling: " + scene.GetVisibleSpriteCount() + " visible, "
+                + scene.GetCulledSpriteCount() + " culled");
+        }
+        RenderQueue queue = scene.mRenderQueue;
+        if (queue == null || queue.getLastCommandCount() == 0) return;
+        Log.debug("Render queue: " + queue.getLastCommandCount() + " sprites, "
+            + queue.getLastBatchesUnsorted() + " batches unsorted -> " + queue.getLastBatchesSorted() + " sorted, "
+            + lastFrameDrawCalls + " scene draw calls");
+    }
+
+    private void logGpuTimes() {
+        if (gpuTimer.getPassNames().isEmpty()) return;
+        StringBuilder message = new StringBuilder("GPU time (avg / p95 ms):");
+        for (String pass : gpuTimer.getPassNames()) {
+            message.append(' ').append(pass).append(' ')
+                .append(String.format("%.2f / %.2f", gpuTimer.getAverageMs(pass), gpuTimer.getPercentileMs(pass, 95.0f)));
         }
+        Log.debug(message.toString());
+    }
+
+    public GpuTimer getGpuTimer() {
+        return gpuTimer;
     }
 
     public void Draw() {
@@ -269,47 +372,55 @@ public class Engine {
         Log.checkGLErrorDetailed("Engine.Draw", "glClear");
 
         // Draw current scene (which uses batching internally)
+        gpuTimer.begin("scene");
+        Profiler.begin("draw.scene");
         SceneManager.Draw(sceneRenderer, textRenderer);
+        Profiler.end();
+        gpuTimer.end();
         Log.checkGLErrorDetailed("Engine.Draw", "SceneManager.Draw");
         
-        // 3. Draw FPS text
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-        glDisable(GL_DEPTH_TEST);
+        // 3. Draw FPS text. The overlay passes below share the same blend/depth state,
+        // which is restored once at the end of the frame.
+        GLStateCache.setBlend(true);
+        GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        GLStateCache.setDepthTest(false);
+        gpuTimer.begin("text");
         textRenderer.drawText(String.valueOf((int)fps), 25, 75, new com.codebyriley.Util.Math.Vector3f(1.0f, 1.0f, 1.0f), 1.0f);
+        gpuTimer.end();
         Log.checkGLErrorDetailed("Engine.Draw", "textRenderer.drawText");
-        glEnable(GL_DEPTH_TEST);
-        glDisable(GL_BLEND);
 
+        gpuTimer.begin("ui");
+        Profiler.begin("draw.ui");
         uiManager.render();
+        Profiler.end();
+        gpuTimer.end();
         
         Log.checkGLErrorDetailed("Engine.Draw", "uiManager.render");
 
-        // 4. Draw overlays (e.g., fade) on top
+        // 4. Draw overlays (e.g., fade) on top, in screen space
         float alpha = SceneManager.getCurrentFade();
         if (alpha > 0.0f) {
-            glEnable(GL_BLEND);
-            glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-            glDisable(GL_DEPTH_TEST);
-
-            sceneRenderer.begin();
-            sceneRenderer.addQuad(
+            gpuTimer.begin("fade");
+            uiRenderer.begin();
+            uiRenderer.addQuad(
                 WindowBase.windowWidth / 2.0f, WindowBase.windowHeight / 2.0f,
                 WindowBase.windowWidth, WindowBase.windowHeight,
                 0.0f, 0.0f, 1.0f, 1.0f,
                 0.25f, 0.25f, 0.25f, alpha,
                 0 // White texture
             );
-            sceneRenderer.end();
+            uiRenderer.end();
+            gpuTimer.end();
 
-            glEnable(GL_DEPTH_TEST);
-            glDisable(GL_BLEND);
-
-            Log.checkGLErrorDetailed("Engine.Draw", "sceneRenderer fade overlay");
+            Log.checkGLErrorDetailed("Engine.Draw", "fade overlay");
         }
+        GLStateCache.setDepthTest(true);
+        GLStateCache.setBlend(false);
 
         // 5. Swap buffers
+        Profiler.begin("draw.swap");
         glfwSwapBuffers(WindowBase.windowHandle);
+        Profiler.end();
         Log.checkGLErrorDetailed("Engine.Draw", "glfwSwapBuffers");
     }
 
@@ -342,6 +453,7 @@ public class Engine {
         }
         
         glfwPollEvents();
+        updateCameraControls();
         if(IsKeyPressed(GLFW.GLFW_KEY_ESCAPE)) {
             ShouldClose = true;
         }
@@ -380,6 +492,16 @@ public class Engine {
             pendingTransition = SceneTransitions.EASE_IN_OUT;
             pendingDuration = 0.25f;
         }
+        if(IsKeyJustPressed(GLFW.GLFW_KEY_I)) {
+            // Toggle between the vertex batch and the instanced sprite path for A/B comparison
+            sceneRenderer.setInstanced(!sceneRenderer.isInstanced());
+            Log.info("Scene renderer instancing: " + (sceneRenderer.isInstanced() ? "ON" : "OFF"));
+        }
+        if(IsKeyJustPressed(GLFW.GLFW_KEY_O)) {
+            // Toggle the offscreen UI cache for A/B comparison
+            uiManager.setCachedRendering(!uiManager.isCachedRendering());
+            Log.info("UI offscreen cache: " + (uiManager.isCachedRendering() ? "ON" : "OFF"));
+        }
         if(IsKeyJustPressed(GLFW.GLFW_KEY_S)) {
             // Defer scene creation to avoid OpenGL state issues
             Log.info("Saving scene");
@@ -405,6 +527,27 @@ public class Engine {
         }
     }
 
+    /**
+     * Arrow keys pan, Z/X zoom in/out, C resets the camera.
+     */
+    private void updateCameraControls() {
+        // Arrow keys belong to the text field while one is focused
+        if (uiManager.getFocusedElement() instanceof TextField) return;
+        float seconds = deltaTime / 1000.0f;
+        float pan = 600.0f * seconds / camera.getZoom();
+        if (IsKeyPressed(GLFW.GLFW_KEY_LEFT)) camera.move(-pan, 0.0f);
+        if (IsKeyPressed(GLFW.GLFW_KEY_RIGHT)) camera.move(pan, 0.0f);
+        if (IsKeyPressed(GLFW.GLFW_KEY_UP)) camera.move(0.0f, -pan);
+        if (IsKeyPressed(GLFW.GLFW_KEY_DOWN)) camera.move(0.0f, pan);
+        if (IsKeyPressed(GLFW.GLFW_KEY_Z)) camera.zoomBy((float) Math.pow(2.0, seconds));
+        if (IsKeyPressed(GLFW.GLFW_KEY_X)) camera.zoomBy((float) Math.pow(0.5, seconds));
+        if (IsKeyJustPressed(GLFW.GLFW_KEY_C)) {
+            camera.setPosition(WindowBase.windowWidth * 0.5f, WindowBase.windowHeight * 0.5f);
+            camera.setZoom(1.0f);
+            camera.setRotation(0.0f);
+        }
+    }
+
     private void processPendingScene() {
         if (pendingScene != null) {
             // Initialize the scene before changing to it to avoid OpenGL resource creation during rendering
@@ -415,16 +558,30 @@ public class Engine {
     }
 
     public void Shutdown() {
+        ShaderHotReload.stop();
         // Clean up renderers
         if (sceneRenderer != null) {
             sceneRenderer.destroy();
         }
+        if (spriteArray != null) {
+            spriteArray.delete();
+        }
         if (uiRenderer != null) {
             uiRenderer.destroy();
         }
+        if (gpuTimer != null) {
+            gpuTimer.destroy();
+        }
+        if (font != null) {
+            font.destroy();
+        }
+        TextureCache.clear();
+        AsyncTextureLoader.Shutdown();
         if (uiManager != null) {
             uiManager.clear();
+            uiManager.destroy();
         }
+        ShaderProgramRegistry.clear();
         
         // Clean up window
         if (window != null) {
@@ -0,0 +1,252 @@
+package com.codebyriley.Core.Rendering.Backend;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import org.lwjgl.opengl.ARBParallelShaderCompile;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.opengl.GL41;
+import org.lwjgl.opengl.GL44;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.opengl.KHRParallelShaderCompile;
+
+/**
+ * RenderBackend forwarding every call to OpenGL on the current context.
+ */
+public class GLRenderBackend implements RenderBackend {
+
+    @Override
+    public int glGenVertexArrays() { return GL33.glGenVertexArrays(); }
+
+    @Override
+    public int glGenBuffers() { return GL33.glGenBuffers(); }
+
+    @Override
+    public int glGenTextures() { return GL33.glGenTextures(); }
+
+    @Override
+    public void glDeleteVertexArrays(int array) { GL33.glDeleteVertexArrays(array); }
+
+    @Override
+    public void glDeleteBuffers(int buffer) { GL33.glDeleteBuffers(buffer); }
+
+    @Override
+    public void glDeleteTextures(int texture) { GL33.glDeleteTextures(texture); }
+
+    @Override
+    public void glBindVertexArray(int array) { GL33.glBindVertexArray(array); }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) { GL33.glBindBuffer(target, buffer); }
+
+    @Override
+    public void glActiveTexture(int texture) { GL33.glActiveTexture(texture); }
+
+    @Override
+    public void glBindTexture(int target, int texture) { GL33.glBindTexture(target, texture); }
+
+    @Override
+    public void glBufferData(int target, long size, int usage) { GL33.glBufferData(target, size, usage); }
+
+    @Override
+    public void glBufferData(int target, ByteBuffer data, int usage) { GL33.glBufferData(target, data, usage); }
+
+    @Override
+    public void glBufferData(int target, IntBuffer data, int usage) { GL33.glBufferData(target, data, usage); }
+
+    @Override
+    public void glBufferData(int target, int[] data, int usage) { GL33.glBufferData(target, data, usage); }
+
+    @Override
+    public void glBufferData(int target, float[] data, int usage) { GL33.glBufferData(target, data, usage); }
+
+    @Override
+    public void glBufferSubData(int target, long offset, ByteBuffer data) { GL33.glBufferSubData(target, offset, data); }
+
+    @Override
+    public void glBufferSubData(int target, long offset, FloatBuffer data) { GL33.glBufferSubData(target, offset, data); }
+
+    @Override
+    public void glBufferStorage(int target, long size, int flags) { GL44.glBufferStorage(target, size, flags); }
+
+    @Override
+    public ByteBuffer glMapBufferRange(int target, long offset, long length, int access) { return GL33.glMapBufferRange(target, offset, length, access); }
+
+    @Override
+    public boolean glUnmapBuffer(int target) { return GL33.glUnmapBuffer(target); }
+
+    @Override
+    public long glFenceSync(int condition, int flags) { return GL33.glFenceSync(condition, flags); }
+
+    @Override
+    public int glClientWaitSync(long sync, int flags, long timeout) { return GL33.glClientWaitSync(sync, flags, timeout); }
+
+    @Override
+    public void glDeleteSync(long sync) { GL33.glDeleteSync(sync); }
+
+    @Override
+    public int glGenQueries() { return GL33.glGenQueries(); }
+
+    @Override
+    public void glDeleteQueries(int id) { GL33.glDeleteQueries(id); }
+
+    @Override
+    public void glBeginQuery(int target, int id) { GL33.glBeginQuery(target, id); }
+
+    @Override
+    public void glEndQuery(int target) { GL33.glEndQuery(target); }
+
+    @Override
+    public int glGetQueryObjecti(int id, int pname) { return GL33.glGetQueryObjecti(id, pname); }
+
+    @Override
+    public long glGetQueryObjectui64(int id, int pname) { return GL33.glGetQueryObjectui64(id, pname); }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) { GL33.glVertexAttribPointer(index, size, type, normalized, stride, pointer); }
+
+    @Override
+    public void glVertexAttribIPointer(int index, int size, int type, int stride, long pointer) { GL33.glVertexAttribIPointer(index, size, type, stride, pointer); }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) { GL33.glEnableVertexAttribArray(index); }
+
+    @Override
+    public void glVertexAttribDivisor(int index, int divisor) { GL33.glVertexAttribDivisor(index, divisor); }
+
+    @Override
+    public int glCreateShader(int type) { return GL33.glCreateShader(type); }
+
+    @Override
+    public void glShaderSource(int shader, CharSequence source) { GL33.glShaderSource(shader, source); }
+
+    @Override
+    public void glCompileShader(int shader) { GL33.glCompileShader(shader); }
+
+    @Override
+    public void glGetShaderiv(int shader, int pname, int[] params) { GL33.glGetShaderiv(shader, pname, params); }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) { return GL33.glGetShaderInfoLog(shader); }
+
+    @Override
+    public void glDeleteShader(int shader) { GL33.glDeleteShader(shader); }
+
+    @Override
+    public int glCreateProgram() { return GL33.glCreateProgram(); }
+
+    @Override
+    public void glAttachShader(int program, int shader) { GL33.glAttachShader(program, shader); }
+
+    @Override
+    public void glLinkProgram(int program) { GL33.glLinkProgram(program); }
+
+    @Override
+    public void glGetProgramiv(int program, int pname, int[] params) { GL33.glGetProgramiv(program, pname, params); }
+
+    @Override
+    public String glGetProgramInfoLog(int program) { return GL33.glGetProgramInfoLog(program); }
+
+    @Override
+    public void glUseProgram(int program) { GL33.glUseProgram(program); }
+
+    @Override
+    public void glDeleteProgram(int program) { GL33.glDeleteProgram(program); }
+
+    @Override
+    public void glProgramParameteri(int program, int pname, int value) { GL41.glProgramParameteri(program, pname, value); }
+
+    @Override
+    public void glGetProgramBinary(int program, int[] length, int[] binaryFormat, ByteBuffer binary) { GL41.glGetProgramBinary(program, length, binaryFormat, binary); }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, ByteBuffer binary) { GL41.glProgramBinary(program, binaryFormat, binary); }
+
+    @Override
+    public void glMaxShaderCompilerThreadsKHR(int count) {
+        if (GL.getCapabilities().GL_KHR_parallel_shader_compile) {
+            KHRParallelShaderCompile.glMaxShaderCompilerThreadsKHR(count);
+        } else {
+            ARBParallelShaderCompile.glMaxShaderCompilerThreadsARB(count);
+        }
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, CharSequence name) { return GL33.glGetUniformLocation(program, name); }
+
+    @Override
+    public void glUniform1i(int location, int v0) { GL33.glUniform1i(location, v0); }
+
+    @Override
+    public void glUniform1f(int location, float v0) { GL33.glUniform1f(location, v0); }
+
+    @Override
+    public void glUniform2f(int location, float v0, float v1) { GL33.glUniform2f(location, v0, v1); }
+
+    @Override
+    public void glUniform3f(int location, float v0, float v1, float v2) { GL33.glUniform3f(location, v0, v1, v2); }
+
+    @Override
+    public void glUniformMatrix4fv(int location, boolean transpose, FloatBuffer value) { GL33.glUniformMatrix4fv(location, transpose, value); }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) { GL33.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels); }
+
+    @Override
+    public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, ByteBuffer pixels) { GL33.glTexSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels); }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) { GL33.glTexParameteri(target, pname, param); }
+
+    @Override
+    public void glPixelStorei(int pname, int param) { GL33.glPixelStorei(pname, param); }
+
+    @Override
+    public void glEnable(int cap) { GL33.glEnable(cap); }
+
+    @Override
+    public void glDisable(int cap) { GL33.glDisable(cap); }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) { GL33.glBlendFunc(sfactor, dfactor); }
+
+    @Override
+    public void glBlendFuncSeparate(int sfactorRGB, int dfactorRGB, int sfactorAlpha, int dfactorAlpha) { GL33.glBlendFuncSeparate(sfactorRGB, dfactorRGB, sfactorAlpha, dfactorAlpha); }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) { GL33.glDrawArrays(mode, first, count); }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, long indices) { GL33.glDrawElements(mode, count, type, indices); }
+
+    @Override
+    public void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex) { GL33.glDrawElementsBaseVertex(mode, count, type, indices, basevertex); }
+
+    @Override
+    public void glDrawElementsInstanced(int mode, int count, int type, long indices, int primcount) { GL33.glDrawElementsInstanced(mode, count, type, indices, primcount); }
+
+    @Override
+    public int glGetError() { return GL33.glGetError(); }
+
+    @Override
+    public String glGetString(int name) { return GL33.glGetString(name); }
+
+    @Override
+    public boolean hasBufferStorage() {
+        GLCapabilities caps = GL.getCapabilities();
+        return caps.OpenGL44 || caps.GL_ARB_buffer_storage;
+    }
+
+    @Override
+    public boolean hasProgramBinary() {
+        GLCapabilities caps = GL.getCapabilities();
+        return (caps.OpenGL41 || caps.GL_ARB_get_program_binary) && GL33.glGetInteger(GL41.GL_NUM_PROGRAM_BINARY_FORMATS) > 0;
+    }
+
+    @Override
+    public boolean hasParallelShaderCompile() {
+        GLCapabilities caps = GL.getCapabilities();
+        return caps.GL_KHR_parallel_shader_compile || caps.GL_ARB_parallel_shader_compile;
+    }
+}
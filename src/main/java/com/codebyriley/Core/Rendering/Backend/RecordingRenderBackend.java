@@ -0,0 +1,371 @@
+package com.codebyriley.Core.Rendering.Backend;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.lwjgl.BufferUtils;
+
+/**
+ * RenderBackend that needs no GL context and records what the renderers ask for. Use it to run
+ * batching, sorting and vertex emission on headless machines and measure or assert on the result.
+ *
+ * Object names are handed out from counters, shaders always compile and link, uniform locations
+ * are stable per program and name, and glGetError reports no error. Counters cover draw calls,
+ * uploaded bytes, state changes and texture binds; each draw call is also kept as a
+ * {@link DrawCall}, and uploaded vertex bytes can be kept with {@link #setCaptureUploads}.
+ *
+ * Call {@link #reset()} between measured frames; recorded draw calls are kept until then.
+ */
+public class RecordingRenderBackend implements RenderBackend {
+    private static final int MAX_TEXTURE_UNITS = 32;
+
+    /** One recorded draw with the state it was issued under. */
+    public static class DrawCall {
+        public final int mode;
+        public final int count;
+        public final int instances;
+        public final int baseVertex;
+        public final int program;
+        public final int vertexArray;
+        /** Texture bound on each unit at draw time (0 = none). */
+        public final int[] textures;
+
+        DrawCall(int mode, int count, int instances, int baseVertex, int program, int vertexArray, int[] textures) {
+            this.mode = mode;
+            this.count = count;
+            this.instances = instances;
+            this.baseVertex = baseVertex;
+            this.program = program;
+            this.vertexArray = vertexArray;
+            this.textures = textures;
+        }
+    }
+
+    /** A copy of bytes written to a buffer. */
+    public static class Upload {
+        public final int buffer;
+        public final long offset;
+        public final byte[] data;
+
+        Upload(int buffer, long offset, byte[] data) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.data = data;
+        }
+    }
+
+    // Object names
+    private int nextName = 1;
+    private long nextSync = 1;
+    private final Map<Integer, Map<String, Integer>> uniformLocations = new HashMap<>();
+
+    // Bound state
+    private int program = 0;
+    private int vertexArray = 0;
+    private final Map<Integer, Integer> boundBuffers = new HashMap<>();
+    private int activeUnit = 0;
+    private final int[] boundTextures = new int[MAX_TEXTURE_UNITS];
+    private ByteBuffer mapping;
+    private int mappingBuffer;
+    private long mappingOffset;
+
+    // Records
+    private final List<DrawCall> drawCalls = new ArrayList<>();
+    private final List<Upload> uploads = new ArrayList<>();
+    private boolean captureUploads = false;
+
+    // Counters
+    private int drawCallCount = 0;
+    private long drawnElements = 0;
+    private long uploadedBytes = 0;
+    private int uploadCount = 0;
+    private int stateChanges = 0;
+    private int textureBinds = 0;
+    private int uniformUpdates = 0;
+
+    /**
+     * Keep a copy of every buffer upload in {@link #getUploads()}. Off by default since it
+     * allocates per upload.
+     */
+    public void setCaptureUploads(boolean capture) {
+        captureUploads = capture;
+    }
+
+    /**
+     * Clear recorded draw calls, uploads and counters. Object names and bindings are kept.
+     */
+    public void reset() {
+        drawCalls.clear();
+        uploads.clear();
+        drawCallCount = 0;
+        drawnElements = 0;
+        uploadedBytes = 0;
+        uploadCount = 0;
+        stateChanges = 0;
+        textureBinds = 0;
+        uniformUpdates = 0;
+    }
+
+    public List<DrawCall> getDrawCalls() { return drawCalls; }
+    public List<Upload> getUploads() { return uploads; }
+    public int getDrawCallCount() { return drawCallCount; }
+
+    /** Vertices or indices consumed by draws, not counting instancing. */
+    public long getDrawnElements() { return drawnElements; }
+    public long getUploadedBytes() { return uploadedBytes; }
+    public int getUploadCount() { return uploadCount; }
+
+    /** Program, VAO, buffer, enable/disable and blend function calls. */
+    public int getStateChanges() { return stateChanges; }
+    public int getTextureBinds() { return textureBinds; }
+    public int getUniformUpdates() { return uniformUpdates; }
+
+    // --- Helpers ---
+
+    private void recordUpload(int target, long offset, ByteBuffer data) {
+        int size = data.remaining();
+        uploadedBytes += size;
+        uploadCount++;
+        if (captureUploads) {
+            byte[] copy = new byte[size];
+            data.duplicate().get(copy);
+            uploads.add(new Upload(boundBuffers.getOrDefault(target, 0), offset, copy));
+        }
+    }
+
+    private void recordUpload(int target, long size) {
+        uploadedBytes += size;
+        uploadCount++;
+        if (captureUploads) {
+            uploads.add(new Upload(boundBuffers.getOrDefault(target, 0), 0, new byte[0]));
+        }
+    }
+
+    private static int bytesPerPixel(int format) {
+        switch (format) {
+            case GL_RED: return 1;
+            case GL_RG: return 2;
+            case GL_RGB: return 3;
+            default: return 4;
+        }
+    }
+
+    private void recordDraw(int mode, int count, int instances, int baseVertex) {
+        drawCallCount++;
+        drawnElements += count;
+        drawCalls.add(new DrawCall(mode, count, instances, baseVertex, program, vertexArray,
+            Arrays.copyOf(boundTextures, boundTextures.length)));
+    }
+
+    // --- Objects ---
+
+    @Override public int glGenVertexArrays() { return nextName++; }
+    @Override public int glGenBuffers() { return nextName++; }
+    @Override public int glGenTextures() { return nextName++; }
+    @Override public void glDeleteVertexArrays(int array) { if (vertexArray == array) vertexArray = 0; }
+    @Override public void glDeleteBuffers(int buffer) { boundBuffers.values().removeIf(id -> id == buffer); }
+
+    @Override
+    public void glDeleteTextures(int texture) {
+        for (int i = 0; i < boundTextures.length; i++) {
+            if (boundTextures[i] == texture) boundTextures[i] = 0;
+        }
+    }
+
+    // --- Binding ---
+
+    @Override
+    public void glBindVertexArray(int array) {
+        stateChanges++;
+        vertexArray = array;
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        stateChanges++;
+        boundBuffers.put(target, buffer);
+    }
+
+    @Override
+    public void glActiveTexture(int texture) {
+        stateChanges++;
+        activeUnit = texture - GL_TEXTURE0;
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        textureBinds++;
+        if (activeUnit >= 0 && activeUnit < MAX_TEXTURE_UNITS) boundTextures[activeUnit] = texture;
+    }
+
+    // --- Buffers ---
+
+    @Override public void glBufferData(int target, long size, int usage) { recordUpload(target, size); }
+    @Override public void glBufferData(int target, ByteBuffer data, int usage) { recordUpload(target, 0, data); }
+    @Override public void glBufferData(int target, IntBuffer data, int usage) { recordUpload(target, (long) data.remaining() * Integer.BYTES); }
+    @Override public void glBufferData(int target, int[] data, int usage) { recordUpload(target, (long) data.length * Integer.BYTES); }
+    @Override public void glBufferData(int target, float[] data, int usage) { recordUpload(target, (long) data.length * Float.BYTES); }
+    @Override public void glBufferSubData(int target, long offset, ByteBuffer data) { recordUpload(target, offset, data); }
+
+    @Override
+    public void glBufferSubData(int target, long offset, FloatBuffer data) {
+        ByteBuffer bytes = BufferUtils.createByteBuffer(data.remaining() * Float.BYTES);
+        bytes.asFloatBuffer().put(data.duplicate());
+        recordUpload(target, offset, bytes);
+    }
+
+    @Override public void glBufferStorage(int target, long size, int flags) { }
+
+    @Override
+    public ByteBuffer glMapBufferRange(int target, long offset, long length, int access) {
+        if (mapping == null || mapping.capacity() < length) {
+            mapping = BufferUtils.createByteBuffer((int) length);
+        }
+        mapping.clear().limit((int) length);
+        mappingBuffer = boundBuffers.getOrDefault(target, 0);
+        mappingOffset = offset;
+        return mapping;
+    }
+
+    @Override
+    public boolean glUnmapBuffer(int target) {
+        if (mapping != null) {
+            // Mapped writes go through absolute addresses, so the whole range counts as written
+            ByteBuffer written = mapping.duplicate();
+            written.position(0);
+            uploadedBytes += written.remaining();
+            uploadCount++;
+            if (captureUploads) {
+                byte[] copy = new byte[written.remaining()];
+                written.get(copy);
+                uploads.add(new Upload(mappingBuffer, mappingOffset, copy));
+            }
+        }
+        return true;
+    }
+
+    // --- Sync ---
+
+    @Override public long glFenceSync(int condition, int flags) { return nextSync++; }
+    @Override public int glClientWaitSync(long sync, int flags, long timeout) { return GL_ALREADY_SIGNALED; }
+    @Override public void glDeleteSync(long sync) { }
+
+    // --- Timer queries ---
+
+    @Override public int glGenQueries() { return nextName++; }
+    @Override public void glDeleteQueries(int id) { }
+    @Override public void glBeginQuery(int target, int id) { }
+    @Override public void glEndQuery(int target) { }
+
+    /** Results are always available and report zero elapsed time. */
+    @Override public int glGetQueryObjecti(int id, int pname) { return pname == GL_QUERY_RESULT_AVAILABLE ? GL_TRUE : 0; }
+    @Override public long glGetQueryObjectui64(int id, int pname) { return 0L; }
+
+    // --- Vertex attributes ---
+
+    @Override public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) { }
+    @Override public void glVertexAttribIPointer(int index, int size, int type, int stride, long pointer) { }
+    @Override public void glEnableVertexAttribArray(int index) { }
+    @Override public void glVertexAttribDivisor(int index, int divisor) { }
+
+    // --- Shaders and programs ---
+
+    @Override public int glCreateShader(int type) { return nextName++; }
+    @Override public void glShaderSource(int shader, CharSequence source) { }
+    @Override public void glCompileShader(int shader) { }
+    @Override public void glGetShaderiv(int shader, int pname, int[] params) { params[0] = GL_TRUE; }
+    @Override public String glGetShaderInfoLog(int shader) { return ""; }
+    @Override public void glDeleteShader(int shader) { }
+    @Override public int glCreateProgram() { return nextName++; }
+    @Override public void glAttachShader(int program, int shader) { }
+    @Override public void glLinkProgram(int program) { }
+    @Override public void glGetProgramiv(int program, int pname, int[] params) { params[0] = GL_TRUE; }
+    @Override public String glGetProgramInfoLog(int program) { return ""; }
+
+    @Override
+    public void glUseProgram(int program) {
+        stateChanges++;
+        this.program = program;
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        uniformLocations.remove(program);
+        if (this.program == program) this.program = 0;
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, CharSequence name) {
+        Map<String, Integer> locations = uniformLocations.computeIfAbsent(program, p -> new HashMap<>());
+        return locations.computeIfAbsent(name.toString(), n -> locations.size());
+    }
+
+    // Program binaries are reported unsupported, so these are never reached through the registry
+    @Override public void glProgramParameteri(int program, int pname, int value) { }
+    @Override public void glGetProgramBinary(int program, int[] length, int[] binaryFormat, ByteBuffer binary) { length[0] = 0; binaryFormat[0] = 0; }
+    @Override public void glProgramBinary(int program, int binaryFormat, ByteBuffer binary) { }
+    @Override public void glMaxShaderCompilerThreadsKHR(int count) { }
+
+    // --- Uniforms ---
+
+    @Override public void glUniform1i(int location, int v0) { uniformUpdates++; }
+    @Override public void glUniform1f(int location, float v0) { uniformUpdates++; }
+    @Override public void glUniform2f(int location, float v0, float v1) { uniformUpdates++; }
+    @Override public void glUniform3f(int location, float v0, float v1, float v2) { uniformUpdates++; }
+    @Override public void glUniformMatrix4fv(int location, boolean transpose, FloatBuffer value) { uniformUpdates++; }
+
+    // --- Textures ---
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
+        if (pixels != null) {
+            uploadedBytes += pixels.remaining();
+            uploadCount++;
+        }
+    }
+
+    @Override
+    public void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, ByteBuffer pixels) {
+        // Counts the rectangle only; the buffer may hold a larger image via UNPACK_ROW_LENGTH
+        uploadedBytes += (long) width * height * bytesPerPixel(format);
+        uploadCount++;
+    }
+
+    @Override public void glTexParameteri(int target, int pname, int param) { }
+    @Override public void glPixelStorei(int pname, int param) { }
+
+    // --- Fixed function state ---
+
+    @Override public void glEnable(int cap) { stateChanges++; }
+    @Override public void glDisable(int cap) { stateChanges++; }
+    @Override public void glBlendFunc(int sfactor, int dfactor) { stateChanges++; }
+    @Override public void glBlendFuncSeparate(int sfactorRGB, int dfactorRGB, int sfactorAlpha, int dfactorAlpha) { stateChanges++; }
+
+    // --- Drawing ---
+
+    @Override public void glDrawArrays(int mode, int first, int count) { recordDraw(mode, count, 1, 0); }
+    @Override public void glDrawElements(int mode, int count, int type, long indices) { recordDraw(mode, count, 1, 0); }
+    @Override public void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex) { recordDraw(mode, count, 1, basevertex); }
+    @Override public void glDrawElementsInstanced(int mode, int count, int type, long indices, int primcount) { recordDraw(mode, count, primcount, 0); }
+
+    // --- Queries ---
+
+    @Override public int glGetError() { return GL_NO_ERROR; }
+    @Override public String glGetString(int name) { return "Recording"; }
+
+    /** Streaming buffers fall back to map/unmap uploads, which are recorded. */
+    @Override public boolean hasBufferStorage() { return false; }
+
+    /** Programs are always compiled from source. */
+    @Override public boolean hasProgramBinary() { return false; }
+
+    /** Shaders compile synchronously. */
+    @Override public boolean hasParallelShaderCompile() { return false; }
+}
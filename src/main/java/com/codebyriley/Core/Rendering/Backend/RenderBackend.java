@@ -0,0 +1,142 @@
+package com.codebyriley.Core.Rendering.Backend;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The OpenGL entry points used by the renderers, so rendering code can run against something
+ * other than a live GL context.
+ *
+ * Methods are named and typed after their LWJGL GL33 counterparts and take the same constants.
+ * {@link GLRenderBackend} forwards to OpenGL; {@link RecordingRenderBackend} records the calls in
+ * memory for headless benchmarks and tests.
+ *
+ * The active backend is {@link com.codebyriley.Core.Rendering.GLStateCache#backend()}. Renderers
+ * capture it when they are constructed, so switch backends before creating them.
+ */
+public interface RenderBackend {
+
+    // --- Objects ---
+
+    int glGenVertexArrays();
+    int glGenBuffers();
+    int glGenTextures();
+    void glDeleteVertexArrays(int array);
+    void glDeleteBuffers(int buffer);
+    void glDeleteTextures(int texture);
+
+    // --- Binding ---
+
+    void glBindVertexArray(int array);
+    void glBindBuffer(int target, int buffer);
+    void glActiveTexture(int texture);
+    void glBindTexture(int target, int texture);
+
+    // --- Buffers ---
+
+    void glBufferData(int target, long size, int usage);
+    void glBufferData(int target, ByteBuffer data, int usage);
+    void glBufferData(int target, IntBuffer data, int usage);
+    void glBufferData(int target, int[] data, int usage);
+    void glBufferData(int target, float[] data, int usage);
+    void glBufferSubData(int target, long offset, ByteBuffer data);
+    void glBufferSubData(int target, long offset, FloatBuffer data);
+    void glBufferStorage(int target, long size, int flags);
+    ByteBuffer glMapBufferRange(int target, long offset, long length, int access);
+    boolean glUnmapBuffer(int target);
+
+    // --- Sync ---
+
+    long glFenceSync(int condition, int flags);
+    int glClientWaitSync(long sync, int flags, long timeout);
+    void glDeleteSync(long sync);
+
+    // --- Timer queries ---
+
+    int glGenQueries();
+    void glDeleteQueries(int id);
+    void glBeginQuery(int target, int id);
+    void glEndQuery(int target);
+    int glGetQueryObjecti(int id, int pname);
+    long glGetQueryObjectui64(int id, int pname);
+
+    // --- Vertex attributes ---
+
+    void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer);
+    void glVertexAttribIPointer(int index, int size, int type, int stride, long pointer);
+    void glEnableVertexAttribArray(int index);
+    void glVertexAttribDivisor(int index, int divisor);
+
+    // --- Shaders and programs ---
+
+    int glCreateShader(int type);
+    void glShaderSource(int shader, CharSequence source);
+    void glCompileShader(int shader);
+    void glGetShaderiv(int shader, int pname, int[] params);
+    String glGetShaderInfoLog(int shader);
+    void glDeleteShader(int shader);
+    int glCreateProgram();
+    void glAttachShader(int program, int shader);
+    void glLinkProgram(int program);
+    void glGetProgramiv(int program, int pname, int[] params);
+    String glGetProgramInfoLog(int program);
+    void glUseProgram(int program);
+    void glDeleteProgram(int program);
+    int glGetUniformLocation(int program, CharSequence name);
+    void glProgramParameteri(int program, int pname, int value);
+    void glGetProgramBinary(int program, int[] length, int[] binaryFormat, ByteBuffer binary);
+    void glProgramBinary(int program, int binaryFormat, ByteBuffer binary);
+    void glMaxShaderCompilerThreadsKHR(int count);
+
+    // --- Uniforms ---
+
+    void glUniform1i(int location, int v0);
+    void glUniform1f(int location, float v0);
+    void glUniform2f(int location, float v0, float v1);
+    void glUniform3f(int location, float v0, float v1, float v2);
+    void glUniformMatrix4fv(int location, boolean transpose, FloatBuffer value);
+
+    // --- Textures ---
+
+    void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels);
+    void glTexSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, ByteBuffer pixels);
+    void glTexParameteri(int target, int pname, int param);
+    void glPixelStorei(int pname, int param);
+
+    // --- Fixed function state ---
+
+    void glEnable(int cap);
+    void glDisable(int cap);
+    void glBlendFunc(int sfactor, int dfactor);
+    void glBlendFuncSeparate(int sfactorRGB, int dfactorRGB, int sfactorAlpha, int dfactorAlpha);
+
+    // --- Drawing ---
+
+    void glDrawArrays(int mode, int first, int count);
+    void glDrawElements(int mode, int count, int type, long indices);
+    void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex);
+    void glDrawElementsInstanced(int mode, int count, int type, long indices, int primcount);
+
+    // --- Queries ---
+
+    int glGetError();
+    String glGetString(int name);
+
+    /**
+     * Whether glBufferStorage and persistent mapping are available (GL 4.4 or ARB_buffer_storage).
+     */
+    boolean hasBufferStorage();
+
+    /**
+     * Whether program binaries can be read back and reloaded (GL 4.1 or ARB_get_program_binary,
+     * with at least one binary format).
+     */
+    boolean hasProgramBinary();
+
+    /**
+     * Whether shaders compile in the background and GL_COMPLETION_STATUS_KHR can be polled
+     * (KHR_ or ARB_parallel_shader_compile).
+     */
+    boolean hasParallelShaderCompile();
+}
@@ -5,28 +5,75 @@ import static org.lwjgl.opengl.GL33.*;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import org.lwjgl.BufferUtils;
-import com.codebyriley.Core.Rendering.Shaders.ShaderLoader;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Core.Rendering.Shaders.ShaderVariantSet;
+import com.codebyriley.Core.Rendering.Textures.TextureArray;
+import com.codebyriley.Core.Rendering.Textures.TextureUtils;
 import com.codebyriley.Util.Log;
+import com.codebyriley.Util.Profiler;
+import com.codebyriley.Util.Math.Transform;
 
 public class BatchedRenderer {
-    private static final int MAX_QUADS = 1000;
-    private static final int VERTEX_SIZE = 9; // x, y, r, g, b, a, u, v, texIndex
+    static final int MAX_QUADS = 1000;
     private static final int QUAD_VERTICES = 4;
     private static final int QUAD_INDICES = 6;
-    private static final int MAX_TEXTURES = 16;
+    static final int MAX_TEXTURES = 16;
+    private static final int STREAM_REGIONS = 3; // Triple-buffered streaming ring
 
-    private int vao, vbo, ebo, shaderProgram;
+    private final RenderBackend gl = GLStateCache.backend();
+    private int vao, vbo, ebo;
+    private ShaderVariantSet shaders;
     private ByteBuffer vertexBuffer;
+    private final VertexFormat format;
+    private final int stride;
     private int quadCount = 0;
     private int[] textureSlots = new int[MAX_TEXTURES];
     private int textureSlotIndex = 1; // 0 is reserved for white texture
+    private final boolean streaming;
+    private StreamingVertexBuffer streamBuffer;
+    private InstancedSpriteRenderer instancedRenderer;
+    private boolean instanced = false;
+
+    // Texture array mode: the texIndex attribute carries an array layer instead of a slot
+    private TextureArray textureArray;
+    private Camera2D camera;
+    private float parallax = 1.0f;
+    private boolean arrayBatch = false;
+
+    private int drawCallCount = 0;
 
     public BatchedRenderer() {
-        vao = glGenVertexArrays();
+        this(true);
+    }
+
+    /**
+     * @param streaming When true, vertex data is streamed through a fenced ring of
+     *                  mapped VBO regions instead of re-uploading a single VBO with glBufferSubData.
+     */
+    public BatchedRenderer(boolean streaming) {
+        this(streaming, VertexFormat.STANDARD);
+    }
+
+    /**
+     * @param streaming See {@link #BatchedRenderer(boolean)}
+     * @param format Vertex layout; the compact formats roughly halve vertex bandwidth
+     */
+    public BatchedRenderer(boolean streaming, VertexFormat format) {
+        this.streaming = streaming;
+        this.format = format;
+        this.stride = format.getStride(true);
+        int batchBytes = MAX_QUADS * QUAD_VERTICES * stride;
+
+        vao = gl.glGenVertexArrays();
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glGenVertexArrays");
-        vbo = glGenBuffers();
+        if (streaming) {
+            streamBuffer = new StreamingVertexBuffer(batchBytes, STREAM_REGIONS);
+            vbo = streamBuffer.getBufferId();
+        } else {
+            vbo = gl.glGenBuffers();
+        }
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glGenBuffers VBO");
-        ebo = glGenBuffers();
+        ebo = gl.glGenBuffers();
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glGenBuffers EBO");
         
         // Initialize texture slots array
@@ -34,13 +81,15 @@ public class BatchedRenderer {
             textureSlots[i] = 0;
         }
         
-        glBindVertexArray(vao);
+        GLStateCache.bindVertexArray(vao);
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glBindVertexArray");
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glBindBuffer ARRAY_BUFFER");
-        glBufferData(GL_ARRAY_BUFFER, MAX_QUADS * QUAD_VERTICES * VERTEX_SIZE * Float.BYTES, GL_DYNAMIC_DRAW);
-        Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glBufferData ARRAY_BUFFER");
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        if (!streaming) {
+            gl.glBufferData(GL_ARRAY_BUFFER, batchBytes, GL_DYNAMIC_DRAW);
+            Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glBufferData ARRAY_BUFFER");
+        }
+        GLStateCache.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glBindBuffer ELEMENT_ARRAY_BUFFER");
         int[] indices = new int[MAX_QUADS * QUAD_INDICES];
         int offset = 0;
@@ -53,91 +102,47 @@ public class BatchedRenderer {
             indices[i * 6 + 5] = offset + 0;
             offset += 4;
         }
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+        gl.glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "glBufferData ELEMENT_ARRAY_BUFFER");
-        int stride = VERTEX_SIZE * Float.BYTES;
-        // Position (location 0): x, y
-        glVertexAttribPointer(0, 2, GL_FLOAT, false, stride, 0);
-        glEnableVertexAttribArray(0);
-        // Color (location 1): r, g, b, a
-        glVertexAttribPointer(1, 4, GL_FLOAT, false, stride, 2 * Float.BYTES);
-        glEnableVertexAttribArray(1);
-        // TexCoord (location 2): u, v
-        glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, 6 * Float.BYTES);
-        glEnableVertexAttribArray(2);
-        // Texture Index (location 3): texIndex
-        glVertexAttribIPointer(3, 1, GL_INT, stride, 8 * Float.BYTES);
-        glEnableVertexAttribArray(3);
+        format.setupAttributes(true);
         Log.checkGLErrorDetailed("BatchedRenderer.constructor", "vertex attribute setup");
-        glBindVertexArray(0);
-        vertexBuffer = BufferUtils.createByteBuffer(MAX_QUADS * QUAD_VERTICES * VERTEX_SIZE);
-        // Shader
-        String vertSource = ShaderLoader.readShaderFromResource("/shaders/BatchVertexShader.vert.glsl");
-        String fragSource = ShaderLoader.readShaderFromResource("/shaders/BatchFragmentShader.frag.glsl");
-        
-        if (vertSource == null || fragSource == null) {
-            Log.error("BatchedRenderer.constructor: Failed to load shader sources");
+        GLStateCache.bindVertexArray(0);
+        vertexBuffer = BufferUtils.createByteBuffer(batchBytes);
+        // Shader variants, compiled on first use; the textured one is built now to catch errors early
+        shaders = new ShaderVariantSet("/shaders/BatchVertexShader.vert.glsl", "/shaders/BatchFragmentShader.frag.glsl", BatchedRenderer::setupSamplers);
+        try {
+            shaders.get(ShaderVariantSet.TEXTURED);
+        } catch (RuntimeException e) {
+            Log.error("BatchedRenderer.constructor: Failed to create shader program", e);
+            shaders = null;
             return;
         }
-        
-        int vertShader = glCreateShader(GL_VERTEX_SHADER);
-        glShaderSource(vertShader, vertSource);
-        glCompileShader(vertShader);
-        
-        // Check vertex shader compilation
-        int[] vertCompiled = new int[1];
-        glGetShaderiv(vertShader, GL_COMPILE_STATUS, vertCompiled);
-        if (vertCompiled[0] == 0) {
-            String error = glGetShaderInfoLog(vertShader);
-            Log.error("BatchedRenderer.constructor: Vertex shader compilation failed: " + error);
-            glDeleteShader(vertShader);
-            return;
-        }
-        Log.checkGLErrorDetailed("BatchedRenderer.constructor", "vertex shader compilation");
-        
-        int fragShader = glCreateShader(GL_FRAGMENT_SHADER);
-        glShaderSource(fragShader, fragSource);
-        glCompileShader(fragShader);
-        
-        // Check fragment shader compilation
-        int[] fragCompiled = new int[1];
-        glGetShaderiv(fragShader, GL_COMPILE_STATUS, fragCompiled);
-        if (fragCompiled[0] == 0) {
-            String error = glGetShaderInfoLog(fragShader);
-            Log.error("BatchedRenderer.constructor: Fragment shader compilation failed: " + error);
-            glDeleteShader(vertShader);
-            glDeleteShader(fragShader);
-            return;
+        Log.checkGLErrorDetailed("BatchedRenderer.constructor", "shader program");
+    }
+
+    /**
+     * Sampler bindings of the batch shader variants. They never change, so they are set once
+     * per program instead of every flush.
+     */
+    static void setupSamplers(int program) {
+        RenderBackend gl = GLStateCache.backend();
+        for (int i = 0; i < MAX_TEXTURES; i++) {
+            int location = GLStateCache.getUniformLocation(program, "uTexture" + i);
+            if (location != -1) gl.glUniform1i(location, i);
         }
-        Log.checkGLErrorDetailed("BatchedRenderer.constructor", "fragment shader compilation");
-        
-        shaderProgram = glCreateProgram();
-        glAttachShader(shaderProgram, vertShader);
-        glAttachShader(shaderProgram, fragShader);
-        glLinkProgram(shaderProgram);
-        
-        // Check program linking
-        int[] linked = new int[1];
-        glGetProgramiv(shaderProgram, GL_LINK_STATUS, linked);
-        if (linked[0] == 0) {
-            String error = glGetProgramInfoLog(shaderProgram);
-            Log.error("BatchedRenderer.constructor: Shader program linking failed: " + error);
-            glDeleteShader(vertShader);
-            glDeleteShader(fragShader);
-            glDeleteProgram(shaderProgram);
-            shaderProgram = 0;
-            return;
+        int arrayLocation = GLStateCache.getUniformLocation(program, "uTextureArray");
+        if (arrayLocation != -1) gl.glUniform1i(arrayLocation, 0);
+        if (GLStateCache.getUniformLocation(program, "uViewProjection") == -1) {
+            Log.warn("BatchedRenderer: Could not find uViewProjection uniform location in program " + program);
         }
-        Log.checkGLErrorDetailed("BatchedRenderer.constructor", "shader program linking");
-        
-        glDeleteShader(vertShader);
-        glDeleteShader(fragShader);
+        Log.checkGLErrorDetailed("BatchedRenderer.setupSamplers", "sampler uniform setup");
     }
 
     /**
      * Call at the start of each frame.
      */
     public void begin() {
+        if (instanced) instancedRenderer.begin();
         quadCount = 0;
         textureSlotIndex = 1;
         vertexBuffer.clear();
@@ -152,37 +157,166 @@ public class BatchedRenderer {
      * @param textureId: OpenGL texture id
      */
     public void addQuad(float x, float y, float w, float h, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
-        if (quadCount >= MAX_QUADS) flush();
-        int texIndex = getTextureSlot(textureId);
+        if (instanced) {
+            if (quadCount > 0) flushVertices();
+            instancedRenderer.addSprite(x, y, w, h, 0.0f, u1, v1, u2, v2, r, g, b, a, textureId);
+            return;
+        }
+        int texIndex = reserveSlotQuad(textureId);
         float hw = w * 0.5f, hh = h * 0.5f;
-        
-        // Calculate the four corners of the quad
-        float[][] corners = {
-            {x - hw, y - hh, u1, v1}, // bottom-left
-            {x + hw, y - hh, u2, v1}, // bottom-right
-            {x + hw, y + hh, u2, v2}, // top-right
-            {x - hw, y + hh, u1, v2}  // top-left
-        };
-        
-        for (float[] c : corners) {
-            vertexBuffer.putFloat(c[0]);
-            vertexBuffer.putFloat(c[1]);
-            vertexBuffer.putFloat(r);
-            vertexBuffer.putFloat(g);
-            vertexBuffer.putFloat(b);
-            vertexBuffer.putFloat(a);
-            vertexBuffer.putFloat(c[2]);
-            vertexBuffer.putFloat(c[3]);
-            vertexBuffer.putInt(texIndex);
-            //vertexBuffer.put(c[0]).put(c[1]).put(r).put(g).put(b).put(a).put(c[2]).put(c[3]).put(texIndex);
+
+        putVertex(x - hw, y - hh, r, g, b, a, u1, v1, texIndex); // bottom-left
+        putVertex(x + hw, y - hh, r, g, b, a, u2, v1, texIndex); // bottom-right
+        putVertex(x + hw, y + hh, r, g, b, a, u2, v2, texIndex); // top-right
+        putVertex(x - hw, y + hh, r, g, b, a, u1, v2, texIndex); // top-left
+        quadCount++;
+    }
+
+    /**
+     * Add a quad rotated about its center.
+     * @param rotation: rotation in radians
+     */
+    public void addQuad(float x, float y, float w, float h, float rotation, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
+        addQuad(x, y, w, h, rotation, x, y, u1, v1, u2, v2, r, g, b, a, textureId);
+    }
+
+    /**
+     * Add a quad rotated about an arbitrary pivot.
+     * @param x, y: position (center) before rotation
+     * @param rotation: rotation in radians
+     * @param pivotX, pivotY: pivot point in the same space as x, y
+     */
+    public void addQuad(float x, float y, float w, float h, float rotation, float pivotX, float pivotY, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
+        if (rotation == 0.0f) {
+            addQuad(x, y, w, h, u1, v1, u2, v2, r, g, b, a, textureId);
+            return;
+        }
+        float cos = (float) Math.cos(rotation);
+        float sin = (float) Math.sin(rotation);
+
+        if (instanced) {
+            // Rotating about a pivot is a rotation about the center plus a rotated center
+            float dx = x - pivotX, dy = y - pivotY;
+            float cx = pivotX + dx * cos - dy * sin;
+            float cy = pivotY + dx * sin + dy * cos;
+            if (quadCount > 0) flushVertices();
+            instancedRenderer.addSprite(cx, cy, w, h, rotation, u1, v1, u2, v2, r, g, b, a, textureId);
+            return;
+        }
+        int texIndex = reserveSlotQuad(textureId);
+        float hw = w * 0.5f, hh = h * 0.5f;
+        float ox = x - pivotX, oy = y - pivotY;
+
+        putRotatedVertex(ox - hw, oy - hh, pivotX, pivotY, cos, sin, r, g, b, a, u1, v1, texIndex); // bottom-left
+        putRotatedVertex(ox + hw, oy - hh, pivotX, pivotY, cos, sin, r, g, b, a, u2, v1, texIndex); // bottom-right
+        putRotatedVertex(ox + hw, oy + hh, pivotX, pivotY, cos, sin, r, g, b, a, u2, v2, texIndex); // top-right
+        putRotatedVertex(ox - hw, oy + hh, pivotX, pivotY, cos, sin, r, g, b, a, u1, v2, texIndex); // top-left
+        quadCount++;
+    }
+
+    /**
+     * Add a quad placed by a Transform: mPosition is the center, mRotation (radians)
+     * rotates about it and mScale.x/y scale the given size.
+     */
+    public void addQuad(Transform transform, float w, float h, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
+        addQuad(
+            transform.mPosition.x, transform.mPosition.y,
+            w * transform.mScale.x, h * transform.mScale.y,
+            transform.mRotation,
+            u1, v1, u2, v2, r, g, b, a, textureId
+        );
+    }
+
+    /**
+     * Add a quad from four arbitrary corners. It is drawn as the triangles (1, 2, 3) and
+     * (3, 4, 1), so a single triangle is the corners (1, 2, 3, 1), and two triangles of a
+     * fan around corner 1 fit in one quad. UVs span 0-1 from corner 1 round to corner 4.
+     */
+    public void addQuadVertices(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+                                float r, float g, float b, float a, int textureId) {
+        // Instanced sprites only take rectangles; keep draw order by flushing them first
+        if (instanced) instancedRenderer.flush();
+        int texIndex = reserveSlotQuad(textureId);
+        putVertex(x1, y1, r, g, b, a, 0.0f, 0.0f, texIndex);
+        putVertex(x2, y2, r, g, b, a, 1.0f, 0.0f, texIndex);
+        putVertex(x3, y3, r, g, b, a, 1.0f, 1.0f, texIndex);
+        putVertex(x4, y4, r, g, b, a, 0.0f, 1.0f, texIndex);
+        quadCount++;
+    }
+
+    /**
+     * Add a quad textured from a layer of the current texture array (see {@link #setTextureArray}).
+     * Consecutive layer quads draw in a single call regardless of how many layers they use.
+     * Layers above 255 do not fit the compact vertex formats.
+     * @param layer: array layer, e.g. from {@link TextureArray#getLayer(String)}; 0 is white
+     */
+    public void addQuadLayer(float x, float y, float w, float h, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int layer) {
+        addQuadLayer(x, y, w, h, 0.0f, u1, v1, u2, v2, r, g, b, a, layer);
+    }
+
+    /**
+     * Add a texture array quad rotated about its center.
+     * @param rotation: rotation in radians
+     */
+    public void addQuadLayer(float x, float y, float w, float h, float rotation, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int layer) {
+        if (textureArray == null) {
+            Log.errorEveryNFrames("BatchedRenderer.addQuadLayer: No texture array set", 120);
+            return;
+        }
+        // Instanced sprites do not support arrays; keep draw order by flushing them first
+        if (instanced) instancedRenderer.flush();
+        if (!arrayBatch) {
+            flushVertices();
+            arrayBatch = true;
+        }
+        if (quadCount >= MAX_QUADS) flushVertices();
+
+        float hw = w * 0.5f, hh = h * 0.5f;
+        if (rotation == 0.0f) {
+            putVertex(x - hw, y - hh, r, g, b, a, u1, v1, layer); // bottom-left
+            putVertex(x + hw, y - hh, r, g, b, a, u2, v1, layer); // bottom-right
+            putVertex(x + hw, y + hh, r, g, b, a, u2, v2, layer); // top-right
+            putVertex(x - hw, y + hh, r, g, b, a, u1, v2, layer); // top-left
+        } else {
+            float cos = (float) Math.cos(rotation);
+            float sin = (float) Math.sin(rotation);
+            putRotatedVertex(-hw, -hh, x, y, cos, sin, r, g, b, a, u1, v1, layer); // bottom-left
+            putRotatedVertex( hw, -hh, x, y, cos, sin, r, g, b, a, u2, v1, layer); // bottom-right
+            putRotatedVertex( hw,  hh, x, y, cos, sin, r, g, b, a, u2, v2, layer); // top-right
+            putRotatedVertex(-hw,  hh, x, y, cos, sin, r, g, b, a, u1, v2, layer); // top-left
         }
         quadCount++;
     }
 
+    /**
+     * Make room for one texture-slot quad and return its texture index.
+     * Untextured quads can stay in an array batch since layer 0 is white.
+     */
+    private int reserveSlotQuad(int textureId) {
+        if (arrayBatch) {
+            if (textureId == 0) {
+                if (quadCount >= MAX_QUADS) flushVertices();
+                return TextureArray.WHITE_LAYER;
+            }
+            flushVertices();
+            arrayBatch = false;
+        }
+        if (quadCount >= MAX_QUADS) flushVertices();
+        return getTextureSlot(textureId);
+    }
+
+    private void putRotatedVertex(float lx, float ly, float pivotX, float pivotY, float cos, float sin, float r, float g, float b, float a, float u, float v, int texIndex) {
+        putVertex(pivotX + lx * cos - ly * sin, pivotY + lx * sin + ly * cos, r, g, b, a, u, v, texIndex);
+    }
+
+    private void putVertex(float x, float y, float r, float g, float b, float a, float u, float v, int texIndex) {
+        format.put(vertexBuffer, x, y, r, g, b, a, u, v, texIndex, true);
+    }
+
     private int getTextureSlot(int textureId) {
         if (textureId == 0) return 0;
         for (int i = 1; i < textureSlotIndex; i++) if (textureSlots[i] == textureId) return i;
-        if (textureSlotIndex >= textureSlots.length) flush();
+        if (textureSlotIndex >= textureSlots.length) flushVertices();
         textureSlots[textureSlotIndex] = textureId;
         return textureSlotIndex++;
     }
@@ -198,91 +332,220 @@ public class BatchedRenderer {
      * Flush the batch (draw all quads).
      */
     public void flush() {
+        Profiler.begin("batch.flush");
+        if (instanced) instancedRenderer.flush();
+        flushVertices();
+        Profiler.end();
+    }
+
+    private void flushVertices() {
         if (quadCount == 0) return;
         vertexBuffer.flip();
         
         // Check if shader program is valid
-        if (shaderProgram == 0) {
+        if (shaders == null) {
             Log.error("BatchedRenderer.flush: Shader program is not valid");
+            vertexBuffer.clear();
+            quadCount = 0;
+            return;
+        }
+        if (arrayBatch) {
+            flushArrayBatch();
             return;
         }
         
-        glUseProgram(shaderProgram);
+        // Batches of only white quads need no texture sampling at all
+        boolean textured = textureSlotIndex > 1;
+        int program = shaders.get(textured ? ShaderVariantSet.TEXTURED : ShaderVariantSet.UNTEXTURED);
+        GLStateCache.useProgram(program);
         Log.checkGLErrorDetailed("BatchedRenderer.flush", "glUseProgram");
         
-        // Set window size uniform
-        int windowSizeLocation = glGetUniformLocation(shaderProgram, "uWindowSize");
-        if (windowSizeLocation != -1) {
-            glUniform2f(windowSizeLocation, WindowBase.windowWidth, WindowBase.windowHeight);
-            Log.checkGLErrorDetailed("BatchedRenderer.flush", "set window size uniform");
-        } else {
-            Log.warn("BatchedRenderer.flush: Could not find uWindowSize uniform location");
-        }
+        // Vertices are in world space; the camera only changes this uniform
+        Camera2D.upload(camera, parallax, GLStateCache.getUniformLocation(program, "uViewProjection"));
+        Log.checkGLErrorDetailed("BatchedRenderer.flush", "set view projection uniform");
         
-        // Set texture usage uniform
-        int useTextureLocation = glGetUniformLocation(shaderProgram, "uUseTexture");
-        if (useTextureLocation != -1) {
-            glUniform1i(useTextureLocation, textureSlotIndex > 1 ? 1 : 0);
-            Log.checkGLErrorDetailed("BatchedRenderer.flush", "set use texture uniform");
-        }
+        int baseVertex = uploadVertices();
         
-        // Set texture uniforms
-        for (int i = 0; i < textureSlotIndex; i++) {
-            int uniformLocation = glGetUniformLocation(shaderProgram, "uTexture" + i);
-            if (uniformLocation != -1) {
-                glUniform1i(uniformLocation, i);
-                Log.checkGLErrorDetailed("BatchedRenderer.flush", "set texture uniform " + i);
+        if (textured) {
+            // Slot 0 is the white texture for untextured quads in the batch
+            GLStateCache.bindTexture(0, GL_TEXTURE_2D, getWhiteTexture());
+            for (int i = 1; i < textureSlotIndex; i++) {
+                if (textureSlots[i] != 0) {
+                    GLStateCache.bindTexture(i, GL_TEXTURE_2D, textureSlots[i]);
+                }
             }
+            Log.checkGLErrorDetailed("BatchedRenderer.flush", "texture binding");
         }
         
-        glBindVertexArray(vao);
+        gl.glDrawElementsBaseVertex(GL_TRIANGLES, quadCount * QUAD_INDICES, GL_UNSIGNED_INT, 0, baseVertex);
+        Log.checkGLErrorDetailed("BatchedRenderer.flush", "glDrawElementsBaseVertex");
+        drawCallCount++;
+        vertexBuffer.clear();
+        quadCount = 0;
+        textureSlotIndex = 1;
+    }
+
+    private void flushArrayBatch() {
+        int program = shaders.get(ShaderVariantSet.ARRAY);
+        GLStateCache.useProgram(program);
+        Camera2D.upload(camera, parallax, GLStateCache.getUniformLocation(program, "uViewProjection"));
+        int baseVertex = uploadVertices();
+        GLStateCache.bindTexture(0, GL_TEXTURE_2D_ARRAY, textureArray.getId());
+        Log.checkGLErrorDetailed("BatchedRenderer.flushArrayBatch", "texture array binding");
+
+        gl.glDrawElementsBaseVertex(GL_TRIANGLES, quadCount * QUAD_INDICES, GL_UNSIGNED_INT, 0, baseVertex);
+        Log.checkGLErrorDetailed("BatchedRenderer.flushArrayBatch", "glDrawElementsBaseVertex");
+        drawCallCount++;
+        vertexBuffer.clear();
+        quadCount = 0;
+    }
+
+    /**
+     * Bind the VAO and upload the pending vertices.
+     * @return Base vertex of the uploaded data
+     */
+    private int uploadVertices() {
+        GLStateCache.bindVertexArray(vao);
         Log.checkGLErrorDetailed("BatchedRenderer.flush", "glBindVertexArray");
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
+        if (streaming) {
+            int offset = streamBuffer.upload(vertexBuffer);
+            return offset / stride;
+        }
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
         Log.checkGLErrorDetailed("BatchedRenderer.flush", "glBindBuffer");
-        glBufferSubData(GL_ARRAY_BUFFER, 0, vertexBuffer);
+        gl.glBufferSubData(GL_ARRAY_BUFFER, 0, vertexBuffer);
         Log.checkGLErrorDetailed("BatchedRenderer.flush", "glBufferSubData");
-        
-        // Bind textures
-        // Always bind texture 0 first (for white texture)
-        glActiveTexture(GL_TEXTURE0);
-        if (textureSlots[0] != 0) {
-            glBindTexture(GL_TEXTURE_2D, textureSlots[0]);
-        } else {
-            // Create a simple white texture if none exists
-            int whiteTexture = glGenTextures();
-            glBindTexture(GL_TEXTURE_2D, whiteTexture);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
-            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
-            
-            // Create a 1x1 white pixel
-            int[] whitePixel = {0xFFFFFFFF};
-            glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, java.nio.ByteBuffer.allocateDirect(4).putInt(whitePixel[0]).flip());
-            textureSlots[0] = whiteTexture;
+        return 0;
+    }
+
+    /**
+     * Use a texture array for {@link #addQuadLayer} quads. Pass null to disable.
+     * The array is not owned by the renderer and must outlive it or be replaced before deletion.
+     */
+    public void setTextureArray(TextureArray textureArray) {
+        flush();
+        this.textureArray = textureArray;
+        arrayBatch = false;
+        if (textureArray != null && shaders != null) {
+            // Compile the array variant now rather than in the middle of a frame
+            shaders.get(ShaderVariantSet.ARRAY);
         }
-        
-        // Bind other textures
-        for (int i = 1; i < textureSlotIndex; i++) {
-            if (textureSlots[i] != 0) {
-                glActiveTexture(GL_TEXTURE0 + i);
-                glBindTexture(GL_TEXTURE_2D, textureSlots[i]);
-            }
+    }
+
+    public TextureArray getTextureArray() {
+        return textureArray;
+    }
+
+    /**
+     * The 1x1 white texture bound to slot 0, created on first use.
+     */
+    int getWhiteTexture() {
+        if (textureSlots[0] == 0) {
+            textureSlots[0] = TextureUtils.createWhiteTexture();
         }
-        Log.checkGLErrorDetailed("BatchedRenderer.flush", "texture binding");
-        
-        glDrawElements(GL_TRIANGLES, quadCount * QUAD_INDICES, GL_UNSIGNED_INT, 0);
-        Log.checkGLErrorDetailed("BatchedRenderer.flush", "glDrawElements");
-        glBindVertexArray(0);
-        vertexBuffer.clear();
-        quadCount = 0;
-        textureSlotIndex = 1;
+        return textureSlots[0];
+    }
+
+    /**
+     * Textured program used for texture-slot batches. Shared with StaticBatch.
+     */
+    int getShaderProgram() {
+        return shaders != null ? shaders.get(ShaderVariantSet.TEXTURED) : 0;
+    }
+
+    /**
+     * Route quads through the instanced sprite path (one record per sprite) instead of
+     * the 4-vertex batch. Intended for A/B comparison; takes effect from the next quad.
+     */
+    public void setInstanced(boolean instanced) {
+        if (this.instanced == instanced) return;
+        flush();
+        if (instanced && instancedRenderer == null) {
+            instancedRenderer = new InstancedSpriteRenderer();
+        }
+        this.instanced = instanced;
+        if (instanced) {
+            instancedRenderer.setCamera(camera, parallax);
+            instancedRenderer.begin();
+        }
+    }
+
+    public boolean isInstanced() {
+        return instanced;
+    }
+
+    /**
+     * Draw through a camera; quads are then given in world coordinates. Null (the default)
+     * draws in screen pixels. Pending quads are flushed with the previous camera.
+     */
+    public void setCamera(Camera2D camera) {
+        if (this.camera == camera) return;
+        flush();
+        this.camera = camera;
+        if (instancedRenderer != null) instancedRenderer.setCamera(camera, parallax);
+    }
+
+    public Camera2D getCamera() {
+        return camera;
+    }
+
+    /**
+     * Parallax factor for the quads that follow, see {@link Camera2D}. Flushes if it changes.
+     */
+    public void setParallax(float parallax) {
+        if (this.parallax == parallax) return;
+        flush();
+        this.parallax = parallax;
+        if (instancedRenderer != null) instancedRenderer.setCamera(camera, parallax);
+    }
+
+    public float getParallax() {
+        return parallax;
+    }
+
+    public VertexFormat getVertexFormat() {
+        return format;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Number of times a flush had to wait for the GPU to release a streaming region.
+     * Always 0 when streaming is disabled.
+     */
+    public int getFenceWaitCount() {
+        return streaming ? streamBuffer.getFenceWaitCount() : 0;
+    }
+
+    /**
+     * Number of vertex batch draw calls issued since the last {@link #resetDrawCallCount()}.
+     * Instanced draws are not included.
+     */
+    public int getDrawCallCount() {
+        return drawCallCount;
+    }
+
+    public void resetDrawCallCount() {
+        drawCallCount = 0;
+    }
+
+    public StreamingVertexBuffer getStreamBuffer() {
+        return streamBuffer;
     }
 
     public void destroy() {
-        glDeleteVertexArrays(vao);
-        glDeleteBuffers(vbo);
-        glDeleteBuffers(ebo);
-        if (shaderProgram != 0) glDeleteProgram(shaderProgram);
+        GLStateCache.deleteVertexArray(vao);
+        if (streaming) {
+            streamBuffer.destroy();
+        } else {
+            GLStateCache.deleteBuffer(vbo);
+        }
+        GLStateCache.deleteBuffer(ebo);
+        if (instancedRenderer != null) instancedRenderer.destroy();
+        if (shaders != null) shaders.destroy();
+        TextureUtils.deleteTexture(textureSlots[0]);
+        textureSlots[0] = 0;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.joml.Matrix4f;
+import org.lwjgl.BufferUtils;
+import com.codebyriley.Util.Math.Vector2f;
+
+/**
+ * 2D camera supplying the uViewProjection matrix used by the batch shaders.
+ *
+ * World units are pixels with y pointing down, like screen space. The camera position is the
+ * world point shown at the center of the window, so a camera at (width/2, height/2) with zoom 1
+ * and no rotation gives the plain screen mapping. Vertices stay in world space in the vertex
+ * buffers; panning, zooming and rotating only change the uniform.
+ *
+ * Parallax: each render layer (0-255, as in RenderQueue) has a factor scaling how much of the
+ * camera's translation and zoom it follows. 1 moves with the world, 0 stays fixed on screen,
+ * values in between scroll slower for backgrounds.
+ */
+public class Camera2D {
+    private static final float MIN_ZOOM = 0.01f;
+
+    private float mX, mY;
+    private float mZoom = 1.0f;
+    private float mRotation = 0.0f;
+    private final float[] parallax = new float[256];
+
+    // Shared upload scratch, only touched on the GL thread
+    private static final Matrix4f uploadMatrix = new Matrix4f();
+    private static final FloatBuffer uploadBuffer = BufferUtils.createFloatBuffer(16);
+
+    /**
+     * Camera showing the window exactly as screen coordinates.
+     */
+    public Camera2D() {
+        this(WindowBase.windowWidth * 0.5f, WindowBase.windowHeight * 0.5f);
+    }
+
+    public Camera2D(float x, float y) {
+        mX = x;
+        mY = y;
+        Arrays.fill(parallax, 1.0f);
+    }
+
+    // --- Transform ---
+
+    public void setPosition(float x, float y) {
+        mX = x;
+        mY = y;
+    }
+
+    public void move(float dx, float dy) {
+        mX += dx;
+        mY += dy;
+    }
+
+    public float getX() { return mX; }
+    public float getY() { return mY; }
+
+    /**
+     * @param zoom: screen pixels per world unit, 2 shows everything twice as large
+     */
+    public void setZoom(float zoom) {
+        mZoom = Math.max(MIN_ZOOM, zoom);
+    }
+
+    public void zoomBy(float factor) {
+        setZoom(mZoom * factor);
+    }
+
+    public float getZoom() { return mZoom; }
+
+    /**
+     * @param rotation: radians; the world appears rotated by the opposite angle
+     */
+    public void setRotation(float rotation) {
+        mRotation = rotation;
+    }
+
+    public float getRotation() { return mRotation; }
+
+    // --- Parallax ---
+
+    public void setParallax(int layer, float factor) {
+        parallax[layer & 0xFF] = factor;
+    }
+
+    public float getParallax(int layer) {
+        return parallax[layer & 0xFF];
+    }
+
+    private float zoomFor(float parallaxFactor) {
+        return Math.max(MIN_ZOOM, 1.0f + (mZoom - 1.0f) * parallaxFactor);
+    }
+
+    // --- Matrices ---
+
+    /**
+     * World-to-clip matrix for the current window size.
+     * @param parallaxFactor: how much of the camera movement and zoom to apply, 1 for world layers
+     */
+    public Matrix4f getViewProjection(float parallaxFactor, Matrix4f dest) {
+        float width = WindowBase.windowWidth;
+        float height = WindowBase.windowHeight;
+        float zoom = zoomFor(parallaxFactor);
+        return dest.setOrtho(0.0f, width, height, 0.0f, -1.0f, 1.0f)
+            .translate(width * 0.5f, height * 0.5f, 0.0f)
+            .rotateZ(-mRotation)
+            .scale(zoom, zoom, 1.0f)
+            .translate(-mX * parallaxFactor, -mY * parallaxFactor, 0.0f);
+    }
+
+    /**
+     * Pixel-to-clip matrix for screen-space drawing such as UI and text.
+     */
+    public static Matrix4f getScreenProjection(Matrix4f dest) {
+        return dest.setOrtho(0.0f, WindowBase.windowWidth, WindowBase.windowHeight, 0.0f, -1.0f, 1.0f);
+    }
+
+    /**
+     * Upload the view-projection to a mat4 uniform of the bound program.
+     * @param camera: camera to use, or null for the screen projection
+     */
+    public static void upload(Camera2D camera, float parallaxFactor, int location) {
+        if (location == -1) return;
+        if (camera != null) {
+            camera.getViewProjection(parallaxFactor, uploadMatrix);
+        } else {
+            getScreenProjection(uploadMatrix);
+        }
+        uploadMatrix.get(uploadBuffer);
+        GLStateCache.backend().glUniformMatrix4fv(location, false, uploadBuffer);
+    }
+
+    // --- Queries ---
+
+    /**
+     * Axis-aligned world rectangle covering the window, {minX, minY, maxX, maxY}.
+     * Rotated views return the bounds of the rotated rectangle.
+     */
+    public float[] getVisibleBounds(float parallaxFactor, float[] out) {
+        float zoom = zoomFor(parallaxFactor);
+        float halfWidth = WindowBase.windowWidth * 0.5f / zoom;
+        float halfHeight = WindowBase.windowHeight * 0.5f / zoom;
+        if (mRotation != 0.0f) {
+            float cos = Math.abs((float) Math.cos(mRotation));
+            float sin = Math.abs((float) Math.sin(mRotation));
+            float rotatedWidth = halfWidth * cos + halfHeight * sin;
+            float rotatedHeight = halfWidth * sin + halfHeight * cos;
+            halfWidth = rotatedWidth;
+            halfHeight = rotatedHeight;
+        }
+        float centerX = mX * parallaxFactor;
+        float centerY = mY * parallaxFactor;
+        out[0] = centerX - halfWidth;
+        out[1] = centerY - halfHeight;
+        out[2] = centerX + halfWidth;
+        out[3] = centerY + halfHeight;
+        return out;
+    }
+
+    /**
+     * Convert a window position (e.g. the mouse) to world coordinates on a layer with parallax 1.
+     */
+    public Vector2f screenToWorld(float screenX, float screenY) {
+        float dx = (screenX - WindowBase.windowWidth * 0.5f) / mZoom;
+        float dy = (screenY - WindowBase.windowHeight * 0.5f) / mZoom;
+        float cos = (float) Math.cos(mRotation);
+        float sin = (float) Math.sin(mRotation);
+        return new Vector2f(mX + dx * cos - dy * sin, mY + dx * sin + dy * cos);
+    }
+
+    /**
+     * Convert a world position on a layer with parallax 1 to window coordinates.
+     */
+    public Vector2f worldToScreen(float worldX, float worldY) {
+        float dx = worldX - mX;
+        float dy = worldY - mY;
+        float cos = (float) Math.cos(-mRotation);
+        float sin = (float) Math.sin(-mRotation);
+        return new Vector2f(WindowBase.windowWidth * 0.5f + (dx * cos - dy * sin) * mZoom,
+                            WindowBase.windowHeight * 0.5f + (dx * sin + dy * cos) * mZoom);
+    }
+}
@@ -0,0 +1,283 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import com.codebyriley.Core.Rendering.Backend.GLRenderBackend;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+
+/**
+ * Shadows the OpenGL state the renderers touch every frame and skips calls that would not change it.
+ *
+ * Tracks the bound program, VAO, GL_ARRAY_BUFFER, active texture unit, per-unit 2D and 2D array
+ * textures, blend/depth enables and blend function, and caches uniform locations per program.
+ * Every skipped call counts as a hit and every forwarded call as a miss, so the number of
+ * driver calls removed per frame can be read back via {@link #getFrameHits()}.
+ *
+ * All GL state changes for these bindings should go through this class. Code that changes them
+ * directly must call {@link #invalidate()} afterwards.
+ *
+ * Also holds the active {@link RenderBackend}, which the cache and the renderers forward to.
+ */
+public class GLStateCache {
+    private static final int UNKNOWN = -1;
+    private static final int MAX_TEXTURE_UNITS = 32;
+
+    private static RenderBackend gl = new GLRenderBackend();
+
+    private static int program = UNKNOWN;
+    private static int vertexArray = UNKNOWN;
+    private static int arrayBuffer = UNKNOWN;
+    private static int activeTextureUnit = UNKNOWN;
+    private static final int[] textures2D = new int[MAX_TEXTURE_UNITS];
+    private static final int[] textures2DArray = new int[MAX_TEXTURE_UNITS];
+    private static int blendEnabled = UNKNOWN;
+    private static int depthTestEnabled = UNKNOWN;
+    private static int blendSrc = UNKNOWN;
+    private static int blendDst = UNKNOWN;
+    private static int blendSrcAlpha = UNKNOWN;
+    private static int blendDstAlpha = UNKNOWN;
+
+    private static final Map<Integer, Map<String, Integer>> uniformLocations = new HashMap<>();
+
+    // Statistics
+    private static long totalHits = 0;
+    private static long totalMisses = 0;
+    private static int frameHits = 0;
+    private static int frameMisses = 0;
+    private static int lastFrameHits = 0;
+    private static int lastFrameMisses = 0;
+
+    static {
+        Arrays.fill(textures2D, UNKNOWN);
+        Arrays.fill(textures2DArray, UNKNOWN);
+    }
+
+    /**
+     * Forget all shadowed state so the next call of each kind is forwarded to GL.
+     * Uniform locations are kept since they only change when a program is relinked or deleted.
+     */
+    public static void invalidate() {
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        arrayBuffer = UNKNOWN;
+        activeTextureUnit = UNKNOWN;
+        Arrays.fill(textures2D, UNKNOWN);
+        Arrays.fill(textures2DArray, UNKNOWN);
+        blendEnabled = UNKNOWN;
+        depthTestEnabled = UNKNOWN;
+        blendSrc = UNKNOWN;
+        blendDst = UNKNOWN;
+        blendSrcAlpha = UNKNOWN;
+        blendDstAlpha = UNKNOWN;
+    }
+
+    // --- Backend ---
+
+    public static RenderBackend backend() {
+        return gl;
+    }
+
+    /**
+     * Switch the backend all GL calls go to. Renderers keep the backend they were created with,
+     * so call this before creating them. Shadowed state and uniform locations are discarded.
+     */
+    public static void setBackend(RenderBackend backend) {
+        gl = backend;
+        uniformLocations.clear();
+        invalidate();
+    }
+
+    // --- Programs and uniforms ---
+
+    public static void useProgram(int id) {
+        if (program == id) { hit(); return; }
+        miss();
+        gl.glUseProgram(id);
+        program = id;
+    }
+
+    /**
+     * Cached glGetUniformLocation. Pass constant strings to keep lookups allocation-free.
+     */
+    public static int getUniformLocation(int programId, String name) {
+        Map<String, Integer> locations = uniformLocations.get(programId);
+        if (locations == null) {
+            locations = new HashMap<>();
+            uniformLocations.put(programId, locations);
+        }
+        Integer location = locations.get(name);
+        if (location != null) { hit(); return location; }
+        miss();
+        int queried = gl.glGetUniformLocation(programId, name);
+        locations.put(name, queried);
+        return queried;
+    }
+
+    public static void deleteProgram(int id) {
+        if (id == 0) return;
+        gl.glDeleteProgram(id);
+        uniformLocations.remove(id);
+        if (program == id) program = UNKNOWN;
+    }
+
+    // --- Vertex arrays and buffers ---
+
+    public static void bindVertexArray(int id) {
+        if (vertexArray == id) { hit(); return; }
+        miss();
+        gl.glBindVertexArray(id);
+        vertexArray = id;
+    }
+
+    /**
+     * Bind a buffer. Only GL_ARRAY_BUFFER is shadowed; GL_ELEMENT_ARRAY_BUFFER is VAO state
+     * and other targets are forwarded unconditionally.
+     */
+    public static void bindBuffer(int target, int id) {
+        if (target != GL_ARRAY_BUFFER) {
+            miss();
+            gl.glBindBuffer(target, id);
+            return;
+        }
+        if (arrayBuffer == id) { hit(); return; }
+        miss();
+        gl.glBindBuffer(target, id);
+        arrayBuffer = id;
+    }
+
+    public static void deleteVertexArray(int id) {
+        if (id == 0) return;
+        gl.glDeleteVertexArrays(id);
+        if (vertexArray == id) vertexArray = UNKNOWN;
+    }
+
+    public static void deleteBuffer(int id) {
+        if (id == 0) return;
+        gl.glDeleteBuffers(id);
+        if (arrayBuffer == id) arrayBuffer = UNKNOWN;
+    }
+
+    // --- Textures ---
+
+    public static void activeTexture(int unit) {
+        if (activeTextureUnit == unit) { hit(); return; }
+        miss();
+        gl.glActiveTexture(GL_TEXTURE0 + unit);
+        activeTextureUnit = unit;
+    }
+
+    /**
+     * Bind a texture to a specific unit, switching the active unit only when needed.
+     */
+    public static void bindTexture(int unit, int target, int id) {
+        int[] bound = boundTable(target);
+        if (bound != null && unit < MAX_TEXTURE_UNITS && bound[unit] == id) { hit(); return; }
+        activeTexture(unit);
+        miss();
+        gl.glBindTexture(target, id);
+        if (bound != null && unit < MAX_TEXTURE_UNITS) bound[unit] = id;
+    }
+
+    /**
+     * Bind a texture to whichever unit is currently active (for texture creation and upload code).
+     */
+    public static void bindTexture(int target, int id) {
+        int[] bound = boundTable(target);
+        int unit = activeTextureUnit;
+        if (bound != null && unit != UNKNOWN && unit < MAX_TEXTURE_UNITS && bound[unit] == id) { hit(); return; }
+        miss();
+        gl.glBindTexture(target, id);
+        if (bound != null && unit != UNKNOWN && unit < MAX_TEXTURE_UNITS) bound[unit] = id;
+    }
+
+    public static void deleteTexture(int id) {
+        if (id == 0) return;
+        gl.glDeleteTextures(id);
+        for (int i = 0; i < MAX_TEXTURE_UNITS; i++) {
+            if (textures2D[i] == id) textures2D[i] = UNKNOWN;
+            if (textures2DArray[i] == id) textures2DArray[i] = UNKNOWN;
+        }
+    }
+
+    private static int[] boundTable(int target) {
+        if (target == GL_TEXTURE_2D) return textures2D;
+        if (target == GL_TEXTURE_2D_ARRAY) return textures2DArray;
+        return null;
+    }
+
+    // --- Fixed function state ---
+
+    public static void setBlend(boolean enabled) {
+        int value = enabled ? 1 : 0;
+        if (blendEnabled == value) { hit(); return; }
+        miss();
+        if (enabled) gl.glEnable(GL_BLEND); else gl.glDisable(GL_BLEND);
+        blendEnabled = value;
+    }
+
+    public static void blendFunc(int src, int dst) {
+        if (blendSrc == src && blendDst == dst && blendSrcAlpha == src && blendDstAlpha == dst) { hit(); return; }
+        miss();
+        gl.glBlendFunc(src, dst);
+        blendSrc = blendSrcAlpha = src;
+        blendDst = blendDstAlpha = dst;
+    }
+
+    public static void blendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+        if (blendSrc == srcRGB && blendDst == dstRGB && blendSrcAlpha == srcAlpha && blendDstAlpha == dstAlpha) { hit(); return; }
+        miss();
+        gl.glBlendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+        blendSrc = srcRGB;
+        blendDst = dstRGB;
+        blendSrcAlpha = srcAlpha;
+        blendDstAlpha = dstAlpha;
+    }
+
+    public static void setDepthTest(boolean enabled) {
+        int value = enabled ? 1 : 0;
+        if (depthTestEnabled == value) { hit(); return; }
+        miss();
+        if (enabled) gl.glEnable(GL_DEPTH_TEST); else gl.glDisable(GL_DEPTH_TEST);
+        depthTestEnabled = value;
+    }
+
+    // --- Statistics ---
+
+    private static void hit() {
+        frameHits++;
+        totalHits++;
+    }
+
+    private static void miss() {
+        frameMisses++;
+        totalMisses++;
+    }
+
+    /**
+     * Call once per frame; the previous frame's counts become available through the getters.
+     */
+    public static void beginFrame() {
+        lastFrameHits = frameHits;
+        lastFrameMisses = frameMisses;
+        frameHits = 0;
+        frameMisses = 0;
+    }
+
+    /** Redundant calls skipped during the last completed frame. */
+    public static int getFrameHits() { return lastFrameHits; }
+
+    /** Calls forwarded to the driver during the last completed frame. */
+    public static int getFrameMisses() { return lastFrameMisses; }
+
+    public static long getTotalHits() { return totalHits; }
+    public static long getTotalMisses() { return totalMisses; }
+
+    public static void resetStats() {
+        totalHits = totalMisses = 0;
+        frameHits = frameMisses = 0;
+        lastFrameHits = lastFrameMisses = 0;
+    }
+}
@@ -0,0 +1,224 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Util.Log;
+
+/**
+ * Measures GPU time per named render pass with GL_TIME_ELAPSED queries.
+ *
+ * Every pass owns a small ring of query objects, one per in-flight frame. A query issued this
+ * frame is read back on a later {@link #beginFrame()} once GL reports the result available, so
+ * the CPU never waits on the GPU. If a slot is still pending when its turn comes round again,
+ * that frame is not timed for the pass and counted as dropped instead.
+ *
+ * Timer queries cannot nest: passes are timed one at a time with begin/end, and each pass
+ * should be timed at most once per frame. Results are kept over a rolling window of frames.
+ */
+public class GpuTimer {
+    private static final int QUERY_FRAMES = 3; // Frames a result may take before the slot is reused
+    private static final int DEFAULT_WINDOW = 120;
+
+    private static class Pass {
+        final int[] queries = new int[QUERY_FRAMES];
+        final boolean[] pending = new boolean[QUERY_FRAMES];
+        final float[] samples;
+        int sampleCount = 0;
+        int sampleIndex = 0;
+        float lastMs = 0.0f;
+        int dropped = 0;
+
+        Pass(int window) {
+            samples = new float[window];
+        }
+
+        void addSample(float ms) {
+            lastMs = ms;
+            samples[sampleIndex] = ms;
+            sampleIndex = (sampleIndex + 1) % samples.length;
+            if (sampleCount < samples.length) sampleCount++;
+        }
+    }
+
+    private final RenderBackend gl = GLStateCache.backend();
+    private final Map<String, Pass> passes = new LinkedHashMap<>();
+    private final int window;
+    private float[] sortScratch;
+    private int frameSlot = 0;
+    private Pass activePass = null;
+    private boolean activeTiming = false;
+    private boolean enabled = true;
+
+    public GpuTimer() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window: number of frames kept per pass for averages and percentiles
+     */
+    public GpuTimer(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("GpuTimer window must be positive: " + window);
+        }
+        this.window = window;
+        sortScratch = new float[window];
+    }
+
+    /**
+     * Collect finished results and move on to the next query slot. Call once per frame,
+     * before the first pass.
+     */
+    public void beginFrame() {
+        if (activePass != null) {
+            Log.warn("GpuTimer: pass still open at the start of a frame, closing it");
+            end();
+        }
+        collect();
+        frameSlot = (frameSlot + 1) % QUERY_FRAMES;
+    }
+
+    private void collect() {
+        for (Pass pass : passes.values()) {
+            // Oldest slot first so samples stay in frame order
+            for (int i = 1; i <= QUERY_FRAMES; i++) {
+                int slot = (frameSlot + i) % QUERY_FRAMES;
+                if (!pass.pending[slot]) continue;
+                if (gl.glGetQueryObjecti(pass.queries[slot], GL_QUERY_RESULT_AVAILABLE) == GL_FALSE) continue;
+                long nanos = gl.glGetQueryObjectui64(pass.queries[slot], GL_QUERY_RESULT);
+                pass.pending[slot] = false;
+                pass.addSample(nanos / 1_000_000.0f);
+            }
+        }
+    }
+
+    /**
+     * Start timing a pass. Must be matched by {@link #end()} before the next begin.
+     */
+    public void begin(String name) {
+        if (activePass != null) {
+            throw new IllegalStateException("GpuTimer: cannot begin '" + name + "' while another pass is open");
+        }
+        Pass pass = passes.get(name);
+        if (pass == null) {
+            pass = new Pass(window);
+            for (int i = 0; i < QUERY_FRAMES; i++) {
+                pass.queries[i] = gl.glGenQueries();
+            }
+            passes.put(name, pass);
+            Log.checkGLErrorDetailed("GpuTimer.begin", "glGenQueries");
+        }
+        activePass = pass;
+        activeTiming = enabled && !pass.pending[frameSlot];
+        if (enabled && !activeTiming) {
+            pass.dropped++;
+        }
+        if (activeTiming) {
+            gl.glBeginQuery(GL_TIME_ELAPSED, pass.queries[frameSlot]);
+        }
+    }
+
+    /**
+     * Stop timing the open pass.
+     */
+    public void end() {
+        if (activePass == null) {
+            throw new IllegalStateException("GpuTimer: end without begin");
+        }
+        if (activeTiming) {
+            gl.glEndQuery(GL_TIME_ELAPSED);
+            activePass.pending[frameSlot] = true;
+        }
+        activePass = null;
+        activeTiming = false;
+    }
+
+    /**
+     * Turn query issuing on or off. Collected samples are kept while disabled.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // --- Results (milliseconds; 0 for passes without samples) ---
+
+    public Set<String> getPassNames() {
+        return passes.keySet();
+    }
+
+    /** Most recent collected sample, one to three frames old. */
+    public float getLastMs(String name) {
+        Pass pass = passes.get(name);
+        return pass != null ? pass.lastMs : 0.0f;
+    }
+
+    public float getAverageMs(String name) {
+        Pass pass = passes.get(name);
+        if (pass == null || pass.sampleCount == 0) return 0.0f;
+        float sum = 0.0f;
+        for (int i = 0; i < pass.sampleCount; i++) {
+            sum += pass.samples[i];
+        }
+        return sum / pass.sampleCount;
+    }
+
+    /**
+     * Nearest-rank percentile over the rolling window.
+     * @param percentile: 0 to 100, e.g. 95 for the 95th percentile
+     */
+    public float getPercentileMs(String name, float percentile) {
+        Pass pass = passes.get(name);
+        if (pass == null || pass.sampleCount == 0) return 0.0f;
+        int count = pass.sampleCount;
+        System.arraycopy(pass.samples, 0, sortScratch, 0, count);
+        Arrays.sort(sortScratch, 0, count);
+        float clamped = Math.max(0.0f, Math.min(100.0f, percentile));
+        int rank = (int) Math.ceil(clamped / 100.0f * count);
+        return sortScratch[Math.max(0, Math.min(count - 1, rank - 1))];
+    }
+
+    public float getMaxMs(String name) {
+        return getPercentileMs(name, 100.0f);
+    }
+
+    public int getSampleCount(String name) {
+        Pass pass = passes.get(name);
+        return pass != null ? pass.sampleCount : 0;
+    }
+
+    /** Frames the pass was not timed because its query slot was still in flight. */
+    public int getDroppedCount(String name) {
+        Pass pass = passes.get(name);
+        return pass != null ? pass.dropped : 0;
+    }
+
+    /**
+     * Clear collected samples and dropped counts; queries in flight are still collected.
+     */
+    public void resetStats() {
+        for (Pass pass : passes.values()) {
+            pass.sampleCount = 0;
+            pass.sampleIndex = 0;
+            pass.lastMs = 0.0f;
+            pass.dropped = 0;
+        }
+    }
+
+    public void destroy() {
+        if (activePass != null) end();
+        for (Pass pass : passes.values()) {
+            for (int query : pass.queries) {
+                gl.glDeleteQueries(query);
+            }
+        }
+        passes.clear();
+    }
+}
@@ -1,5 +1,7 @@
 package com.codebyriley.Core.Rendering.Primitives;
 
+import java.util.HashMap;
+import java.util.Map;
 import com.codebyriley.Core.Rendering.BatchedRenderer;
 import com.codebyriley.Util.Math.Vector2f;
 import com.codebyriley.Util.Math.Vector3f;
@@ -7,15 +9,66 @@ import com.codebyriley.Util.Math.Vector3f;
 /**
  * Provides basic primitive rendering using the BatchedRenderer.
  * Supports rectangles, circles, triangles, and lines.
+ *
+ * Triangles go through {@link BatchedRenderer#addQuadVertices}: a lone triangle is a quad with
+ * its first corner repeated, and fans (circles, polygons) pack two triangles per quad, so
+ * everything lands in the same batch as sprites and rectangles.
+ *
+ * With a {@link ShapeRenderer} attached, circles, circle outlines and rectangle outlines are
+ * drawn as single SDF quads instead. Switching between the two renderers flushes the one
+ * being left so draw order is kept; call {@link #flush()} before the frame ends.
  */
 public class PrimitiveRenderer {
+    // Unit circle points per segment count, {cos0, sin0, cos1, sin1, ...}
+    private static final Map<Integer, float[]> unitCircles = new HashMap<>();
+
     private BatchedRenderer renderer;
     private int whiteTextureId;
+    private ShapeRenderer shapeRenderer;
+    private boolean shapesPending = false;
     
     public PrimitiveRenderer(BatchedRenderer renderer, int whiteTextureId) {
         this.renderer = renderer;
         this.whiteTextureId = whiteTextureId;
     }
+
+    /**
+     * Route round shapes and outlines through an SDF shape renderer, or null to tessellate them.
+     */
+    public void setShapeRenderer(ShapeRenderer shapeRenderer) {
+        flush();
+        this.shapeRenderer = shapeRenderer;
+    }
+
+    public ShapeRenderer getShapeRenderer() {
+        return shapeRenderer;
+    }
+
+    /**
+     * Draw pending SDF shapes. Batched quads are flushed by the BatchedRenderer as usual.
+     */
+    public void flush() {
+        if (shapesPending) {
+            shapeRenderer.flush();
+            shapesPending = false;
+        }
+    }
+
+    // Switch to the shape renderer, drawing earlier batched quads first
+    private ShapeRenderer shapes() {
+        if (!shapesPending) {
+            renderer.flush();
+            shapesPending = true;
+        }
+        shapeRenderer.setCamera(renderer.getCamera(), renderer.getParallax());
+        return shapeRenderer;
+    }
+
+    // Switch back to the batch, drawing earlier shapes first
+    private BatchedRenderer batch() {
+        flush();
+        return renderer;
+    }
     
     /**
      * Draw a filled rectangle
@@ -25,11 +78,11 @@ public class PrimitiveRenderer {
     }
     
     /**
-     * Draw a filled rectangle with rotation
+     * Draw a filled rectangle with rotation (radians) about its center
      */
     public void drawRect(float x, float y, float width, float height, Vector3f color, float alpha, float rotation) {
-        renderer.addQuad(
-            x, y, width, height,
+        batch().addQuad(
+            x, y, width, height, rotation,
             0.0f, 0.0f, 1.0f, 1.0f, // Full texture UV
             color.x, color.y, color.z, alpha,
             whiteTextureId
@@ -44,17 +97,32 @@ public class PrimitiveRenderer {
     }
     
     /**
-     * Draw a rectangle outline with rotation
+     * Draw a rectangle outline with rotation (radians) about the rectangle center
      */
     public void drawRectOutline(float x, float y, float width, float height, Vector3f color, float alpha, float thickness, float rotation) {
+        if (shapeRenderer != null) {
+            shapes().drawRoundedRectOutline(x, y, width, height, 0.0f, thickness, rotation, color.x, color.y, color.z, alpha);
+            return;
+        }
+        float halfW = width * 0.5f, halfH = height * 0.5f, halfT = thickness * 0.5f;
+        float innerHeight = height - 2 * thickness;
         // Top edge
-        drawRect(x, y + height - thickness, width, thickness, color, alpha, rotation);
+        drawEdge(x, y - halfH + halfT, width, thickness, x, y, color, alpha, rotation);
         // Bottom edge
-        drawRect(x, y, width, thickness, color, alpha, rotation);
+        drawEdge(x, y + halfH - halfT, width, thickness, x, y, color, alpha, rotation);
         // Left edge
-        drawRect(x, y + thickness, thickness, height - 2 * thickness, color, alpha, rotation);
+        drawEdge(x - halfW + halfT, y, thickness, innerHeight, x, y, color, alpha, rotation);
         // Right edge
-        drawRect(x + width - thickness, y + thickness, thickness, height - 2 * thickness, color, alpha, rotation);
+        drawEdge(x + halfW - halfT, y, thickness, innerHeight, x, y, color, alpha, rotation);
+    }
+
+    private void drawEdge(float x, float y, float width, float height, float pivotX, float pivotY, Vector3f color, float alpha, float rotation) {
+        batch().addQuad(
+            x, y, width, height, rotation, pivotX, pivotY,
+            0.0f, 0.0f, 1.0f, 1.0f,
+            color.x, color.y, color.z, alpha,
+            whiteTextureId
+        );
     }
     
     /**
@@ -68,19 +136,32 @@ public class PrimitiveRenderer {
      * Draw a filled circle with specified number of segments
      */
     public void drawCircle(float centerX, float centerY, float radius, Vector3f color, float alpha, int segments) {
-        float angleStep = (float) (2.0 * Math.PI / segments);
-        
-        for (int i = 0; i < segments; i++) {
-            float angle1 = i * angleStep;
-            float angle2 = (i + 1) * angleStep;
-            
-            float x1 = centerX + (float) Math.cos(angle1) * radius;
-            float y1 = centerY + (float) Math.sin(angle1) * radius;
-            float x2 = centerX + (float) Math.cos(angle2) * radius;
-            float y2 = centerY + (float) Math.sin(angle2) * radius;
-            
-            // Draw triangle fan segment
-            drawTriangle(centerX, centerY, x1, y1, x2, y2, color, alpha);
+        if (shapeRenderer != null) {
+            shapes().drawCircle(centerX, centerY, radius, color.x, color.y, color.z, alpha);
+            return;
+        }
+        segments = Math.max(3, segments);
+        float[] circle = getUnitCircle(segments);
+        BatchedRenderer target = batch();
+
+        // Two fan triangles per quad: (center, i, i + 1) and (i + 1, i + 2, center)
+        for (int i = 0; i < segments; i += 2) {
+            int i1 = ((i + 1) % segments) * 2;
+            float x0 = centerX + circle[i * 2] * radius;
+            float y0 = centerY + circle[i * 2 + 1] * radius;
+            float x1 = centerX + circle[i1] * radius;
+            float y1 = centerY + circle[i1 + 1] * radius;
+            if (i + 1 < segments) {
+                int i2 = ((i + 2) % segments) * 2;
+                float x2 = centerX + circle[i2] * radius;
+                float y2 = centerY + circle[i2 + 1] * radius;
+                target.addQuadVertices(centerX, centerY, x0, y0, x1, y1, x2, y2,
+                    color.x, color.y, color.z, alpha, whiteTextureId);
+            } else {
+                // Odd segment count: the last quad holds a single triangle
+                target.addQuadVertices(centerX, centerY, x0, y0, x1, y1, centerX, centerY,
+                    color.x, color.y, color.z, alpha, whiteTextureId);
+            }
         }
     }
     
@@ -92,22 +173,31 @@ public class PrimitiveRenderer {
     }
     
     /**
-     * Draw a circle outline with specified number of segments
+     * Draw a circle outline with specified number of segments.
+     * The ring is centered on the radius, one quad per segment with shared edges.
      */
     public void drawCircleOutline(float centerX, float centerY, float radius, Vector3f color, float alpha, float thickness, int segments) {
-        float angleStep = (float) (2.0 * Math.PI / segments);
-        
+        if (shapeRenderer != null) {
+            // Shape rings grow inward from the radius; this ring is centered on it
+            shapes().drawRing(centerX, centerY, radius + thickness * 0.5f, thickness, color.x, color.y, color.z, alpha);
+            return;
+        }
+        segments = Math.max(3, segments);
+        BatchedRenderer target = batch();
+        float[] circle = getUnitCircle(segments);
+        float outer = radius + thickness * 0.5f;
+        float inner = Math.max(0.0f, radius - thickness * 0.5f);
+
         for (int i = 0; i < segments; i++) {
-            float angle1 = i * angleStep;
-            float angle2 = (i + 1) * angleStep;
-            
-            float x1 = centerX + (float) Math.cos(angle1) * radius;
-            float y1 = centerY + (float) Math.sin(angle1) * radius;
-            float x2 = centerX + (float) Math.cos(angle2) * radius;
-            float y2 = centerY + (float) Math.sin(angle2) * radius;
-            
-            // Draw line segment as thin rectangle
-            drawLine(x1, y1, x2, y2, color, alpha, thickness);
+            int i1 = ((i + 1) % segments) * 2;
+            float cos0 = circle[i * 2], sin0 = circle[i * 2 + 1];
+            float cos1 = circle[i1], sin1 = circle[i1 + 1];
+            target.addQuadVertices(
+                centerX + cos0 * outer, centerY + sin0 * outer,
+                centerX + cos1 * outer, centerY + sin1 * outer,
+                centerX + cos1 * inner, centerY + sin1 * inner,
+                centerX + cos0 * inner, centerY + sin0 * inner,
+                color.x, color.y, color.z, alpha, whiteTextureId);
         }
     }
     
@@ -115,23 +205,8 @@ public class PrimitiveRenderer {
      * Draw a triangle
      */
     public void drawTriangle(float x1, float y1, float x2, float y2, float x3, float y3, Vector3f color, float alpha) {
-        // Calculate center for rotation
-        float centerX = (x1 + x2 + x3) / 3.0f;
-        float centerY = (y1 + y2 + y3) / 3.0f;
-        
-        // For now, we'll use the batched renderer's quad method
-        // In a more sophisticated implementation, you might want a dedicated triangle renderer
-        float minX = Math.min(Math.min(x1, x2), x3);
-        float minY = Math.min(Math.min(y1, y2), y3);
-        float maxX = Math.max(Math.max(x1, x2), x3);
-        float maxY = Math.max(Math.max(y1, y2), y3);
-        
-        float width = maxX - minX;
-        float height = maxY - minY;
-        
-        // Draw bounding rectangle as approximation
-        // TODO: Implement proper triangle rendering
-        drawRect(centerX, centerY, width, height, color, alpha);
+        // Repeating the first corner collapses the quad's second triangle
+        batch().addQuadVertices(x1, y1, x2, y2, x3, y3, x1, y1, color.x, color.y, color.z, alpha, whiteTextureId);
     }
     
     /**
@@ -157,10 +232,12 @@ public class PrimitiveRenderer {
     }
     
     /**
-     * Draw a polygon from vertices
+     * Draw a polygon from vertices, as a fan around their average.
+     * Correct for convex polygons and any polygon whose edges are all visible from the average.
      */
     public void drawPolygon(Vector2f[] vertices, Vector3f color, float alpha) {
-        if (vertices.length < 3) return;
+        int count = vertices.length;
+        if (count < 3) return;
         
         // Calculate center
         float centerX = 0, centerY = 0;
@@ -168,17 +245,22 @@ public class PrimitiveRenderer {
             centerX += vertex.x;
             centerY += vertex.y;
         }
-        centerX /= vertices.length;
-        centerY /= vertices.length;
+        centerX /= count;
+        centerY /= count;
         
-        // Draw triangles fan
-        for (int i = 1; i < vertices.length - 1; i++) {
-            drawTriangle(
-                centerX, centerY,
-                vertices[i].x, vertices[i].y,
-                vertices[i + 1].x, vertices[i + 1].y,
-                color, alpha
-            );
+        // Fan triangles (center, i, i + 1) for every edge, two per quad
+        BatchedRenderer target = batch();
+        for (int i = 0; i < count; i += 2) {
+            Vector2f v0 = vertices[i];
+            Vector2f v1 = vertices[(i + 1) % count];
+            if (i + 1 < count) {
+                Vector2f v2 = vertices[(i + 2) % count];
+                target.addQuadVertices(centerX, centerY, v0.x, v0.y, v1.x, v1.y, v2.x, v2.y,
+                    color.x, color.y, color.z, alpha, whiteTextureId);
+            } else {
+                target.addQuadVertices(centerX, centerY, v0.x, v0.y, v1.x, v1.y, centerX, centerY,
+                    color.x, color.y, color.z, alpha, whiteTextureId);
+            }
         }
     }
     
@@ -194,4 +276,21 @@ public class PrimitiveRenderer {
             drawLine(current.x, current.y, next.x, next.y, color, alpha, thickness);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Cached unit circle points for a segment count, so circles do not call sin/cos per vertex.
+     */
+    private static float[] getUnitCircle(int segments) {
+        float[] circle = unitCircles.get(segments);
+        if (circle == null) {
+            circle = new float[segments * 2];
+            double angleStep = 2.0 * Math.PI / segments;
+            for (int i = 0; i < segments; i++) {
+                circle[i * 2] = (float) Math.cos(i * angleStep);
+                circle[i * 2 + 1] = (float) Math.sin(i * angleStep);
+            }
+            unitCircles.put(segments, circle);
+        }
+        return circle;
+    }
+}
\ No newline at end of file
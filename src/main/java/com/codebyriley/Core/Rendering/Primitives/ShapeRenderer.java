@@ -0,0 +1,234 @@
+package com.codebyriley.Core.Rendering.Primitives;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.ByteBuffer;
+import org.lwjgl.BufferUtils;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Core.Rendering.Camera2D;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.StreamingVertexBuffer;
+import com.codebyriley.Core.Rendering.VertexFormat;
+import com.codebyriley.Core.Rendering.Shaders.ShaderVariantSet;
+import com.codebyriley.Util.Log;
+import com.codebyriley.Util.Profiler;
+
+/**
+ * Draws circles, rings, rounded rectangles and capsules as one instanced quad each. The fragment
+ * shader evaluates a rounded-box signed distance function, so edges are anti-aliased analytically
+ * and outline thickness and fill are per-shape parameters rather than extra geometry.
+ *
+ * Every shape is a rounded box: a circle is a square with its corner radius at half the size,
+ * a capsule is a box whose corner radius is half its height. The outline is drawn inside the
+ * shape's edge; a fill alpha of 0 gives an outline-only shape.
+ *
+ * Instance layout (36 bytes):
+ * centerX, centerY, halfWidth, halfHeight, rotation, cornerRadius, thickness (floats),
+ * fill RGBA8, outline RGBA8
+ */
+public class ShapeRenderer {
+    private static final int MAX_SHAPES = 10000;
+    private static final int INSTANCE_SIZE = 7 * Float.BYTES + 4 + 4;
+    private static final int STREAM_REGIONS = 3;
+
+    private final RenderBackend gl = GLStateCache.backend();
+    private int vao, quadVbo, ebo;
+    private ShaderVariantSet shaders;
+    private StreamingVertexBuffer instanceBuffer;
+    private ByteBuffer instanceData;
+    private int shapeCount = 0;
+    private Camera2D camera;
+    private float parallax = 1.0f;
+    private int drawCallCount = 0;
+
+    public ShapeRenderer() {
+        vao = gl.glGenVertexArrays();
+        Log.checkGLErrorDetailed("ShapeRenderer.constructor", "glGenVertexArrays");
+        GLStateCache.bindVertexArray(vao);
+
+        // Shared unit quad, same corner order as BatchedRenderer.addQuad
+        quadVbo = gl.glGenBuffers();
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, quadVbo);
+        gl.glBufferData(GL_ARRAY_BUFFER, new float[] {
+            -0.5f, -0.5f,
+             0.5f, -0.5f,
+             0.5f,  0.5f,
+            -0.5f,  0.5f
+        }, GL_STATIC_DRAW);
+        gl.glVertexAttribPointer(0, 2, GL_FLOAT, false, 2 * Float.BYTES, 0);
+        gl.glEnableVertexAttribArray(0);
+        Log.checkGLErrorDetailed("ShapeRenderer.constructor", "unit quad setup");
+
+        ebo = gl.glGenBuffers();
+        GLStateCache.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        gl.glBufferData(GL_ELEMENT_ARRAY_BUFFER, new int[] {0, 1, 2, 2, 3, 0}, GL_STATIC_DRAW);
+        Log.checkGLErrorDetailed("ShapeRenderer.constructor", "glBufferData ELEMENT_ARRAY_BUFFER");
+
+        // Per-instance attributes; pointers are re-based on every flush
+        instanceBuffer = new StreamingVertexBuffer(MAX_SHAPES * INSTANCE_SIZE, STREAM_REGIONS);
+        for (int location = 1; location <= 6; location++) {
+            gl.glEnableVertexAttribArray(location);
+            gl.glVertexAttribDivisor(location, 1);
+        }
+        setInstanceAttributePointers(0);
+        Log.checkGLErrorDetailed("ShapeRenderer.constructor", "instance attribute setup");
+        GLStateCache.bindVertexArray(0);
+
+        instanceData = BufferUtils.createByteBuffer(MAX_SHAPES * INSTANCE_SIZE);
+
+        // No defines; a set so the program can be swapped by ShaderHotReload
+        shaders = new ShaderVariantSet("/shaders/ShapeVertexShader.vert.glsl", "/shaders/ShapeFragmentShader.frag.glsl", null);
+        shaders.get();
+        Log.checkGLErrorDetailed("ShapeRenderer.constructor", "shader setup");
+    }
+
+    /**
+     * Point the instance attributes at a byte offset inside the streaming buffer.
+     * Expects the VAO to be bound.
+     */
+    private void setInstanceAttributePointers(long baseOffset) {
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, instanceBuffer.getBufferId());
+        // Center (location 1)
+        gl.glVertexAttribPointer(1, 2, GL_FLOAT, false, INSTANCE_SIZE, baseOffset);
+        // Half size (location 2)
+        gl.glVertexAttribPointer(2, 2, GL_FLOAT, false, INSTANCE_SIZE, baseOffset + 2 * Float.BYTES);
+        // Rotation in radians (location 3)
+        gl.glVertexAttribPointer(3, 1, GL_FLOAT, false, INSTANCE_SIZE, baseOffset + 4 * Float.BYTES);
+        // Corner radius and outline thickness (location 4)
+        gl.glVertexAttribPointer(4, 2, GL_FLOAT, false, INSTANCE_SIZE, baseOffset + 5 * Float.BYTES);
+        // Packed fill color (location 5)
+        gl.glVertexAttribPointer(5, 4, GL_UNSIGNED_BYTE, true, INSTANCE_SIZE, baseOffset + 7 * Float.BYTES);
+        // Packed outline color (location 6)
+        gl.glVertexAttribPointer(6, 4, GL_UNSIGNED_BYTE, true, INSTANCE_SIZE, baseOffset + 7 * Float.BYTES + 4);
+    }
+
+    public void begin() {
+        shapeCount = 0;
+        instanceData.clear();
+    }
+
+    /**
+     * Add a rounded box, the shape every other method builds on.
+     * @param x, y: position (center)
+     * @param w, h: size
+     * @param rotation: rotation about the center in radians
+     * @param cornerRadius: clamped to half the smaller side
+     * @param thickness: outline width inside the edge, 0 for none
+     * @param fr, fg, fb, fa: fill color
+     * @param or, og, ob, oa: outline color
+     */
+    public void addShape(float x, float y, float w, float h, float rotation, float cornerRadius, float thickness,
+                         float fr, float fg, float fb, float fa, float or, float og, float ob, float oa) {
+        if (shapeCount >= MAX_SHAPES) flush();
+        instanceData.putFloat(x).putFloat(y)
+            .putFloat(Math.abs(w) * 0.5f).putFloat(Math.abs(h) * 0.5f)
+            .putFloat(rotation)
+            .putFloat(Math.max(0.0f, cornerRadius)).putFloat(Math.max(0.0f, thickness))
+            .put(VertexFormat.packUnorm8(fr)).put(VertexFormat.packUnorm8(fg)).put(VertexFormat.packUnorm8(fb)).put(VertexFormat.packUnorm8(fa))
+            .put(VertexFormat.packUnorm8(or)).put(VertexFormat.packUnorm8(og)).put(VertexFormat.packUnorm8(ob)).put(VertexFormat.packUnorm8(oa));
+        shapeCount++;
+    }
+
+    public void drawCircle(float x, float y, float radius, float r, float g, float b, float a) {
+        float size = radius * 2.0f;
+        addShape(x, y, size, size, 0.0f, radius, 0.0f, r, g, b, a, r, g, b, a);
+    }
+
+    /**
+     * Circle outline; the ring extends thickness inward from the radius.
+     */
+    public void drawRing(float x, float y, float radius, float thickness, float r, float g, float b, float a) {
+        float size = radius * 2.0f;
+        addShape(x, y, size, size, 0.0f, radius, thickness, r, g, b, 0.0f, r, g, b, a);
+    }
+
+    public void drawRoundedRect(float x, float y, float w, float h, float cornerRadius, float r, float g, float b, float a) {
+        addShape(x, y, w, h, 0.0f, cornerRadius, 0.0f, r, g, b, a, r, g, b, a);
+    }
+
+    /**
+     * Rounded rectangle outline with rotation (radians) about its center. A corner radius of 0
+     * gives a plain rectangle outline.
+     */
+    public void drawRoundedRectOutline(float x, float y, float w, float h, float cornerRadius, float thickness, float rotation,
+                                       float r, float g, float b, float a) {
+        addShape(x, y, w, h, rotation, cornerRadius, thickness, r, g, b, 0.0f, r, g, b, a);
+    }
+
+    /**
+     * Capsule (a line with round caps) from (x1, y1) to (x2, y2).
+     */
+    public void drawCapsule(float x1, float y1, float x2, float y2, float radius, float r, float g, float b, float a) {
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        float angle = (float) Math.atan2(dy, dx);
+        float height = radius * 2.0f;
+        addShape((x1 + x2) * 0.5f, (y1 + y2) * 0.5f, length + height, height, angle, radius, 0.0f, r, g, b, a, r, g, b, a);
+    }
+
+    public void end() {
+        flush();
+    }
+
+    /**
+     * Camera used for the view-projection (null for screen space) and the parallax factor
+     * of the shapes that follow. Flushes pending shapes if either changes.
+     */
+    public void setCamera(Camera2D camera, float parallax) {
+        if (this.camera == camera && this.parallax == parallax) return;
+        flush();
+        this.camera = camera;
+        this.parallax = parallax;
+    }
+
+    /**
+     * Draw the pending shapes. Blend state is left to the caller, like BatchedRenderer;
+     * shapes expect SRC_ALPHA / ONE_MINUS_SRC_ALPHA.
+     */
+    public void flush() {
+        if (shapeCount == 0) return;
+        Profiler.begin("shapes.flush");
+        instanceData.flip();
+
+        int program = shaders.get();
+        GLStateCache.useProgram(program);
+        Camera2D.upload(camera, parallax, GLStateCache.getUniformLocation(program, "uViewProjection"));
+        int aaMarginLocation = GLStateCache.getUniformLocation(program, "uAAMargin");
+        if (aaMarginLocation != -1) {
+            // One screen pixel in world units, so the smoothed edge fits at any zoom
+            float zoom = camera != null ? 1.0f + (camera.getZoom() - 1.0f) * parallax : 1.0f;
+            gl.glUniform1f(aaMarginLocation, 1.0f / Math.max(0.01f, Math.min(1.0f, zoom)));
+        }
+        Log.checkGLErrorDetailed("ShapeRenderer.flush", "uniform setup");
+
+        GLStateCache.bindVertexArray(vao);
+        int offset = instanceBuffer.upload(instanceData);
+        setInstanceAttributePointers(offset);
+        Log.checkGLErrorDetailed("ShapeRenderer.flush", "instance upload");
+
+        gl.glDrawElementsInstanced(GL_TRIANGLES, 6, GL_UNSIGNED_INT, 0, shapeCount);
+        Log.checkGLErrorDetailed("ShapeRenderer.flush", "glDrawElementsInstanced");
+        drawCallCount++;
+
+        instanceData.clear();
+        shapeCount = 0;
+        Profiler.end();
+    }
+
+    public int getDrawCallCount() {
+        return drawCallCount;
+    }
+
+    public void resetDrawCallCount() {
+        drawCallCount = 0;
+    }
+
+    public void destroy() {
+        GLStateCache.deleteVertexArray(vao);
+        GLStateCache.deleteBuffer(quadVbo);
+        GLStateCache.deleteBuffer(ebo);
+        instanceBuffer.destroy();
+        shaders.destroy();
+    }
+}
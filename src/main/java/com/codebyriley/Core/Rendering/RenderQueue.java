@@ -0,0 +1,315 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.util.Arrays;
+import com.codebyriley.Util.Profiler;
+
+/**
+ * Collects sprite draw commands for a frame, sorts them by a 64-bit key and emits them into a
+ * BatchedRenderer in an order that minimises flushes and state changes.
+ *
+ * Key layout (most significant first):
+ *   layer (8) | blend mode (2) | shader (4) | texture (16) | depth (32)
+ *
+ * Layers always draw in ascending order. Within a layer commands are grouped by blend mode,
+ * shader and texture, then ordered by depth (smaller first). Layers marked with
+ * {@link #setPreserveOrder} keep only the layer bits, so the stable radix sort leaves their
+ * commands in submission order; use this for transparent layers where overlap order matters.
+ *
+ * Commands are stored as parallel primitive arrays, so submitting does not allocate once the
+ * queue has grown to its working size.
+ */
+public class RenderQueue {
+
+    public enum BlendMode {
+        OPAQUE,
+        ALPHA,
+        ADDITIVE,
+        PREMULTIPLIED
+    }
+
+    private static final int SHADER_SLOTS = 0;
+    private static final int SHADER_ARRAY = 1;
+
+    private static final int LAYER_SHIFT = 54;
+    private static final int BLEND_SHIFT = 52;
+    private static final int SHADER_SHIFT = 48;
+    private static final int TEXTURE_SHIFT = 32;
+
+    private static final BlendMode[] BLEND_MODES = BlendMode.values();
+
+    private int count = 0;
+    private int capacity;
+    private long[] keys;
+    private int[] order;
+    private long[] keyScratch;
+    private int[] orderScratch;
+    private final int[] radixCounts = new int[256];
+
+    // Command data (struct of arrays)
+    private float[] x, y, w, h, rotation;
+    private float[] u1, v1, u2, v2;
+    private float[] r, g, b, a;
+    private int[] texture;
+    private byte[] shader;
+    private byte[] blendMode;
+    private final int[] slotScratch = new int[BatchedRenderer.MAX_TEXTURES];
+
+    private final boolean[] preserveOrder = new boolean[256];
+
+    // Statistics from the last flush
+    private int lastCommandCount = 0;
+    private int lastBatchesUnsorted = 0;
+    private int lastBatchesSorted = 0;
+
+    public RenderQueue() {
+        this(1024);
+    }
+
+    public RenderQueue(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        keys = grow(keys, newCapacity);
+        order = grow(order, newCapacity);
+        keyScratch = new long[newCapacity];
+        orderScratch = new int[newCapacity];
+        x = grow(x, newCapacity); y = grow(y, newCapacity);
+        w = grow(w, newCapacity); h = grow(h, newCapacity);
+        rotation = grow(rotation, newCapacity);
+        u1 = grow(u1, newCapacity); v1 = grow(v1, newCapacity);
+        u2 = grow(u2, newCapacity); v2 = grow(v2, newCapacity);
+        r = grow(r, newCapacity); g = grow(g, newCapacity);
+        b = grow(b, newCapacity); a = grow(a, newCapacity);
+        texture = grow(texture, newCapacity);
+        shader = grow(shader, newCapacity);
+        blendMode = grow(blendMode, newCapacity);
+    }
+
+    private static float[] grow(float[] array, int size) { return array == null ? new float[size] : Arrays.copyOf(array, size); }
+    private static int[] grow(int[] array, int size) { return array == null ? new int[size] : Arrays.copyOf(array, size); }
+    private static byte[] grow(byte[] array, int size) { return array == null ? new byte[size] : Arrays.copyOf(array, size); }
+    private static long[] grow(long[] array, int size) { return array == null ? new long[size] : Arrays.copyOf(array, size); }
+
+    /**
+     * Keep submission order within a layer instead of sorting by state and depth.
+     */
+    public void setPreserveOrder(int layer, boolean preserve) {
+        preserveOrder[layer & 0xFF] = preserve;
+    }
+
+    /**
+     * Submit a sprite using a regular texture (0 = untextured).
+     * @param layer: 0-255, lower layers draw first
+     * @param depth: ordering within a layer, smaller draws first
+     * @param rotation: rotation about the center in radians
+     */
+    public void submit(int layer, BlendMode blend, float depth, float x, float y, float w, float h, float rotation,
+                       float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
+        add(layer, blend, SHADER_SLOTS, depth, x, y, w, h, rotation, u1, v1, u2, v2, r, g, b, a, textureId);
+    }
+
+    /**
+     * Submit a sprite drawn from a layer of the renderer's texture array.
+     * @param arrayLayer: texture array layer (0 = white)
+     */
+    public void submitLayer(int layer, BlendMode blend, float depth, float x, float y, float w, float h, float rotation,
+                            float u1, float v1, float u2, float v2, float r, float g, float b, float a, int arrayLayer) {
+        add(layer, blend, SHADER_ARRAY, depth, x, y, w, h, rotation, u1, v1, u2, v2, r, g, b, a, arrayLayer);
+    }
+
+    private void add(int layer, BlendMode blend, int shaderKind, float depth, float px, float py, float pw, float ph, float rot,
+                     float pu1, float pv1, float pu2, float pv2, float pr, float pg, float pb, float pa, int tex) {
+        if (count == capacity) allocate(capacity * 2);
+        int i = count++;
+        x[i] = px; y[i] = py; w[i] = pw; h[i] = ph; rotation[i] = rot;
+        u1[i] = pu1; v1[i] = pv1; u2[i] = pu2; v2[i] = pv2;
+        r[i] = pr; g[i] = pg; b[i] = pb; a[i] = pa;
+        texture[i] = tex;
+        shader[i] = (byte) shaderKind;
+
+        int layerBits = layer & 0xFF;
+        long key = (long) layerBits << LAYER_SHIFT;
+        if (!preserveOrder[layerBits]) {
+            key |= (long) blend.ordinal() << BLEND_SHIFT;
+            key |= (long) shaderKind << SHADER_SHIFT;
+            key |= (long) (tex & 0xFFFF) << TEXTURE_SHIFT;
+            key |= sortableDepth(depth);
+        }
+        keys[i] = key;
+        order[i] = i;
+        blendMode[i] = (byte) blend.ordinal();
+    }
+
+    /**
+     * Map a float to 32 unsigned bits that sort in the same order as the float.
+     */
+    private static long sortableDepth(float depth) {
+        int bits = Float.floatToIntBits(depth);
+        bits ^= (bits >> 31) | 0x80000000;
+        return bits & 0xFFFFFFFFL;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Sort the queued commands, emit them into the renderer and clear the queue.
+     * Blend state is set through GLStateCache as the blend mode changes and left disabled afterwards.
+     * If the renderer has a camera, each layer is drawn with that layer's parallax factor.
+     */
+    public void flush(BatchedRenderer renderer) {
+        if (count == 0) {
+            lastCommandCount = 0;
+            lastBatchesUnsorted = 0;
+            lastBatchesSorted = 0;
+            return;
+        }
+        Profiler.begin("queue.flush");
+        lastCommandCount = count;
+        lastBatchesUnsorted = estimateBatches();
+        radixSort();
+        lastBatchesSorted = estimateBatches();
+
+        Camera2D camera = renderer.getCamera();
+        int currentLayer = -1;
+        int currentBlend = -1;
+        for (int n = 0; n < count; n++) {
+            int i = order[n];
+            if (camera != null) {
+                int layer = (int) (keys[n] >>> LAYER_SHIFT) & 0xFF;
+                if (layer != currentLayer) {
+                    renderer.setParallax(camera.getParallax(layer));
+                    currentLayer = layer;
+                }
+            }
+            int blend = blendMode[i];
+            if (blend != currentBlend) {
+                renderer.flush();
+                applyBlend(BLEND_MODES[blend]);
+                currentBlend = blend;
+            }
+            if (shader[i] == SHADER_ARRAY) {
+                renderer.addQuadLayer(x[i], y[i], w[i], h[i], rotation[i], u1[i], v1[i], u2[i], v2[i], r[i], g[i], b[i], a[i], texture[i]);
+            } else {
+                renderer.addQuad(x[i], y[i], w[i], h[i], rotation[i], u1[i], v1[i], u2[i], v2[i], r[i], g[i], b[i], a[i], texture[i]);
+            }
+        }
+        renderer.flush();
+        renderer.setParallax(1.0f);
+        GLStateCache.setBlend(false);
+        count = 0;
+        Profiler.end();
+    }
+
+    private static void applyBlend(BlendMode mode) {
+        switch (mode) {
+            case OPAQUE:
+                GLStateCache.setBlend(false);
+                break;
+            case ADDITIVE:
+                GLStateCache.setBlend(true);
+                GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE);
+                break;
+            case PREMULTIPLIED:
+                GLStateCache.setBlend(true);
+                GLStateCache.blendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+                break;
+            case ALPHA:
+            default:
+                GLStateCache.setBlend(true);
+                GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+                break;
+        }
+    }
+
+    /**
+     * Stable LSD radix sort of (key, index) pairs, one byte per pass.
+     * Passes where every key has the same byte are skipped.
+     */
+    private void radixSort() {
+        long[] srcKeys = keys, dstKeys = keyScratch;
+        int[] srcOrder = order, dstOrder = orderScratch;
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(radixCounts, 0);
+            for (int i = 0; i < count; i++) {
+                radixCounts[(int) (srcKeys[i] >>> shift) & 0xFF]++;
+            }
+            if (radixCounts[(int) (srcKeys[0] >>> shift) & 0xFF] == count) continue;
+
+            int sum = 0;
+            for (int bucket = 0; bucket < 256; bucket++) {
+                int c = radixCounts[bucket];
+                radixCounts[bucket] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < count; i++) {
+                int dst = radixCounts[(int) (srcKeys[i] >>> shift) & 0xFF]++;
+                dstKeys[dst] = srcKeys[i];
+                dstOrder[dst] = srcOrder[i];
+            }
+            long[] tk = srcKeys; srcKeys = dstKeys; dstKeys = tk;
+            int[] to = srcOrder; srcOrder = dstOrder; dstOrder = to;
+        }
+        keys = srcKeys; keyScratch = dstKeys;
+        order = srcOrder; orderScratch = dstOrder;
+    }
+
+    /**
+     * Count the draw calls BatchedRenderer would issue for the current command order by
+     * replaying its flush rules: blend changes, slot/array switches, a full vertex buffer
+     * or running out of texture slots.
+     */
+    private int estimateBatches() {
+        int batches = 0;
+        int quads = 0;
+        int currentBlend = -1;
+        int currentShader = -1;
+        int[] slots = slotScratch;
+        int usedSlots = 1;
+        for (int n = 0; n < count; n++) {
+            int i = order[n];
+            int tex = texture[i];
+            boolean newBatch = quads == 0 || blendMode[i] != currentBlend || quads >= BatchedRenderer.MAX_QUADS;
+            // Untextured quads can join array batches since layer 0 is white
+            boolean shaderSwitch = shader[i] != currentShader && !(shader[i] == SHADER_SLOTS && tex == 0 && currentShader == SHADER_ARRAY);
+            newBatch |= shaderSwitch;
+            if (!newBatch && shader[i] == SHADER_SLOTS && tex != 0) {
+                boolean found = false;
+                for (int s = 1; s < usedSlots; s++) if (slots[s] == tex) { found = true; break; }
+                if (!found && usedSlots >= slots.length) newBatch = true;
+            }
+            if (newBatch) {
+                batches++;
+                quads = 0;
+                usedSlots = 1;
+                currentBlend = blendMode[i];
+                if (shaderSwitch || currentShader == -1) currentShader = shader[i];
+            }
+            if (shader[i] == SHADER_SLOTS && tex != 0 && currentShader == SHADER_SLOTS) {
+                boolean found = false;
+                for (int s = 1; s < usedSlots; s++) if (slots[s] == tex) { found = true; break; }
+                if (!found) slots[usedSlots++] = tex;
+            }
+            quads++;
+        }
+        return batches;
+    }
+
+    /** Commands emitted by the last flush. */
+    public int getLastCommandCount() { return lastCommandCount; }
+
+    /** Estimated batches the last frame's commands would have needed in submission order. */
+    public int getLastBatchesUnsorted() { return lastBatchesUnsorted; }
+
+    /** Estimated batches after sorting. */
+    public int getLastBatchesSorted() { return lastBatchesSorted; }
+}
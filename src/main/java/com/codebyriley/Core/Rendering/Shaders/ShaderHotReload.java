@@ -0,0 +1,142 @@
+package com.codebyriley.Core.Rendering.Shaders;
+
+import com.codebyriley.Util.Log;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Watches the shader source directory and recompiles the {@link ShaderVariantSet}s using a
+ * changed file. The watcher thread only records file names; {@link #update()} reads the files
+ * and compiles on the GL thread without waiting for the driver, and the renderers pick up the
+ * new programs on a later frame once they link. A shader that fails keeps its old program.
+ *
+ * The directory defaults to src/main/resources/shaders relative to the working directory and
+ * can be changed with -Dlitch.shaderDir. Nothing is watched when it does not exist, e.g. when
+ * running from a packaged jar.
+ */
+public class ShaderHotReload {
+    private static final long SETTLE_MS = 100;
+
+    private static final ConcurrentLinkedQueue<String> changed = new ConcurrentLinkedQueue<>();
+    private static final List<ShaderVariantSet> reloading = new ArrayList<>();
+    private static WatchService watchService;
+    private static Thread watcherThread;
+    private static volatile boolean watching = false;
+    private static Path shaderDir;
+    private static int reloadCount = 0;
+
+    /**
+     * Start watching the shader directory, if it exists.
+     */
+    public static void start() {
+        if (watching) return;
+        shaderDir = Paths.get(System.getProperty("litch.shaderDir", "src/main/resources/shaders"));
+        if (!Files.isDirectory(shaderDir)) {
+            Log.debug("ShaderHotReload: " + shaderDir.toAbsolutePath() + " not found, hot reload disabled");
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            shaderDir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            Log.error("ShaderHotReload: failed to watch " + shaderDir + ": " + e.getMessage());
+            return;
+        }
+        watching = true;
+        watcherThread = new Thread(ShaderHotReload::watch, "ShaderFileWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        Log.info("ShaderHotReload: watching " + shaderDir.toAbsolutePath());
+    }
+
+    private static void watch() {
+        while (watching) {
+            try {
+                WatchKey key = watchService.take();
+                // Editors often save in several writes; let them finish
+                Thread.sleep(SETTLE_MS);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                    changed.add(((Path) event.context()).getFileName().toString());
+                }
+                key.reset();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            } catch (Exception e) {
+                Log.error("ShaderHotReload: error in file watcher: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Swap in the reloads that finished, then start compiling the sets affected by changed
+     * files. Call once per frame on the GL thread, outside of rendering.
+     */
+    public static void update() {
+        // Poll before submitting, so a compile is never finished in the frame it was submitted.
+        // Without parallel shader compile the driver works on it while this frame renders.
+        if (!reloading.isEmpty()) {
+            reloading.removeIf(set -> !set.pollReload());
+        }
+        if (changed.isEmpty()) return;
+        Set<String> files = new HashSet<>();
+        String file;
+        while ((file = changed.poll()) != null) files.add(file);
+        for (String name : files) {
+            reloadFile(name);
+        }
+    }
+
+    private static void reloadFile(String name) {
+        String source = null;
+        for (ShaderVariantSet set : ShaderVariantSet.getLiveSets()) {
+            boolean vertex = fileName(set.getVertexPath()).equals(name);
+            boolean fragment = fileName(set.getFragmentPath()).equals(name);
+            if (!vertex && !fragment) continue;
+            if (source == null) {
+                try {
+                    source = Files.readString(shaderDir.resolve(name));
+                } catch (IOException e) {
+                    Log.error("ShaderHotReload: failed to read " + name + ": " + e.getMessage());
+                    return;
+                }
+            }
+            set.reload(vertex ? source : null, fragment ? source : null);
+            if (!reloading.contains(set)) reloading.add(set);
+            reloadCount++;
+        }
+        if (source != null) Log.info("ShaderHotReload: " + name + " changed, recompiling");
+    }
+
+    private static String fileName(String resourcePath) {
+        return resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+    }
+
+    /** Sets reloaded since start, including ones that failed to compile. */
+    public static int getReloadCount() {
+        return reloadCount;
+    }
+
+    /**
+     * Stop the watcher thread. Pending reloads are dropped when their sets are destroyed.
+     */
+    public static void stop() {
+        if (!watching) return;
+        watching = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Log.error("ShaderHotReload: error closing watch service: " + e.getMessage());
+        }
+        watcherThread.interrupt();
+        watcherThread = null;
+        watchService = null;
+        changed.clear();
+        reloading.clear();
+    }
+}
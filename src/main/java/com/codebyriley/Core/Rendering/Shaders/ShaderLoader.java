@@ -1,6 +1,8 @@
 package com.codebyriley.Core.Rendering.Shaders;
 
 import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,6 +35,33 @@ public class ShaderLoader {
         return sb.toString();
     }
     
+    /**
+     * Prepend #define lines to shader source, after its #version directive, for variant
+     * permutations. A #line directive follows them so compile errors keep their source line numbers.
+     * @param source Shader source code
+     * @param defines Names to define, e.g. "TEXTURED"
+     * @return Source with the defines applied, or the source itself when there are none
+     */
+    public static String applyDefines(String source, Iterable<String> defines) {
+        StringBuilder block = new StringBuilder();
+        for (String define : defines) {
+            block.append("#define ").append(define).append('\n');
+        }
+        if (block.length() == 0) {
+            return source;
+        }
+        // #version must stay the first statement
+        int versionLine = 0;
+        if (source.startsWith("#version")) {
+            int end = source.indexOf('\n');
+            versionLine = end < 0 ? source.length() : end + 1;
+        }
+        int line = versionLine > 0 ? 2 : 1;
+        String version = source.substring(0, versionLine);
+        if (versionLine > 0 && !version.endsWith("\n")) version += "\n";
+        return version + block + "#line " + line + "\n" + source.substring(versionLine);
+    }
+
     /**
      * Compile a shader from source code
      * @param shaderType The type of shader (GL_VERTEX_SHADER or GL_FRAGMENT_SHADER)
@@ -40,16 +69,17 @@ public class ShaderLoader {
      * @return The compiled shader ID
      */
     public static int compileShader(int shaderType, String source) {
-        int shader = glCreateShader(shaderType);
-        glShaderSource(shader, source);
-        glCompileShader(shader);
+        RenderBackend gl = GLStateCache.backend();
+        int shader = gl.glCreateShader(shaderType);
+        gl.glShaderSource(shader, source);
+        gl.glCompileShader(shader);
         
         // Check for compilation errors
         int[] success = new int[1];
-        glGetShaderiv(shader, GL_COMPILE_STATUS, success);
+        gl.glGetShaderiv(shader, GL_COMPILE_STATUS, success);
         if (success[0] == GL_FALSE) {
-            String infoLog = glGetShaderInfoLog(shader);
-            glDeleteShader(shader);
+            String infoLog = gl.glGetShaderInfoLog(shader);
+            gl.glDeleteShader(shader);
             throw new RuntimeException("Shader compilation failed: " + infoLog);
         }
         
@@ -63,6 +93,7 @@ public class ShaderLoader {
      * @return The linked shader program ID
      */
     public static int createShaderProgram(String vertexSource, String fragmentSource) {
+        RenderBackend gl = GLStateCache.backend();
         // Compile vertex shader
         int vertexShader = compileShader(GL_VERTEX_SHADER, vertexSource);
         
@@ -70,25 +101,25 @@ public class ShaderLoader {
         int fragmentShader = compileShader(GL_FRAGMENT_SHADER, fragmentSource);
         
         // Create and link program
-        int program = glCreateProgram();
-        glAttachShader(program, vertexShader);
-        glAttachShader(program, fragmentShader);
-        glLinkProgram(program);
+        int program = gl.glCreateProgram();
+        gl.glAttachShader(program, vertexShader);
+        gl.glAttachShader(program, fragmentShader);
+        gl.glLinkProgram(program);
         
         // Check for linking errors
         int[] success = new int[1];
-        glGetProgramiv(program, GL_LINK_STATUS, success);
+        gl.glGetProgramiv(program, GL_LINK_STATUS, success);
         if (success[0] == GL_FALSE) {
-            String infoLog = glGetProgramInfoLog(program);
-            glDeleteProgram(program);
-            glDeleteShader(vertexShader);
-            glDeleteShader(fragmentShader);
+            String infoLog = gl.glGetProgramInfoLog(program);
+            GLStateCache.deleteProgram(program);
+            gl.glDeleteShader(vertexShader);
+            gl.glDeleteShader(fragmentShader);
             throw new RuntimeException("Shader program linking failed: " + infoLog);
         }
         
         // Clean up shaders (they're now attached to the program)
-        glDeleteShader(vertexShader);
-        glDeleteShader(fragmentShader);
+        gl.glDeleteShader(vertexShader);
+        gl.glDeleteShader(fragmentShader);
         
         Log.info("Successfully created shader program");
         return program;
@@ -123,7 +154,7 @@ public class ShaderLoader {
     public static void deleteShaderProgram(int program) {
         if (program != 0) {
             Log.infoEveryNFrames("[ShaderLoader] deleteShaderProgram: programId=" + program, 120);
-            glDeleteProgram(program);
+            GLStateCache.deleteProgram(program);
         }
     }
 }
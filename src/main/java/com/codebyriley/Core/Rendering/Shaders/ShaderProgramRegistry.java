@@ -0,0 +1,381 @@
+package com.codebyriley.Core.Rendering.Shaders;
+
+import static com.codebyriley.Util.AppdataPath.getAppdataPath;
+import static org.lwjgl.opengl.GL33.*;
+import static org.lwjgl.opengl.GL41.GL_PROGRAM_BINARY_LENGTH;
+import static org.lwjgl.opengl.GL41.GL_PROGRAM_BINARY_RETRIEVABLE_HINT;
+import static org.lwjgl.opengl.KHRParallelShaderCompile.GL_COMPLETION_STATUS_KHR;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import org.lwjgl.BufferUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import com.codebyriley.Util.Log;
+
+/**
+ * Shares linked shader programs and keeps their driver binaries on disk between launches.
+ *
+ * Programs are keyed by a SHA-256 of the GL vendor, renderer and version strings plus both
+ * sources, so renderers asking for the same shaders get the same program and a driver or
+ * shader change never reuses a stale binary. Every acquire adds a reference; the program is
+ * deleted when the last one is released. Since programs are shared, uniforms other than
+ * samplers should be set before each draw rather than once at creation.
+ *
+ * On a miss the program is compiled from source and, when the context supports program
+ * binaries, its glGetProgramBinary blob is written to {@code <appdata>/shadercache/<key>.bin}.
+ * The next launch loads that blob with glProgramBinary instead of compiling; a blob the driver
+ * rejects is deleted and the program is compiled from source again.
+ *
+ * All calls must be made on the GL thread.
+ */
+public class ShaderProgramRegistry {
+    private static final String CACHE_DIRECTORY = "shadercache/";
+
+    private static class Entry {
+        final String key;
+        final int program;
+        int refCount = 0;
+
+        Entry(String key, int program) {
+            this.key = key;
+            this.program = program;
+        }
+    }
+
+    private static final Map<String, Entry> byKey = new HashMap<>();
+    private static final Map<Integer, Entry> byProgram = new HashMap<>();
+    private static boolean diskCacheEnabled = true;
+    private static String driver;
+    private static boolean compilerThreadsSet = false;
+    private static int binaryLoads = 0;
+    private static int compiles = 0;
+    private static int rejectedBinaries = 0;
+
+    /**
+     * Shared program for two shader resources, e.g. "/shaders/BatchVertexShader.vert.glsl".
+     * @throws RuntimeException if the shaders fail to compile or link
+     */
+    public static int acquire(String vertexPath, String fragmentPath) {
+        return acquireSource(ShaderLoader.readShaderFromResource(vertexPath), ShaderLoader.readShaderFromResource(fragmentPath));
+    }
+
+    /**
+     * Shared program for two shader sources.
+     * @throws RuntimeException if the shaders fail to compile or link
+     */
+    public static int acquireSource(String vertexSource, String fragmentSource) {
+        String key = key(vertexSource, fragmentSource);
+        Entry entry = byKey.get(key);
+        if (entry == null) {
+            int program = loadBinary(key);
+            if (program == 0) {
+                program = compile(vertexSource, fragmentSource);
+                saveBinary(key, program);
+            }
+            entry = new Entry(key, program);
+            byKey.put(key, entry);
+            byProgram.put(program, entry);
+        }
+        entry.refCount++;
+        return entry.program;
+    }
+
+    /**
+     * Drop a reference taken by acquire, deleting the program with the last one.
+     */
+    public static void release(int program) {
+        if (program == 0) return;
+        Entry entry = byProgram.get(program);
+        if (entry == null) {
+            Log.warn("ShaderProgramRegistry.release: program " + program + " was not acquired here");
+            return;
+        }
+        if (--entry.refCount > 0) return;
+        byKey.remove(entry.key);
+        byProgram.remove(program);
+        GLStateCache.deleteProgram(program);
+    }
+
+    private static String key(String vertexSource, String fragmentSource) {
+        if (driver == null) {
+            RenderBackend gl = GLStateCache.backend();
+            driver = gl.glGetString(GL_VENDOR) + '\0' + gl.glGetString(GL_RENDERER) + '\0' + gl.glGetString(GL_VERSION);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(driver.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(vertexSource.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(fragmentSource.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    private static int compile(String vertexSource, String fragmentSource) {
+        return link(new PendingProgram(vertexSource, fragmentSource));
+    }
+
+    /**
+     * A program whose shaders were submitted for compiling and linking but whose status has not
+     * been read yet, see {@link #beginCompile}.
+     */
+    public static class PendingProgram {
+        private final String vertexSource;
+        private final String fragmentSource;
+        private final int vertexShader;
+        private final int fragmentShader;
+        private final int program;
+        private boolean done = false;
+
+        // Submits the work without reading any status, so nothing here waits for the compiler
+        private PendingProgram(String vertexSource, String fragmentSource) {
+            RenderBackend gl = GLStateCache.backend();
+            this.vertexSource = vertexSource;
+            this.fragmentSource = fragmentSource;
+            vertexShader = gl.glCreateShader(GL_VERTEX_SHADER);
+            gl.glShaderSource(vertexShader, vertexSource);
+            gl.glCompileShader(vertexShader);
+            fragmentShader = gl.glCreateShader(GL_FRAGMENT_SHADER);
+            gl.glShaderSource(fragmentShader, fragmentSource);
+            gl.glCompileShader(fragmentShader);
+
+            program = gl.glCreateProgram();
+            if (useDiskCache()) {
+                gl.glProgramParameteri(program, GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL_TRUE);
+            }
+            gl.glAttachShader(program, vertexShader);
+            gl.glAttachShader(program, fragmentShader);
+            gl.glLinkProgram(program);
+        }
+
+        /**
+         * Whether the driver has finished, so {@link #finish()} will not block. Always true
+         * without parallel shader compile support; poll from the next frame on so drivers that
+         * compile in the background still get a frame before finish may block.
+         */
+        public boolean isComplete() {
+            if (done || !GLStateCache.backend().hasParallelShaderCompile()) return true;
+            int[] status = new int[1];
+            GLStateCache.backend().glGetProgramiv(program, GL_COMPLETION_STATUS_KHR, status);
+            return status[0] == GL_TRUE;
+        }
+
+        /**
+         * Register the program and take a reference to it, as acquireSource would.
+         * @throws RuntimeException with the compiler or linker log if the shaders are invalid
+         */
+        public int finish() {
+            if (done) throw new IllegalStateException("PendingProgram already finished");
+            done = true;
+            String key = key(vertexSource, fragmentSource);
+            Entry entry = byKey.get(key);
+            if (entry != null) {
+                // Same sources were registered meanwhile, e.g. a change that was reverted
+                discard();
+                entry.refCount++;
+                return entry.program;
+            }
+            int linked = link(this);
+            saveBinary(key, linked);
+            entry = new Entry(key, linked);
+            entry.refCount = 1;
+            byKey.put(key, entry);
+            byProgram.put(linked, entry);
+            return linked;
+        }
+
+        /**
+         * Drop the program without reading its result.
+         */
+        public void cancel() {
+            if (done) return;
+            done = true;
+            discard();
+        }
+
+        private void discard() {
+            RenderBackend gl = GLStateCache.backend();
+            gl.glDeleteShader(vertexShader);
+            gl.glDeleteShader(fragmentShader);
+            GLStateCache.deleteProgram(program);
+        }
+    }
+
+    /**
+     * Start compiling and linking a program without waiting for the driver. Poll
+     * {@link PendingProgram#isComplete()} once per frame and call finish when it returns true.
+     * Uses every compiler thread the driver offers when parallel shader compile is supported.
+     */
+    public static PendingProgram beginCompile(String vertexSource, String fragmentSource) {
+        RenderBackend gl = GLStateCache.backend();
+        if (!compilerThreadsSet && gl.hasParallelShaderCompile()) {
+            // 0xFFFFFFFF lets the driver pick its maximum
+            gl.glMaxShaderCompilerThreadsKHR(0xFFFFFFFF);
+            compilerThreadsSet = true;
+        }
+        return new PendingProgram(vertexSource, fragmentSource);
+    }
+
+    // Reads the results of a submitted program; the shaders are deleted either way
+    private static int link(PendingProgram pending) {
+        RenderBackend gl = GLStateCache.backend();
+        int[] status = new int[1];
+        String error = null;
+        gl.glGetShaderiv(pending.vertexShader, GL_COMPILE_STATUS, status);
+        if (status[0] == GL_FALSE) {
+            error = "Shader compilation failed: " + gl.glGetShaderInfoLog(pending.vertexShader);
+        } else {
+            gl.glGetShaderiv(pending.fragmentShader, GL_COMPILE_STATUS, status);
+            if (status[0] == GL_FALSE) {
+                error = "Shader compilation failed: " + gl.glGetShaderInfoLog(pending.fragmentShader);
+            } else {
+                gl.glGetProgramiv(pending.program, GL_LINK_STATUS, status);
+                if (status[0] == GL_FALSE) {
+                    error = "Shader program linking failed: " + gl.glGetProgramInfoLog(pending.program);
+                }
+            }
+        }
+        gl.glDeleteShader(pending.vertexShader);
+        gl.glDeleteShader(pending.fragmentShader);
+        if (error != null) {
+            GLStateCache.deleteProgram(pending.program);
+            throw new RuntimeException(error);
+        }
+        Log.checkGLErrorDetailed("ShaderProgramRegistry.link", "link");
+        compiles++;
+        return pending.program;
+    }
+
+    // --- Disk cache ---
+
+    private static boolean useDiskCache() {
+        return diskCacheEnabled && GLStateCache.backend().hasProgramBinary();
+    }
+
+    private static Path binaryPath(String key) {
+        return Paths.get(getAppdataPath() + CACHE_DIRECTORY + key + ".bin");
+    }
+
+    /**
+     * @return The program loaded from the cached binary, or 0 if there is none or it was rejected
+     */
+    private static int loadBinary(String key) {
+        if (!useDiskCache()) return 0;
+        Path path = binaryPath(key);
+        if (!Files.isRegularFile(path)) return 0;
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (IOException e) {
+            Log.warn("ShaderProgramRegistry: could not read " + path + ": " + e.getMessage());
+            return 0;
+        }
+        if (bytes.length <= 4) {
+            deleteBinary(path);
+            return 0;
+        }
+
+        // File layout: binary format as a big-endian int, then the driver's blob
+        int format = ByteBuffer.wrap(bytes).getInt();
+        ByteBuffer blob = BufferUtils.createByteBuffer(bytes.length - 4);
+        blob.put(bytes, 4, bytes.length - 4).flip();
+        RenderBackend gl = GLStateCache.backend();
+        int program = gl.glCreateProgram();
+        gl.glProgramBinary(program, format, blob);
+
+        int[] linked = new int[1];
+        gl.glGetProgramiv(program, GL_LINK_STATUS, linked);
+        // Drivers report an unusable binary as a link failure or, for an unknown format, a GL error
+        if (linked[0] == GL_FALSE || gl.glGetError() != GL_NO_ERROR) {
+            GLStateCache.deleteProgram(program);
+            rejectedBinaries++;
+            Log.info("ShaderProgramRegistry: cached binary " + key + " rejected by the driver, recompiling");
+            deleteBinary(path);
+            return 0;
+        }
+        binaryLoads++;
+        Log.debug("ShaderProgramRegistry: loaded program binary " + key);
+        return program;
+    }
+
+    private static void saveBinary(String key, int program) {
+        if (!useDiskCache()) return;
+        RenderBackend gl = GLStateCache.backend();
+        int[] length = new int[1];
+        gl.glGetProgramiv(program, GL_PROGRAM_BINARY_LENGTH, length);
+        if (length[0] <= 0) return;
+
+        ByteBuffer blob = BufferUtils.createByteBuffer(length[0]);
+        int[] written = new int[1];
+        int[] format = new int[1];
+        gl.glGetProgramBinary(program, written, format, blob);
+        if (written[0] <= 0) return;
+
+        byte[] bytes = new byte[4 + written[0]];
+        ByteBuffer.wrap(bytes).putInt(format[0]);
+        blob.get(bytes, 4, written[0]);
+        Path path = binaryPath(key);
+        try {
+            Files.createDirectories(path.getParent());
+            // Write then rename, so a crash mid-write never leaves a truncated binary behind
+            Path temp = path.resolveSibling(key + ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Log.warn("ShaderProgramRegistry: could not write " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static void deleteBinary(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            Log.warn("ShaderProgramRegistry: could not delete " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether program binaries are read from and written to disk. On by default; has no effect
+     * where the context does not support program binaries.
+     */
+    public static void setDiskCacheEnabled(boolean enabled) {
+        diskCacheEnabled = enabled;
+    }
+
+    // --- Stats ---
+
+    public static int getProgramCount() { return byKey.size(); }
+    public static int getBinaryLoadCount() { return binaryLoads; }
+    public static int getCompileCount() { return compiles; }
+    public static int getRejectedBinaryCount() { return rejectedBinaries; }
+
+    /**
+     * Delete every registered program, referenced or not. For shutdown.
+     */
+    public static void clear() {
+        for (Entry entry : byKey.values()) {
+            GLStateCache.deleteProgram(entry.program);
+        }
+        byKey.clear();
+        byProgram.clear();
+        driver = null;
+        compilerThreadsSet = false;
+    }
+}
@@ -0,0 +1,181 @@
+package com.codebyriley.Core.Rendering.Shaders;
+
+import com.codebyriley.Core.Rendering.GLStateCache;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.codebyriley.Util.Log;
+
+/**
+ * The #define permutations of one vertex/fragment shader pair. Each variant is compiled the
+ * first time it is asked for and kept until {@link #destroy()}, so renderers pick a
+ * specialised program per batch instead of branching on uniforms in the shader.
+ *
+ * Variants go through {@link ShaderProgramRegistry}, so sets over the same shaders share
+ * their programs and binaries. {@link #reload} swaps every variant for one compiled from new
+ * sources, see {@link ShaderHotReload}.
+ */
+public class ShaderVariantSet {
+    // Variant defines understood by the shaders in resources/shaders
+    public static final String TEXTURED = "TEXTURED";
+    public static final String UNTEXTURED = "UNTEXTURED";
+    public static final String ARRAY = "ARRAY";
+    public static final String GLYPH = "GLYPH";
+    public static final String SDF = "SDF";
+
+    /** One-time setup of a newly created variant, e.g. sampler units. The program is bound. */
+    public interface Setup {
+        void apply(int program);
+    }
+
+    // Live sets, for ShaderHotReload to find the ones using a changed file
+    private static final List<ShaderVariantSet> live = new ArrayList<>();
+
+    private final String vertexPath;
+    private final String fragmentPath;
+    private String vertexSource;
+    private String fragmentSource;
+    private final Setup setup;
+    private final Map<String, Integer> programs = new HashMap<>();
+    private final Map<String, List<String>> defines = new HashMap<>();
+    private final Map<String, ShaderProgramRegistry.PendingProgram> pending = new HashMap<>();
+
+    /**
+     * @param vertexPath: shader resource, e.g. "/shaders/BatchVertexShader.vert.glsl"
+     * @param setup: run once per variant after creation, or null
+     */
+    public ShaderVariantSet(String vertexPath, String fragmentPath, Setup setup) {
+        this.vertexPath = vertexPath;
+        this.fragmentPath = fragmentPath;
+        this.vertexSource = ShaderLoader.readShaderFromResource(vertexPath);
+        this.fragmentSource = ShaderLoader.readShaderFromResource(fragmentPath);
+        this.setup = setup;
+        live.add(this);
+    }
+
+    /**
+     * Program for a single define, compiled on first use.
+     * @throws RuntimeException if the variant fails to compile or link
+     */
+    public int get(String define) {
+        Integer program = programs.get(define);
+        if (program != null) return program;
+        return create(define, define);
+    }
+
+    /**
+     * Program for a combination of defines, in any order.
+     */
+    public int get(String... defines) {
+        String[] sorted = defines.clone();
+        Arrays.sort(sorted);
+        String key = String.join("+", sorted);
+        Integer program = programs.get(key);
+        if (program != null) return program;
+        return create(key, sorted);
+    }
+
+    private int create(String key, String... defines) {
+        List<String> list = Arrays.asList(defines);
+        int program = ShaderProgramRegistry.acquireSource(
+            ShaderLoader.applyDefines(vertexSource, list), ShaderLoader.applyDefines(fragmentSource, list));
+        programs.put(key, program);
+        this.defines.put(key, list);
+        applySetup(program);
+        Log.debug("ShaderVariantSet: created variant " + key + " (program " + program + ")");
+        return program;
+    }
+
+    private void applySetup(int program) {
+        if (setup != null) {
+            GLStateCache.useProgram(program);
+            setup.apply(program);
+        }
+    }
+
+    public String getVertexPath() {
+        return vertexPath;
+    }
+
+    public String getFragmentPath() {
+        return fragmentPath;
+    }
+
+    /**
+     * Start recompiling every variant from new sources without blocking. The current programs
+     * stay in use until {@link #pollReload()} swaps them in; a variant that fails to compile
+     * keeps its old program. Variants created meanwhile already use the new sources.
+     * @param vertexSource: new vertex source, or null to keep the current one
+     */
+    public void reload(String vertexSource, String fragmentSource) {
+        if (vertexSource != null) this.vertexSource = vertexSource;
+        if (fragmentSource != null) this.fragmentSource = fragmentSource;
+        for (Map.Entry<String, List<String>> entry : defines.entrySet()) {
+            ShaderProgramRegistry.PendingProgram previous = pending.remove(entry.getKey());
+            if (previous != null) previous.cancel();
+            pending.put(entry.getKey(), ShaderProgramRegistry.beginCompile(
+                ShaderLoader.applyDefines(this.vertexSource, entry.getValue()),
+                ShaderLoader.applyDefines(this.fragmentSource, entry.getValue())));
+        }
+    }
+
+    /**
+     * Swap in the variants whose reload has finished compiling. Call once per frame on the
+     * GL thread, outside of any batch.
+     * @return whether reloads are still pending
+     */
+    public boolean pollReload() {
+        var it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, ShaderProgramRegistry.PendingProgram> entry = it.next();
+            if (!entry.getValue().isComplete()) continue;
+            it.remove();
+            String key = entry.getKey();
+            int program;
+            try {
+                program = entry.getValue().finish();
+            } catch (RuntimeException e) {
+                Log.error("ShaderVariantSet: reload of " + fragmentPath + " [" + key + "] failed, keeping the old program", e);
+                continue;
+            }
+            Integer old = programs.put(key, program);
+            if (old != null && old == program) {
+                // Sources hashed to the program already in use
+                ShaderProgramRegistry.release(program);
+                continue;
+            }
+            applySetup(program);
+            if (old != null) ShaderProgramRegistry.release(old);
+            Log.info("ShaderVariantSet: reloaded " + fragmentPath + " [" + key + "] (program " + program + ")");
+        }
+        return !pending.isEmpty();
+    }
+
+    /** Sets that have not been destroyed. */
+    static List<ShaderVariantSet> getLiveSets() {
+        return live;
+    }
+
+    /** Variants created so far. */
+    public int getVariantCount() {
+        return programs.size();
+    }
+
+    /**
+     * Release every variant.
+     */
+    public void destroy() {
+        for (ShaderProgramRegistry.PendingProgram reload : pending.values()) {
+            reload.cancel();
+        }
+        pending.clear();
+        for (int program : programs.values()) {
+            ShaderProgramRegistry.release(program);
+        }
+        programs.clear();
+        defines.clear();
+        live.remove(this);
+    }
+}
@@ -0,0 +1,226 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.lwjgl.BufferUtils;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Util.Log;
+
+/**
+ * Quads recorded once into a GL_STATIC_DRAW buffer and redrawn every frame without re-uploading.
+ * Intended for backgrounds, level layouts and entities that do not move.
+ *
+ * Usage:
+ *   batch.begin(); batch.addQuad(...); ... batch.end();   // once, or after invalidate()
+ *   batch.draw(sceneRenderer, offsetX, offsetY);          // every frame
+ *
+ * Drawing uses the BatchedRenderer's shader and flushes its pending quads first, so static
+ * and dynamic geometry can be interleaved in one frame with draw order preserved.
+ * Each run of up to 15 distinct textures is one draw call.
+ */
+public class StaticBatch {
+    private static final int MAX_TEXTURES = BatchedRenderer.MAX_TEXTURES;
+    private static final int QUAD_VERTICES = 4;
+    private static final int QUAD_INDICES = 6;
+
+    /** A run of quads sharing one set of texture slots. */
+    private static class Segment {
+        int firstQuad;
+        int quadCount;
+        final int[] textures = new int[MAX_TEXTURES];
+        int textureCount = 1; // 0 is reserved for white texture
+    }
+
+    private final RenderBackend gl = GLStateCache.backend();
+    private final VertexFormat format;
+    private final int stride;
+    private int vao, vbo, ebo;
+    private ByteBuffer vertexData;
+    private int quadCount = 0;
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment currentSegment;
+    private boolean recording = false;
+    private boolean uploaded = false;
+
+    public StaticBatch() {
+        this(VertexFormat.STANDARD);
+    }
+
+    public StaticBatch(VertexFormat format) {
+        this.format = format;
+        this.stride = format.getStride(true);
+        vertexData = BufferUtils.createByteBuffer(64 * QUAD_VERTICES * stride);
+    }
+
+    /**
+     * Start recording. Discards any previously recorded quads.
+     */
+    public void begin() {
+        vertexData.clear();
+        quadCount = 0;
+        segments.clear();
+        currentSegment = null;
+        recording = true;
+        uploaded = false;
+    }
+
+    /**
+     * Record a quad. Same parameters as {@link BatchedRenderer#addQuad(float, float, float, float, float, float, float, float, float, float, float, float, int)}.
+     */
+    public void addQuad(float x, float y, float w, float h, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
+        addQuad(x, y, w, h, 0.0f, u1, v1, u2, v2, r, g, b, a, textureId);
+    }
+
+    /**
+     * Record a quad rotated about its center.
+     * @param rotation: rotation in radians
+     */
+    public void addQuad(float x, float y, float w, float h, float rotation, float u1, float v1, float u2, float v2, float r, float g, float b, float a, int textureId) {
+        if (!recording) {
+            Log.error("StaticBatch.addQuad: begin() must be called before adding quads");
+            return;
+        }
+        ensureCapacity();
+        int texIndex = getTextureSlot(textureId);
+        float hw = w * 0.5f, hh = h * 0.5f;
+        float cos = rotation == 0.0f ? 1.0f : (float) Math.cos(rotation);
+        float sin = rotation == 0.0f ? 0.0f : (float) Math.sin(rotation);
+
+        putVertex(-hw, -hh, x, y, cos, sin, r, g, b, a, u1, v1, texIndex); // bottom-left
+        putVertex( hw, -hh, x, y, cos, sin, r, g, b, a, u2, v1, texIndex); // bottom-right
+        putVertex( hw,  hh, x, y, cos, sin, r, g, b, a, u2, v2, texIndex); // top-right
+        putVertex(-hw,  hh, x, y, cos, sin, r, g, b, a, u1, v2, texIndex); // top-left
+        quadCount++;
+        currentSegment.quadCount++;
+    }
+
+    private void putVertex(float lx, float ly, float cx, float cy, float cos, float sin, float r, float g, float b, float a, float u, float v, int texIndex) {
+        format.put(vertexData, cx + lx * cos - ly * sin, cy + lx * sin + ly * cos, r, g, b, a, u, v, texIndex, true);
+    }
+
+    private void ensureCapacity() {
+        if (vertexData.remaining() >= QUAD_VERTICES * stride) return;
+        ByteBuffer larger = BufferUtils.createByteBuffer(vertexData.capacity() * 2);
+        vertexData.flip();
+        larger.put(vertexData);
+        vertexData = larger;
+    }
+
+    private int getTextureSlot(int textureId) {
+        if (currentSegment == null) startSegment();
+        if (textureId == 0) return 0;
+        for (int i = 1; i < currentSegment.textureCount; i++) {
+            if (currentSegment.textures[i] == textureId) return i;
+        }
+        if (currentSegment.textureCount >= MAX_TEXTURES) startSegment();
+        currentSegment.textures[currentSegment.textureCount] = textureId;
+        return currentSegment.textureCount++;
+    }
+
+    private void startSegment() {
+        currentSegment = new Segment();
+        currentSegment.firstQuad = quadCount;
+        segments.add(currentSegment);
+    }
+
+    /**
+     * Finish recording and upload the quads to the GPU.
+     */
+    public void end() {
+        if (!recording) return;
+        recording = false;
+        if (quadCount == 0) return;
+
+        if (vao == 0) {
+            vao = gl.glGenVertexArrays();
+            vbo = gl.glGenBuffers();
+            ebo = gl.glGenBuffers();
+            Log.checkGLErrorDetailed("StaticBatch.end", "glGen objects");
+        }
+        GLStateCache.bindVertexArray(vao);
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
+        vertexData.flip();
+        gl.glBufferData(GL_ARRAY_BUFFER, vertexData, GL_STATIC_DRAW);
+        Log.checkGLErrorDetailed("StaticBatch.end", "glBufferData ARRAY_BUFFER");
+
+        IntBuffer indices = BufferUtils.createIntBuffer(quadCount * QUAD_INDICES);
+        for (int i = 0; i < quadCount; i++) {
+            int offset = i * QUAD_VERTICES;
+            indices.put(offset).put(offset + 1).put(offset + 2)
+                   .put(offset + 2).put(offset + 3).put(offset);
+        }
+        indices.flip();
+        GLStateCache.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+        gl.glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+        Log.checkGLErrorDetailed("StaticBatch.end", "glBufferData ELEMENT_ARRAY_BUFFER");
+
+        format.setupAttributes(true);
+        Log.checkGLErrorDetailed("StaticBatch.end", "vertex attribute setup");
+        vertexData.clear();
+        uploaded = true;
+    }
+
+    /**
+     * Mark the recorded content as stale. {@link #isValid()} returns false until the batch
+     * is recorded again with begin()/addQuad()/end(); draw() does nothing meanwhile.
+     */
+    public void invalidate() {
+        uploaded = false;
+    }
+
+    public boolean isValid() {
+        return uploaded;
+    }
+
+    /**
+     * Draw the batch translated by (offsetX, offsetY), through the renderer's camera and parallax.
+     * @param renderer Dynamic renderer whose shader is reused; its pending quads are flushed first
+     */
+    public void draw(BatchedRenderer renderer, float offsetX, float offsetY) {
+        if (!uploaded) return;
+        int program = renderer.getShaderProgram();
+        if (program == 0) return;
+        renderer.flush();
+
+        GLStateCache.useProgram(program);
+        Camera2D.upload(renderer.getCamera(), renderer.getParallax(), GLStateCache.getUniformLocation(program, "uViewProjection"));
+        int offsetLocation = GLStateCache.getUniformLocation(program, "uOffset");
+        gl.glUniform2f(offsetLocation, offsetX, offsetY);
+        GLStateCache.bindVertexArray(vao);
+
+        int whiteTexture = renderer.getWhiteTexture();
+        for (Segment segment : segments) {
+            GLStateCache.bindTexture(0, GL_TEXTURE_2D, whiteTexture);
+            for (int i = 1; i < segment.textureCount; i++) {
+                GLStateCache.bindTexture(i, GL_TEXTURE_2D, segment.textures[i]);
+            }
+            gl.glDrawElements(GL_TRIANGLES, segment.quadCount * QUAD_INDICES, GL_UNSIGNED_INT,
+                (long) segment.firstQuad * QUAD_INDICES * Integer.BYTES);
+        }
+        Log.checkGLErrorDetailed("StaticBatch.draw", "glDrawElements");
+
+        // Dynamic batches share the program and expect no offset
+        gl.glUniform2f(offsetLocation, 0.0f, 0.0f);
+    }
+
+    public int getQuadCount() {
+        return quadCount;
+    }
+
+    /** Draw calls issued per draw(). */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public void destroy() {
+        GLStateCache.deleteVertexArray(vao);
+        GLStateCache.deleteBuffer(vbo);
+        GLStateCache.deleteBuffer(ebo);
+        vao = vbo = ebo = 0;
+        uploaded = false;
+    }
+}
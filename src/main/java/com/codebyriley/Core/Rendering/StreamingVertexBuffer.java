@@ -0,0 +1,228 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.ByteBuffer;
+import org.lwjgl.opengl.GL44;
+import org.lwjgl.system.MemoryUtil;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Util.Log;
+
+/**
+ * A ring of vertex regions inside a single VBO, used to stream batch data to the GPU
+ * without stalling on draws that are still in flight.
+ *
+ * Uploads are appended to the current region until it is full. The region is then
+ * fenced with glFenceSync and the ring moves on; a region is only written again once
+ * its fence has signalled. Many flushes per frame therefore share a region and never
+ * wait on the GPU unless the whole ring has been consumed.
+ *
+ * Three write strategies are supported:
+ * - PERSISTENT: immutable storage mapped once (GL 4.4 / ARB_buffer_storage)
+ * - UNSYNCHRONIZED: glMapBufferRange with GL_MAP_UNSYNCHRONIZED_BIT per upload
+ * - ORPHAN: glBufferSubData, re-specifying the storage each time the ring wraps
+ */
+public class StreamingVertexBuffer {
+
+    public enum Mode {
+        PERSISTENT,
+        UNSYNCHRONIZED,
+        ORPHAN
+    }
+
+    private static final long FENCE_TIMEOUT_NS = 1_000_000L; // 1ms per wait slice
+
+    private final RenderBackend gl = GLStateCache.backend();
+    private final int vbo;
+    private final int regionSize;
+    private final int regionCount;
+    private final long[] fences;
+    private Mode mode;
+    private boolean immutableStorage = false;
+    private ByteBuffer persistentMapping;
+
+    private int currentRegion = 0;
+    private int regionOffset = 0;
+
+    // Statistics
+    private int fenceWaitCount = 0;
+    private int orphanCount = 0;
+
+    /**
+     * Create a streaming buffer using the best mode the current context supports.
+     * @param regionSize Size of one ring region in bytes (must fit the largest single upload)
+     * @param regionCount Number of regions in the ring (3 = triple buffering)
+     */
+    public StreamingVertexBuffer(int regionSize, int regionCount) {
+        this(regionSize, regionCount, detectMode());
+    }
+
+    public StreamingVertexBuffer(int regionSize, int regionCount, Mode preferredMode) {
+        this.regionSize = regionSize;
+        this.regionCount = regionCount;
+        this.fences = new long[regionCount];
+        this.mode = preferredMode;
+
+        vbo = gl.glGenBuffers();
+        Log.checkGLErrorDetailed("StreamingVertexBuffer.constructor", "glGenBuffers");
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
+
+        long totalSize = (long) regionSize * regionCount;
+        if (mode == Mode.PERSISTENT) {
+            int flags = GL_MAP_WRITE_BIT | GL44.GL_MAP_PERSISTENT_BIT | GL44.GL_MAP_COHERENT_BIT;
+            gl.glBufferStorage(GL_ARRAY_BUFFER, totalSize, flags | GL44.GL_DYNAMIC_STORAGE_BIT);
+            Log.checkGLErrorDetailed("StreamingVertexBuffer.constructor", "glBufferStorage");
+            immutableStorage = true;
+            persistentMapping = gl.glMapBufferRange(GL_ARRAY_BUFFER, 0, totalSize, flags);
+            if (persistentMapping == null) {
+                Log.warn("StreamingVertexBuffer: persistent mapping failed, falling back to unsynchronized mapping");
+                mode = Mode.UNSYNCHRONIZED;
+            }
+        } else {
+            gl.glBufferData(GL_ARRAY_BUFFER, totalSize, GL_STREAM_DRAW);
+            Log.checkGLErrorDetailed("StreamingVertexBuffer.constructor", "glBufferData");
+        }
+
+        Log.info("StreamingVertexBuffer created: " + regionCount + " x " + regionSize + " bytes, mode=" + mode);
+    }
+
+    /**
+     * Pick the fastest streaming mode available on the current context.
+     */
+    public static Mode detectMode() {
+        if (GLStateCache.backend().hasBufferStorage()) {
+            return Mode.PERSISTENT;
+        }
+        return Mode.UNSYNCHRONIZED;
+    }
+
+    /**
+     * Copy the remaining bytes of data into the ring.
+     * Leaves the streaming VBO bound to GL_ARRAY_BUFFER.
+     * @return Byte offset of the uploaded data inside the VBO
+     */
+    public int upload(ByteBuffer data) {
+        int size = data.remaining();
+        if (size > regionSize) {
+            throw new IllegalArgumentException("Upload of " + size + " bytes exceeds streaming region size " + regionSize);
+        }
+
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
+        if (regionOffset + size > regionSize) {
+            advanceRegion();
+        }
+
+        int offset = currentRegion * regionSize + regionOffset;
+        switch (mode) {
+            case PERSISTENT:
+                MemoryUtil.memCopy(MemoryUtil.memAddress(data), MemoryUtil.memAddress(persistentMapping) + offset, size);
+                break;
+            case UNSYNCHRONIZED:
+                ByteBuffer mapped = gl.glMapBufferRange(GL_ARRAY_BUFFER, offset, size,
+                    GL_MAP_WRITE_BIT | GL_MAP_UNSYNCHRONIZED_BIT | GL_MAP_INVALIDATE_RANGE_BIT);
+                if (mapped != null) {
+                    // Bulk NIO copy; needs no native library, so it also runs on the recording backend
+                    mapped.put(data.duplicate());
+                    gl.glUnmapBuffer(GL_ARRAY_BUFFER);
+                    break;
+                }
+                Log.warn("StreamingVertexBuffer: glMapBufferRange failed, falling back to orphaning");
+                mode = Mode.ORPHAN;
+                gl.glBufferSubData(GL_ARRAY_BUFFER, offset, data);
+                break;
+            case ORPHAN:
+            default:
+                gl.glBufferSubData(GL_ARRAY_BUFFER, offset, data);
+                break;
+        }
+        Log.checkGLErrorDetailed("StreamingVertexBuffer.upload", mode.name());
+
+        regionOffset += size;
+        return offset;
+    }
+
+    /**
+     * Retire the current region and move to the next one in the ring,
+     * waiting for the GPU only if that region is still in use.
+     */
+    private void advanceRegion() {
+        boolean orphaning = mode == Mode.ORPHAN && !immutableStorage;
+        if (!orphaning) {
+            fences[currentRegion] = gl.glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        }
+
+        currentRegion = (currentRegion + 1) % regionCount;
+        regionOffset = 0;
+
+        if (orphaning) {
+            if (currentRegion == 0) {
+                gl.glBufferData(GL_ARRAY_BUFFER, (long) regionSize * regionCount, GL_STREAM_DRAW);
+                orphanCount++;
+            }
+        } else {
+            waitForRegion(currentRegion);
+        }
+    }
+
+    private void waitForRegion(int region) {
+        long fence = fences[region];
+        if (fence == 0) return;
+
+        int status = gl.glClientWaitSync(fence, 0, 0);
+        if (status == GL_TIMEOUT_EXPIRED) {
+            fenceWaitCount++;
+            do {
+                status = gl.glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NS);
+            } while (status == GL_TIMEOUT_EXPIRED);
+        }
+        if (status == GL_WAIT_FAILED) {
+            Log.error("StreamingVertexBuffer.waitForRegion: glClientWaitSync failed for region " + region);
+        }
+
+        gl.glDeleteSync(fence);
+        fences[region] = 0;
+    }
+
+    public int getBufferId() {
+        return vbo;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Number of times the CPU had to block on a fence because the ring was exhausted.
+     * A steadily increasing value means the ring should be larger.
+     */
+    public int getFenceWaitCount() {
+        return fenceWaitCount;
+    }
+
+    /**
+     * Number of times the storage was orphaned (ORPHAN mode only).
+     */
+    public int getOrphanCount() {
+        return orphanCount;
+    }
+
+    public void resetStats() {
+        fenceWaitCount = 0;
+        orphanCount = 0;
+    }
+
+    public void destroy() {
+        for (int i = 0; i < regionCount; i++) {
+            if (fences[i] != 0) {
+                gl.glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+        }
+        if (persistentMapping != null) {
+            GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
+            gl.glUnmapBuffer(GL_ARRAY_BUFFER);
+            persistentMapping = null;
+        }
+        GLStateCache.deleteBuffer(vbo);
+    }
+}
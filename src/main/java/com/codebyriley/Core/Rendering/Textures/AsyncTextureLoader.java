@@ -0,0 +1,244 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.codebyriley.Util.Log;
+
+/**
+ * Loads textures without stalling the render thread.
+ *
+ * Reading and stb decoding run on a small pool of daemon worker threads. Decoded images are
+ * queued for the GL thread, where {@link #ProcessUploads(float)} copies them into a pixel
+ * unpack buffer (orphaned per upload) and issues glTexImage2D from it, so the driver can
+ * transfer the pixels asynchronously. Uploads are spread across frames by a millisecond budget.
+ *
+ * Requests and uploads must be made on the GL thread. Until a texture is uploaded its handle's
+ * Texture shows a shared 1x1 placeholder; the request for a path already in flight returns the
+ * same handle.
+ */
+public class AsyncTextureLoader {
+    private static final int WORKER_COUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static class DecodedImage {
+        final TextureHandle handle;
+        final ByteBuffer pixels; // stb allocation, freed after upload
+        final int width, height;
+        final KtxTextureLoader.Transcoded ktx; // Set instead of pixels for .ktx2 sources
+        final String error;
+
+        DecodedImage(TextureHandle handle, ByteBuffer pixels, int width, int height, String error) {
+            this(handle, pixels, width, height, null, error);
+        }
+
+        DecodedImage(TextureHandle handle, ByteBuffer pixels, int width, int height, KtxTextureLoader.Transcoded ktx, String error) {
+            this.handle = handle;
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.ktx = ktx;
+            this.error = error;
+        }
+
+        void free() {
+            if (pixels != null) STBImage.stbi_image_free(pixels);
+            if (ktx != null) ktx.destroy();
+        }
+    }
+
+    private static ExecutorService workers;
+    private static final ConcurrentLinkedQueue<DecodedImage> decoded = new ConcurrentLinkedQueue<>();
+    private static final Map<String, TextureHandle> pending = new HashMap<>();
+    private static int placeholderId = 0;
+    private static int unpackBuffer = 0;
+    private static int lastUploadCount = 0;
+
+    /**
+     * Start loading a texture from a resource path with linear filtering and mipmaps, the same
+     * settings as TextureLoader.LoadTexture. KTX2 sources (see TextureLoader.ResolvePath) are
+     * transcoded on the worker and keep their stored mip chain.
+     */
+    public static TextureHandle LoadTextureAsync(String path) {
+        TextureHandle existing = pending.get(path);
+        if (existing != null && !existing.isCancelled()) {
+            return existing;
+        }
+        if (placeholderId == 0) {
+            placeholderId = TextureUtils.createColoredTexture(128, 128, 128, 255);
+        }
+        if (workers == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(WORKER_COUNT, runnable -> {
+                Thread thread = new Thread(runnable, "TextureDecode-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        String source = TextureLoader.ResolvePath(path);
+        // Chosen here because it needs the GL context; the worker only transcodes to it
+        KtxTextureLoader.Target target = KtxTextureLoader.IsKtx2(source) ? KtxTextureLoader.selectTarget() : null;
+        TextureHandle handle = new TextureHandle(path, new Texture(placeholderId, 1, 1, path));
+        pending.put(path, handle);
+        workers.execute(() -> decoded.add(decode(handle, source, target)));
+        return handle;
+    }
+
+    // Worker thread: no GL and no logging here, failures are reported from the GL thread
+    private static DecodedImage decode(TextureHandle handle, String source, KtxTextureLoader.Target target) {
+        if (handle.isCancelled()) {
+            return new DecodedImage(handle, null, 0, 0, null);
+        }
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            ByteBuffer file = TextureLoader.loadImageResource(source);
+            if (target != null) {
+                return new DecodedImage(handle, null, 0, 0, KtxTextureLoader.transcode(file, source, target), null);
+            }
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(file, width, height, channels, 4);
+            if (pixels == null) {
+                return new DecodedImage(handle, null, 0, 0, "Failed to decode texture: " + handle.getPath()
+                    + " - " + STBImage.stbi_failure_reason());
+            }
+            return new DecodedImage(handle, pixels, width.get(0), height.get(0), null);
+        } catch (RuntimeException e) {
+            return new DecodedImage(handle, null, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Upload decoded textures until the budget is spent. At least one texture is uploaded per
+     * call when any are waiting, so loading always makes progress. Call once per frame on the
+     * GL thread.
+     * @return Number of textures uploaded
+     */
+    public static int ProcessUploads(float budgetMs) {
+        lastUploadCount = 0;
+        if (decoded.isEmpty()) return 0;
+        long deadline = System.nanoTime() + (long) (budgetMs * 1_000_000L);
+        DecodedImage image;
+        while ((image = decoded.poll()) != null) {
+            TextureHandle handle = image.handle;
+            if (pending.get(handle.getPath()) == handle) {
+                pending.remove(handle.getPath());
+            }
+            if (image.error != null) {
+                Log.error("AsyncTextureLoader: " + image.error);
+                handle.getFuture().completeExceptionally(new RuntimeException(image.error));
+            } else if (image.ktx != null) {
+                if (!handle.isCancelled()) {
+                    try {
+                        // Frees the transcoded data
+                        KtxTextureLoader.upload(image.ktx, handle.getTexture(), GL_LINEAR_MIPMAP_LINEAR, GL_LINEAR);
+                        handle.getFuture().complete(handle.getTexture());
+                        lastUploadCount++;
+                    } catch (RuntimeException e) {
+                        Log.error("AsyncTextureLoader: " + e.getMessage());
+                        handle.getFuture().completeExceptionally(e);
+                    }
+                } else {
+                    image.free();
+                }
+            } else if (image.pixels != null) {
+                if (!handle.isCancelled()) {
+                    upload(handle.getTexture(), image);
+                    handle.getFuture().complete(handle.getTexture());
+                    lastUploadCount++;
+                }
+                image.free();
+            }
+            if (System.nanoTime() >= deadline) break;
+        }
+        return lastUploadCount;
+    }
+
+    private static void upload(Texture texture, DecodedImage image) {
+        int size = image.width * image.height * 4;
+        if (unpackBuffer == 0) {
+            unpackBuffer = glGenBuffers();
+        }
+        // Orphan the previous storage so a transfer still in flight is not waited on
+        GLStateCache.bindBuffer(GL_PIXEL_UNPACK_BUFFER, unpackBuffer);
+        glBufferData(GL_PIXEL_UNPACK_BUFFER, size, GL_STREAM_DRAW);
+        ByteBuffer mapped = glMapBufferRange(GL_PIXEL_UNPACK_BUFFER, 0, size, GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_BUFFER_BIT);
+        if (mapped != null) {
+            MemoryUtil.memCopy(MemoryUtil.memAddress(image.pixels), MemoryUtil.memAddress(mapped), size);
+            glUnmapBuffer(GL_PIXEL_UNPACK_BUFFER);
+        } else {
+            glBufferSubData(GL_PIXEL_UNPACK_BUFFER, 0, image.pixels);
+        }
+        Log.checkGLErrorDetailed("AsyncTextureLoader.upload", "fill unpack buffer");
+
+        int id = glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, id);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_REPEAT);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, image.width, image.height, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0L);
+        glGenerateMipmap(GL_TEXTURE_2D);
+        GLStateCache.bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
+        Log.checkGLErrorDetailed("AsyncTextureLoader.upload", "glTexImage2D");
+
+        texture.mId = id;
+        texture.mWidth = image.width;
+        texture.mHeight = image.height;
+        Log.info("Loaded texture: " + texture.mPath + " (" + texture.mWidth + "x" + texture.mHeight + ", async)");
+    }
+
+    /**
+     * @return Whether the id is the shared placeholder shown while textures load
+     */
+    public static boolean IsPlaceholder(int textureId) {
+        return textureId != 0 && textureId == placeholderId;
+    }
+
+    /** Requests not yet uploaded, including those still decoding. */
+    public static int GetPendingCount() {
+        return pending.size();
+    }
+
+    public static int GetLastUploadCount() {
+        return lastUploadCount;
+    }
+
+    /**
+     * Stop the workers and free everything still queued and the shared GL objects.
+     */
+    public static void Shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+        for (TextureHandle handle : pending.values()) {
+            handle.cancel();
+        }
+        pending.clear();
+        DecodedImage image;
+        while ((image = decoded.poll()) != null) {
+            image.free();
+        }
+        if (unpackBuffer != 0) {
+            GLStateCache.deleteBuffer(unpackBuffer);
+            unpackBuffer = 0;
+        }
+        if (placeholderId != 0) {
+            GLStateCache.deleteTexture(placeholderId);
+            placeholderId = 0;
+        }
+    }
+}
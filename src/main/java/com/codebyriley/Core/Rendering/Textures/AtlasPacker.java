@@ -0,0 +1,240 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import com.codebyriley.Util.Log;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Offline sprite atlas builder. Packs every .png of the given resource directories into as few
+ * pages as possible with {@link MaxRectsPacker} and writes the pages plus a JSON index that
+ * {@link TextureAtlas} reads at runtime.
+ *
+ * Usage:
+ *   AtlasPacker [--size=N] [--padding=N] resourceRoot outputName directory...
+ *   e.g. src/main/resources atlases/atlas textures/ships textures/ui
+ * writes atlases/atlas.json and atlases/atlas_0.png, ... under resourceRoot. Region keys are the
+ * sprite paths relative to resourceRoot, the same paths passed to TextureLoader.
+ *
+ * Each sprite gets a border of padding pixels filled by repeating its edge pixels, so linear
+ * filtering at region edges does not pick up neighbouring sprites.
+ *
+ * Runs without a GL context; see the pack-atlas profile in pom.xml.
+ */
+public class AtlasPacker {
+    private static final int DEFAULT_PAGE_SIZE = 1024;
+    private static final int DEFAULT_PADDING = 2;
+
+    private static class Sprite {
+        final String path;
+        final BufferedImage image;
+        int page = -1;
+        int x, y;
+
+        Sprite(String path, BufferedImage image) {
+            this.path = path;
+            this.image = image;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int pageSize = DEFAULT_PAGE_SIZE;
+        int padding = DEFAULT_PADDING;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--size=")) {
+                pageSize = Integer.parseInt(arg.substring("--size=".length()));
+            } else if (arg.startsWith("--padding=")) {
+                padding = Integer.parseInt(arg.substring("--padding=".length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() < 3) {
+            System.err.println("Usage: AtlasPacker [--size=N] [--padding=N] resourceRoot outputName directory...");
+            System.exit(1);
+        }
+        pack(Paths.get(positional.get(0)), positional.get(1), positional.subList(2, positional.size()), pageSize, padding);
+    }
+
+    /**
+     * Pack the sprites and write the pages and index under resourceRoot.
+     * @param outputName: resource path of the output without extension, e.g. "atlases/atlas"
+     * @param directories: resource directories whose .png files are packed (not recursive)
+     * @param pageSize: maximum page width and height; pages use the smallest power-of-two size that fits
+     */
+    public static void pack(Path resourceRoot, String outputName, List<String> directories, int pageSize, int padding) throws IOException {
+        List<Sprite> sprites = new ArrayList<>();
+        for (String directory : directories) {
+            for (String path : listPngs(resourceRoot, directory)) {
+                BufferedImage image = ImageIO.read(resourceRoot.resolve(path).toFile());
+                if (image == null) {
+                    throw new IOException("Unsupported image: " + path);
+                }
+                sprites.add(new Sprite(path, image));
+            }
+        }
+        if (sprites.isEmpty()) {
+            throw new IOException("No .png files found in " + directories);
+        }
+
+        // Largest first packs tightest; path keeps the output stable between runs
+        List<Sprite> order = new ArrayList<>(sprites);
+        order.sort(Comparator.<Sprite>comparingInt(s -> Math.max(s.image.getWidth(), s.image.getHeight())).reversed()
+            .thenComparing(Comparator.<Sprite>comparingInt(s -> s.image.getWidth() * s.image.getHeight()).reversed())
+            .thenComparing(s -> s.path));
+
+        List<MaxRectsPacker> pages = new ArrayList<>();
+        for (Sprite sprite : order) {
+            if (sprite.image.getWidth() + padding * 2 > pageSize || sprite.image.getHeight() + padding * 2 > pageSize) {
+                throw new IOException("Sprite " + sprite.path + " does not fit in a " + pageSize + "x" + pageSize + " page");
+            }
+        }
+        List<Sprite> remaining = order;
+        while (!remaining.isEmpty()) {
+            MaxRectsPacker packer = packPage(remaining, pages.size(), pageSize, padding);
+            pages.add(packer);
+            remaining = remaining.stream().filter(s -> s.page < 0).collect(Collectors.toList());
+        }
+
+        TextureAtlas.Index index = new TextureAtlas.Index();
+        index.padding = padding;
+        index.pages = new ArrayList<>();
+        index.regions = new TreeMap<>();
+        Files.createDirectories(resourceRoot.resolve(outputName).getParent());
+        for (int page = 0; page < pages.size(); page++) {
+            MaxRectsPacker packer = pages.get(page);
+            int width = packer.getBinWidth();
+            int height = packer.getBinHeight();
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            for (Sprite sprite : sprites) {
+                if (sprite.page == page) blit(sprite, image, padding);
+            }
+
+            TextureAtlas.Page entry = new TextureAtlas.Page();
+            entry.file = outputName + "_" + page + ".png";
+            entry.width = width;
+            entry.height = height;
+            index.pages.add(entry);
+            ImageIO.write(image, "png", resourceRoot.resolve(entry.file).toFile());
+            Log.info("AtlasPacker: wrote " + entry.file + " (" + width + "x" + height + ")");
+        }
+        for (Sprite sprite : sprites) {
+            TextureAtlas.Region region = new TextureAtlas.Region();
+            region.page = sprite.page;
+            region.x = sprite.x;
+            region.y = sprite.y;
+            region.width = sprite.image.getWidth();
+            region.height = sprite.image.getHeight();
+            index.regions.put(sprite.path, region);
+        }
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(resourceRoot.resolve(outputName + ".json"), StandardCharsets.UTF_8)) {
+            gson.toJson(index, writer);
+        }
+        Log.info("AtlasPacker: packed " + sprites.size() + " sprites into " + pages.size() + " page(s), index " + outputName + ".json");
+    }
+
+    /**
+     * Pack as many sprites as possible into one page. Bins start at the smallest power of two
+     * holding the largest sprite and double alternately in width and height until everything
+     * fits or the page size is reached, so small sets end up on small pages.
+     */
+    private static MaxRectsPacker packPage(List<Sprite> sprites, int page, int pageSize, int padding) {
+        int width = 1, height = 1;
+        for (Sprite sprite : sprites) {
+            width = Math.max(width, nextPowerOfTwo(sprite.image.getWidth() + padding * 2));
+            height = Math.max(height, nextPowerOfTwo(sprite.image.getHeight() + padding * 2));
+        }
+        width = Math.min(width, pageSize);
+        height = Math.min(height, pageSize);
+        while (true) {
+            MaxRectsPacker packer = new MaxRectsPacker(width, height);
+            boolean full = width >= pageSize && height >= pageSize;
+            boolean allFit = true;
+            for (Sprite sprite : sprites) {
+                int[] position = packer.insert(sprite.image.getWidth() + padding * 2, sprite.image.getHeight() + padding * 2);
+                if (position == null) {
+                    allFit = false;
+                    if (!full) break;
+                    continue;
+                }
+                if (full) {
+                    sprite.page = page;
+                    sprite.x = position[0] + padding;
+                    sprite.y = position[1] + padding;
+                }
+            }
+            if (allFit && !full) {
+                // Place again now that the size is known to fit
+                packer = new MaxRectsPacker(width, height);
+                for (Sprite sprite : sprites) {
+                    int[] position = packer.insert(sprite.image.getWidth() + padding * 2, sprite.image.getHeight() + padding * 2);
+                    sprite.page = page;
+                    sprite.x = position[0] + padding;
+                    sprite.y = position[1] + padding;
+                }
+                return packer;
+            }
+            if (full) return packer;
+            if (width <= height && width < pageSize) {
+                width = Math.min(pageSize, width * 2);
+            } else {
+                height = Math.min(pageSize, height * 2);
+            }
+        }
+    }
+
+    private static List<String> listPngs(Path resourceRoot, String directory) throws IOException {
+        Path dir = resourceRoot.resolve(directory);
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("Sprite directory not found: " + dir);
+        }
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.map(p -> p.getFileName().toString())
+                .filter(name -> name.endsWith(".png"))
+                .sorted()
+                .map(name -> directory + "/" + name)
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Copy the sprite into the page and extend its edge pixels into the padding border.
+     */
+    private static void blit(Sprite sprite, BufferedImage page, int padding) {
+        int width = sprite.image.getWidth();
+        int height = sprite.image.getHeight();
+        int[] pixels = sprite.image.getRGB(0, 0, width, height, null, 0, width);
+        int paddedWidth = width + padding * 2;
+        int[] row = new int[paddedWidth];
+        for (int py = -padding; py < height + padding; py++) {
+            int sy = Math.min(height - 1, Math.max(0, py));
+            for (int px = -padding; px < width + padding; px++) {
+                int sx = Math.min(width - 1, Math.max(0, px));
+                row[px + padding] = pixels[sy * width + sx];
+            }
+            page.setRGB(sprite.x - padding, sprite.y + py, paddedWidth, 1, row, 0, paddedWidth);
+        }
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        int power = 1;
+        while (power < value) power <<= 1;
+        return power;
+    }
+}
@@ -0,0 +1,203 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import static org.lwjgl.util.ktx.KTX.*;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.util.ktx.ktxTexture;
+import org.lwjgl.util.ktx.ktxTexture2;
+import org.lwjgl.util.ktx.ktxTextureCreateInfo;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import com.codebyriley.Util.Log;
+
+/**
+ * Offline texture converter. Writes a Basis Universal (ETC1S) .ktx2 next to every .png under
+ * the given resource directories, with a full box-filtered mip chain, and reports the file and
+ * estimated VRAM sizes before and after. TextureLoader picks the .ktx2 up in place of the .png
+ * (see TextureLoader.SetPreferKtx2) and transcodes it to BC7, BC3 or ETC2 at load time.
+ *
+ * Usage:
+ *   Ktx2Converter [--quality=N] [--force] resourceRoot directory...
+ *   e.g. src/main/resources textures
+ * Directories are searched recursively. PNGs whose .ktx2 is newer are skipped unless --force.
+ * Quality runs from 1 to 255; higher is slower and larger.
+ *
+ * Runs without a GL context; see the convert-ktx2 profile in pom.xml.
+ */
+public class Ktx2Converter {
+    private static final int DEFAULT_QUALITY = 128;
+    private static final int VK_FORMAT_R8G8B8A8_UNORM = 37;
+
+    public static void main(String[] args) throws IOException {
+        int quality = DEFAULT_QUALITY;
+        boolean force = false;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--quality=")) {
+                quality = Integer.parseInt(arg.substring("--quality=".length()));
+            } else if (arg.equals("--force")) {
+                force = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() < 2) {
+            System.err.println("Usage: Ktx2Converter [--quality=N] [--force] resourceRoot directory...");
+            System.exit(1);
+        }
+        convert(Paths.get(positional.get(0)), positional.subList(1, positional.size()), quality, force);
+    }
+
+    /**
+     * Convert every .png under the directories and log a size report.
+     * @param directories: resource directories, searched recursively
+     */
+    public static void convert(Path resourceRoot, List<String> directories, int quality, boolean force) throws IOException {
+        long pngBytes = 0, ktxBytes = 0;
+        long rgbaVram = 0, compressedVram = 0;
+        int converted = 0, skipped = 0;
+        for (String directory : directories) {
+            for (Path png : listPngs(resourceRoot.resolve(directory))) {
+                Path ktx2 = siblingKtx2(png);
+                String name = resourceRoot.relativize(png).toString().replace('\\', '/');
+                if (!force && Files.exists(ktx2) && Files.getLastModifiedTime(ktx2).compareTo(Files.getLastModifiedTime(png)) >= 0) {
+                    skipped++;
+                    continue;
+                }
+                BufferedImage image = ImageIO.read(png.toFile());
+                if (image == null) {
+                    throw new IOException("Unsupported image: " + name);
+                }
+                write(image, ktx2, quality);
+
+                long before = Files.size(png);
+                long after = Files.size(ktx2);
+                // Mipmapped RGBA8 against the 1 byte per pixel of BC7, BC3 and ETC2 RGBA
+                long pixels = (long) image.getWidth() * image.getHeight();
+                long rgba = pixels * 4 * 4 / 3;
+                long compressed = pixels * 4 / 3;
+                pngBytes += before;
+                ktxBytes += after;
+                rgbaVram += rgba;
+                compressedVram += compressed;
+                converted++;
+                Log.info("Ktx2Converter: " + name + " (" + image.getWidth() + "x" + image.getHeight() + ") file "
+                    + before / 1024 + " KB -> " + after / 1024 + " KB, VRAM " + rgba / 1024 + " KB -> " + compressed / 1024 + " KB");
+            }
+        }
+        Log.info("Ktx2Converter: converted " + converted + " texture(s), skipped " + skipped + " up to date");
+        if (converted > 0) {
+            Log.info("Ktx2Converter: files " + pngBytes / 1024 + " KB -> " + ktxBytes / 1024 + " KB, VRAM "
+                + rgbaVram / 1024 + " KB -> " + compressedVram / 1024 + " KB (" + (rgbaVram - compressedVram) / 1024 + " KB saved)");
+        }
+    }
+
+    private static void write(BufferedImage image, Path output, int quality) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+
+        ktxTexture2 texture;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            ktxTextureCreateInfo info = ktxTextureCreateInfo.calloc(stack)
+                .vkFormat(VK_FORMAT_R8G8B8A8_UNORM)
+                .baseWidth(width)
+                .baseHeight(height)
+                .baseDepth(1)
+                .numDimensions(2)
+                .numLevels(levels)
+                .numLayers(1)
+                .numFaces(1)
+                .isArray(false)
+                .generateMipmaps(false);
+            PointerBuffer out = stack.mallocPointer(1);
+            check(ktxTexture2_Create(info, KTX_TEXTURE_CREATE_ALLOC_STORAGE, out), "create", output);
+            texture = ktxTexture2.create(out.get(0));
+        }
+        ktxTexture base = ktxTexture.create(texture.address());
+        try {
+            int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+            int levelWidth = width, levelHeight = height;
+            for (int level = 0; level < levels; level++) {
+                if (level > 0) {
+                    int nextWidth = Math.max(1, levelWidth / 2);
+                    int nextHeight = Math.max(1, levelHeight / 2);
+                    argb = downsample(argb, levelWidth, levelHeight, nextWidth, nextHeight);
+                    levelWidth = nextWidth;
+                    levelHeight = nextHeight;
+                }
+                ByteBuffer rgba = MemoryUtil.memAlloc(levelWidth * levelHeight * 4);
+                try {
+                    for (int pixel : argb) {
+                        rgba.put((byte) (pixel >> 16)).put((byte) (pixel >> 8)).put((byte) pixel).put((byte) (pixel >>> 24));
+                    }
+                    rgba.flip();
+                    check(ktxTexture_SetImageFromMemory(base, level, 0, 0, rgba), "set level " + level, output);
+                } finally {
+                    MemoryUtil.memFree(rgba);
+                }
+            }
+            check(ktxTexture2_CompressBasis(texture, Math.max(1, Math.min(255, quality))), "compress", output);
+            check(ktxWriteToNamedFile(base, output.toString()), "write", output);
+        } finally {
+            ktxTexture_Destroy(base);
+        }
+    }
+
+    /**
+     * Average each 2x2 block (clamped at odd edges) into one pixel of the next level.
+     */
+    private static int[] downsample(int[] argb, int width, int height, int nextWidth, int nextHeight) {
+        int[] next = new int[nextWidth * nextHeight];
+        for (int y = 0; y < nextHeight; y++) {
+            int y0 = Math.min(height - 1, y * 2);
+            int y1 = Math.min(height - 1, y * 2 + 1);
+            for (int x = 0; x < nextWidth; x++) {
+                int x0 = Math.min(width - 1, x * 2);
+                int x1 = Math.min(width - 1, x * 2 + 1);
+                int p0 = argb[y0 * width + x0], p1 = argb[y0 * width + x1];
+                int p2 = argb[y1 * width + x0], p3 = argb[y1 * width + x1];
+                int pixel = 0;
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int sum = ((p0 >>> shift) & 0xFF) + ((p1 >>> shift) & 0xFF) + ((p2 >>> shift) & 0xFF) + ((p3 >>> shift) & 0xFF);
+                    pixel |= ((sum + 2) / 4) << shift;
+                }
+                next[y * nextWidth + x] = pixel;
+            }
+        }
+        return next;
+    }
+
+    private static void check(int result, String step, Path output) throws IOException {
+        if (result != KTX_SUCCESS) {
+            throw new IOException("Ktx2Converter: failed to " + step + " " + output + " - " + ktxErrorString(result));
+        }
+    }
+
+    private static Path siblingKtx2(Path png) {
+        String name = png.getFileName().toString();
+        return png.resolveSibling(name.substring(0, name.length() - 4) + ".ktx2");
+    }
+
+    private static List<Path> listPngs(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("Texture directory not found: " + dir);
+        }
+        try (Stream<Path> stream = Files.walk(dir)) {
+            return stream.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().toLowerCase().endsWith(".png"))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+}
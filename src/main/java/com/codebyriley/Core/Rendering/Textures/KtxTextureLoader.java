@@ -0,0 +1,253 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import static org.lwjgl.opengl.GL33.*;
+import static org.lwjgl.util.ktx.KTX.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.opengl.EXTTextureCompressionS3TC;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL42;
+import org.lwjgl.opengl.GL43;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.util.ktx.ktxTexture;
+import org.lwjgl.util.ktx.ktxTexture2;
+
+import java.nio.ByteBuffer;
+import com.codebyriley.Util.Log;
+
+/**
+ * Loads KTX2 textures through libktx. Basis Universal payloads are transcoded to the best
+ * block format the context supports (BC7, then BC3, then ETC2, else uncompressed RGBA8);
+ * KTX2 files already holding one of those formats are uploaded as-is. The mip chain stored
+ * in the file is uploaded level by level, so nothing is generated on the GPU unless the file
+ * has a single level.
+ *
+ * Transcoding ({@link #transcode}) touches no GL and may run on a worker thread; the target
+ * format must be chosen on the GL thread first with {@link #selectTarget()}.
+ */
+public class KtxTextureLoader {
+    // VkFormat values found in KTX2 headers
+    private static final int VK_FORMAT_R8G8B8A8_UNORM = 37;
+    private static final int VK_FORMAT_R8G8B8A8_SRGB = 43;
+    private static final int VK_FORMAT_BC3_UNORM_BLOCK = 137;
+    private static final int VK_FORMAT_BC3_SRGB_BLOCK = 138;
+    private static final int VK_FORMAT_BC7_UNORM_BLOCK = 145;
+    private static final int VK_FORMAT_BC7_SRGB_BLOCK = 146;
+    private static final int VK_FORMAT_ETC2_R8G8B8A8_UNORM_BLOCK = 151;
+    private static final int VK_FORMAT_ETC2_R8G8B8A8_SRGB_BLOCK = 152;
+
+    /** GPU formats KTX2 images end up in. sRGB sources are uploaded as linear, like PNGs. */
+    public enum Target {
+        BC7(KTX_TTF_BC7_RGBA, GL42.GL_COMPRESSED_RGBA_BPTC_UNORM, true),
+        BC3(KTX_TTF_BC3_RGBA, EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT, true),
+        ETC2(KTX_TTF_ETC2_RGBA, GL43.GL_COMPRESSED_RGBA8_ETC2_EAC, true),
+        RGBA8(KTX_TTF_RGBA32, GL_RGBA8, false);
+
+        final int transcodeFormat;
+        final int glInternalFormat;
+        final boolean compressed;
+
+        Target(int transcodeFormat, int glInternalFormat, boolean compressed) {
+            this.transcodeFormat = transcodeFormat;
+            this.glInternalFormat = glInternalFormat;
+            this.compressed = compressed;
+        }
+    }
+
+    /** A decoded KTX2 texture waiting for upload. Owns the libktx texture until uploaded. */
+    static class Transcoded {
+        final String path;
+        final ktxTexture2 texture;
+        final Target format;
+
+        Transcoded(String path, ktxTexture2 texture, Target format) {
+            this.path = path;
+            this.texture = texture;
+            this.format = format;
+        }
+
+        void destroy() {
+            ktxTexture_Destroy(ktxTexture.create(texture.address()));
+        }
+    }
+
+    private static Target target;
+    private static long uploadedBytes = 0;
+    private static long rgbaEquivalentBytes = 0;
+
+    public static boolean IsKtx2(String path) {
+        return path != null && path.toLowerCase().endsWith(".ktx2");
+    }
+
+    /**
+     * Best transcode target for the current context. Call on the GL thread; the result is cached.
+     */
+    public static Target selectTarget() {
+        if (target == null) {
+            GLCapabilities caps = GL.getCapabilities();
+            if (caps.OpenGL42 || caps.GL_ARB_texture_compression_bptc) {
+                target = Target.BC7;
+            } else if (caps.GL_EXT_texture_compression_s3tc) {
+                target = Target.BC3;
+            } else if (caps.OpenGL43 || caps.GL_ARB_ES3_compatibility) {
+                target = Target.ETC2;
+            } else {
+                target = Target.RGBA8;
+            }
+            Log.info("KtxTextureLoader: transcoding KTX2 textures to " + target);
+        }
+        return target;
+    }
+
+    /**
+     * Load a KTX2 resource synchronously with trilinear filtering.
+     */
+    public static Texture LoadKtx2(String path) {
+        return LoadKtx2(path, GL_LINEAR_MIPMAP_LINEAR, GL_LINEAR);
+    }
+
+    public static Texture LoadKtx2(String path, int minFilter, int magFilter) {
+        Transcoded transcoded = transcode(TextureLoader.loadImageResource(path), path, selectTarget());
+        return upload(transcoded, new Texture(), minFilter, magFilter);
+    }
+
+    /**
+     * Parse and, for Basis payloads, transcode a KTX2 file. Safe to call off the GL thread.
+     * @param file: whole file contents; not needed after this returns
+     */
+    static Transcoded transcode(ByteBuffer file, String path, Target preferred) {
+        ktxTexture2 texture;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            PointerBuffer out = stack.mallocPointer(1);
+            int result = ktxTexture2_CreateFromMemory(file, KTX_TEXTURE_CREATE_LOAD_IMAGE_DATA_BIT, out);
+            if (result != KTX_SUCCESS) {
+                throw new RuntimeException("Failed to read KTX2 texture: " + path + " - " + ktxErrorString(result));
+            }
+            texture = ktxTexture2.create(out.get(0));
+        }
+
+        Target format;
+        if (ktxTexture2_NeedsTranscoding(texture)) {
+            int result = ktxTexture2_TranscodeBasis(texture, preferred.transcodeFormat, 0);
+            if (result != KTX_SUCCESS) {
+                ktxTexture_Destroy(ktxTexture.create(texture.address()));
+                throw new RuntimeException("Failed to transcode KTX2 texture: " + path + " - " + ktxErrorString(result));
+            }
+            format = preferred;
+        } else {
+            format = formatOf(texture.vkFormat());
+            if (format == null) {
+                ktxTexture_Destroy(ktxTexture.create(texture.address()));
+                throw new RuntimeException("Unsupported KTX2 format " + texture.vkFormat() + ": " + path);
+            }
+        }
+        return new Transcoded(path, texture, format);
+    }
+
+    private static Target formatOf(int vkFormat) {
+        switch (vkFormat) {
+            case VK_FORMAT_R8G8B8A8_UNORM:
+            case VK_FORMAT_R8G8B8A8_SRGB:
+                return Target.RGBA8;
+            case VK_FORMAT_BC3_UNORM_BLOCK:
+            case VK_FORMAT_BC3_SRGB_BLOCK:
+                return Target.BC3;
+            case VK_FORMAT_BC7_UNORM_BLOCK:
+            case VK_FORMAT_BC7_SRGB_BLOCK:
+                return Target.BC7;
+            case VK_FORMAT_ETC2_R8G8B8A8_UNORM_BLOCK:
+            case VK_FORMAT_ETC2_R8G8B8A8_SRGB_BLOCK:
+                return Target.ETC2;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Upload every mip level into a new GL texture, fill in the Texture and free the libktx data.
+     * A single-level uncompressed file gets its mipmaps generated when minFilter samples them.
+     * GL thread only.
+     */
+    static Texture upload(Transcoded transcoded, Texture texture, int minFilter, int magFilter) {
+        ktxTexture2 source = transcoded.texture;
+        ktxTexture base = ktxTexture.create(source.address());
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            int width = source.baseWidth();
+            int height = source.baseHeight();
+            int levels = Math.max(1, source.numLevels());
+            ByteBuffer data = ktxTexture_GetData(base, ktxTexture_GetDataSize(base));
+            PointerBuffer offset = stack.mallocPointer(1);
+
+            int id = glGenTextures();
+            GLStateCache.bindTexture(GL_TEXTURE_2D, id);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_REPEAT);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_BASE_LEVEL, 0);
+
+            long bytes = 0;
+            for (int level = 0; level < levels; level++) {
+                int levelWidth = Math.max(1, width >> level);
+                int levelHeight = Math.max(1, height >> level);
+                int result = ktxTexture_GetImageOffset(base, level, 0, 0, offset);
+                if (result != KTX_SUCCESS) {
+                    GLStateCache.deleteTexture(id);
+                    throw new RuntimeException("Failed to read KTX2 level " + level + ": " + transcoded.path + " - " + ktxErrorString(result));
+                }
+                int size = (int) ktxTexture_GetImageSize(base, level);
+                ByteBuffer image = data.duplicate();
+                image.position((int) offset.get(0)).limit((int) offset.get(0) + size);
+                if (transcoded.format.compressed) {
+                    glCompressedTexImage2D(GL_TEXTURE_2D, level, transcoded.format.glInternalFormat, levelWidth, levelHeight, 0, image);
+                } else {
+                    glTexImage2D(GL_TEXTURE_2D, level, GL_RGBA8, levelWidth, levelHeight, 0, GL_RGBA, GL_UNSIGNED_BYTE, image);
+                }
+                bytes += size;
+            }
+            Log.checkGLErrorDetailed("KtxTextureLoader.upload", "mip upload");
+
+            if (levels == 1 && !transcoded.format.compressed && TextureCache.isMipmapFilter(minFilter)) {
+                glGenerateMipmap(GL_TEXTURE_2D);
+                bytes = bytes * 4 / 3;
+            } else {
+                // Keeps a partial or single-level chain complete under mipmap filtering
+                glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAX_LEVEL, levels - 1);
+            }
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, minFilter);
+            glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, magFilter);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
+            Log.checkGLErrorDetailed("KtxTextureLoader.upload", "texture parameters");
+
+            long rgbaBytes = (long) width * height * 4 * 4 / 3;
+            uploadedBytes += bytes;
+            rgbaEquivalentBytes += rgbaBytes;
+
+            texture.mId = id;
+            texture.mWidth = width;
+            texture.mHeight = height;
+            texture.mPath = transcoded.path;
+            texture.mGpuBytes = bytes;
+            Log.info("Loaded texture: " + transcoded.path + " (" + width + "x" + height + ", " + transcoded.format
+                + ", " + levels + " levels, " + bytes / 1024 + " KB vs " + rgbaBytes / 1024 + " KB as RGBA8)");
+            return texture;
+        } finally {
+            transcoded.destroy();
+        }
+    }
+
+    // --- VRAM report ---
+
+    /** GPU bytes of every KTX2 texture uploaded so far. */
+    public static long GetUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    /** What the same textures would occupy as mipmapped RGBA8. */
+    public static long GetRgbaEquivalentBytes() {
+        return rgbaEquivalentBytes;
+    }
+
+    public static long GetSavedBytes() {
+        return rgbaEquivalentBytes - uploadedBytes;
+    }
+}
@@ -0,0 +1,119 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MaxRects bin packer (best short side fit) for a single fixed-size page.
+ *
+ * The free space is kept as a list of maximal free rectangles that may overlap. Placing a
+ * rectangle splits every free rectangle it touches and then drops free rectangles contained
+ * in others. Used offline by {@link AtlasPacker}; nothing here touches GL.
+ */
+public class MaxRectsPacker {
+
+    private static class Rect {
+        final int x, y, width, height;
+
+        Rect(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        boolean contains(Rect other) {
+            return other.x >= x && other.y >= y
+                && other.x + other.width <= x + width
+                && other.y + other.height <= y + height;
+        }
+    }
+
+    private final int binWidth;
+    private final int binHeight;
+    private final List<Rect> freeRects = new ArrayList<>();
+
+    public MaxRectsPacker(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("MaxRectsPacker bin size must be positive: " + width + "x" + height);
+        }
+        binWidth = width;
+        binHeight = height;
+        freeRects.add(new Rect(0, 0, width, height));
+    }
+
+    /**
+     * Place a rectangle.
+     * @return {x, y} of the placed rectangle, or null if it does not fit in the remaining space
+     */
+    public int[] insert(int width, int height) {
+        Rect best = null;
+        int bestShortSide = Integer.MAX_VALUE;
+        int bestLongSide = Integer.MAX_VALUE;
+        for (int i = 0; i < freeRects.size(); i++) {
+            Rect free = freeRects.get(i);
+            if (free.width < width || free.height < height) continue;
+            int leftoverX = free.width - width;
+            int leftoverY = free.height - height;
+            int shortSide = Math.min(leftoverX, leftoverY);
+            int longSide = Math.max(leftoverX, leftoverY);
+            if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+                best = free;
+                bestShortSide = shortSide;
+                bestLongSide = longSide;
+            }
+        }
+        if (best == null) return null;
+
+        Rect placed = new Rect(best.x, best.y, width, height);
+        splitFreeRects(placed);
+        pruneFreeRects();
+        return new int[] { placed.x, placed.y };
+    }
+
+    private void splitFreeRects(Rect placed) {
+        int count = freeRects.size();
+        for (int i = 0; i < count; i++) {
+            Rect free = freeRects.get(i);
+            if (placed.x >= free.x + free.width || placed.x + placed.width <= free.x
+                || placed.y >= free.y + free.height || placed.y + placed.height <= free.y) {
+                continue;
+            }
+            // Up to four maximal rectangles around the placed one
+            if (placed.x > free.x) {
+                freeRects.add(new Rect(free.x, free.y, placed.x - free.x, free.height));
+            }
+            if (placed.x + placed.width < free.x + free.width) {
+                int x = placed.x + placed.width;
+                freeRects.add(new Rect(x, free.y, free.x + free.width - x, free.height));
+            }
+            if (placed.y > free.y) {
+                freeRects.add(new Rect(free.x, free.y, free.width, placed.y - free.y));
+            }
+            if (placed.y + placed.height < free.y + free.height) {
+                int y = placed.y + placed.height;
+                freeRects.add(new Rect(free.x, y, free.width, free.y + free.height - y));
+            }
+            freeRects.set(i, null);
+        }
+        freeRects.removeIf(r -> r == null);
+    }
+
+    private void pruneFreeRects() {
+        for (int i = 0; i < freeRects.size(); i++) {
+            Rect a = freeRects.get(i);
+            for (int j = i + 1; j < freeRects.size(); j++) {
+                Rect b = freeRects.get(j);
+                if (a.contains(b)) {
+                    freeRects.remove(j--);
+                } else if (b.contains(a)) {
+                    freeRects.remove(i--);
+                    break;
+                }
+            }
+        }
+    }
+
+    public int getBinWidth() { return binWidth; }
+    public int getBinHeight() { return binHeight; }
+}
@@ -1,6 +1,7 @@
 package com.codebyriley.Core.Rendering.Textures;
 
 import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
 import com.codebyriley.Util.Log;
 
 public class Texture {
@@ -8,6 +9,8 @@ public class Texture {
     public int mWidth;
     public int mHeight;
     public String mPath;
+    // GPU memory of the uploaded image when known (compressed textures); 0 means RGBA8 sized
+    public transient long mGpuBytes;
 
     public Texture() {
         mId = 0;
@@ -34,21 +37,20 @@ public class Texture {
     public void bind() {
         if (mId != 0) {
             Log.traceEveryNFrames("[Texture] bind: textureId=" + mId, 120);
-            glBindTexture(GL_TEXTURE_2D, mId);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, mId);
         }
     }
     
     // Bind to a specific texture unit
     public void bind(int unit) {
         if (mId != 0) {
-            glActiveTexture(GL_TEXTURE0 + unit);
-            glBindTexture(GL_TEXTURE_2D, mId);
+            GLStateCache.bindTexture(unit, GL_TEXTURE_2D, mId);
         }
     }
     
     // Unbind this texture
     public void unbind() {
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
     }
     
     // Check if texture is valid
@@ -65,11 +67,12 @@ public class Texture {
     public void delete() {
         if (mId != 0) {
             Log.infoEveryNFrames("[Texture] delete: textureId=" + mId, 120);
-            glDeleteTextures(mId);
+            GLStateCache.deleteTexture(mId);
             mId = 0;
             mWidth = 0;
             mHeight = 0;
             mPath = "";
+            mGpuBytes = 0;
         }
     }
 }
@@ -0,0 +1,189 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.codebyriley.Util.Log;
+
+/**
+ * A GL_TEXTURE_2D_ARRAY built from same-sized images, one layer per image.
+ *
+ * Layer 0 is always solid white so untextured quads can share a batch with sprites.
+ * Image layers start at 1 and are looked up by the resource path they were loaded from.
+ */
+public class TextureArray {
+    public static final int WHITE_LAYER = 0;
+
+    private int mId;
+    private final int mWidth;
+    private final int mHeight;
+    private final int mLayerCount;
+    private final Map<String, Integer> layers = new HashMap<>();
+
+    public TextureArray(String... paths) {
+        this(Arrays.asList(paths));
+    }
+
+    /**
+     * Load every image into its own layer. All images must have the same dimensions.
+     * @param paths Texture resource paths (e.g. "textures/ships/ship_A.png")
+     */
+    public TextureArray(List<String> paths) {
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("TextureArray needs at least one texture");
+        }
+        mLayerCount = paths.size() + 1;
+        int maxLayers = glGetInteger(GL_MAX_ARRAY_TEXTURE_LAYERS);
+        if (mLayerCount > maxLayers) {
+            throw new RuntimeException("TextureArray: " + mLayerCount + " layers exceeds GL_MAX_ARRAY_TEXTURE_LAYERS (" + maxLayers + ")");
+        }
+
+        ByteBuffer[] images = new ByteBuffer[paths.size()];
+        int width = 0, height = 0;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer w = stack.mallocInt(1);
+            IntBuffer h = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            for (int i = 0; i < paths.size(); i++) {
+                String path = paths.get(i);
+                ByteBuffer imageData = STBImage.stbi_load_from_memory(TextureLoader.loadImageResource(path), w, h, channels, 4);
+                if (imageData == null) {
+                    freeImages(images);
+                    throw new RuntimeException("Failed to decode texture: " + path + " - " + STBImage.stbi_failure_reason());
+                }
+                images[i] = imageData;
+                if (i == 0) {
+                    width = w.get(0);
+                    height = h.get(0);
+                } else if (w.get(0) != width || h.get(0) != height) {
+                    freeImages(images);
+                    throw new RuntimeException("TextureArray: " + path + " is " + w.get(0) + "x" + h.get(0)
+                        + ", expected " + width + "x" + height);
+                }
+                layers.put(path, i + 1);
+            }
+        }
+        mWidth = width;
+        mHeight = height;
+
+        mId = glGenTextures();
+        Log.checkGLErrorDetailed("TextureArray.constructor", "glGenTextures");
+        GLStateCache.bindTexture(GL_TEXTURE_2D_ARRAY, mId);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MIN_FILTER, GL_LINEAR_MIPMAP_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glTexImage3D(GL_TEXTURE_2D_ARRAY, 0, GL_RGBA8, mWidth, mHeight, mLayerCount, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        Log.checkGLErrorDetailed("TextureArray.constructor", "glTexImage3D");
+
+        // White layer
+        ByteBuffer white = BufferUtils.createByteBuffer(mWidth * mHeight * 4);
+        while (white.hasRemaining()) white.put((byte) 255);
+        white.flip();
+        glTexSubImage3D(GL_TEXTURE_2D_ARRAY, 0, 0, 0, WHITE_LAYER, mWidth, mHeight, 1, GL_RGBA, GL_UNSIGNED_BYTE, white);
+
+        for (int i = 0; i < images.length; i++) {
+            glTexSubImage3D(GL_TEXTURE_2D_ARRAY, 0, 0, 0, i + 1, mWidth, mHeight, 1, GL_RGBA, GL_UNSIGNED_BYTE, images[i]);
+        }
+        Log.checkGLErrorDetailed("TextureArray.constructor", "glTexSubImage3D");
+        freeImages(images);
+
+        glGenerateMipmap(GL_TEXTURE_2D_ARRAY);
+        Log.checkGLErrorDetailed("TextureArray.constructor", "glGenerateMipmap");
+        GLStateCache.bindTexture(GL_TEXTURE_2D_ARRAY, 0);
+
+        Log.info("Loaded texture array: " + paths.size() + " layers (" + mWidth + "x" + mHeight + ")");
+    }
+
+    /**
+     * Build an array from every .png in the given resource directories (e.g. "textures/ships"),
+     * in file name order. Works both from the classes directory and from a packaged jar.
+     */
+    public static TextureArray fromResourceDirectories(String... directories) {
+        List<String> paths = new ArrayList<>();
+        for (String directory : directories) {
+            paths.addAll(listPngResources(directory));
+        }
+        return new TextureArray(paths);
+    }
+
+    private static List<String> listPngResources(String directory) {
+        URL url = TextureArray.class.getClassLoader().getResource(directory);
+        if (url == null) {
+            throw new RuntimeException("Texture directory not found: " + directory);
+        }
+        List<String> paths = new ArrayList<>();
+        try {
+            URI uri = url.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem jarFs = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                    collectPngs(jarFs.getPath(directory), directory, paths);
+                }
+            } else {
+                collectPngs(Paths.get(uri), directory, paths);
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Failed to list texture directory: " + directory, e);
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+    private static void collectPngs(Path dir, String directory, List<String> out) throws IOException {
+        try (var stream = Files.list(dir)) {
+            stream.map(p -> p.getFileName().toString())
+                .filter(name -> name.endsWith(".png"))
+                .forEach(name -> out.add(directory + "/" + name));
+        }
+    }
+
+    private static void freeImages(ByteBuffer[] images) {
+        for (ByteBuffer image : images) {
+            if (image != null) STBImage.stbi_image_free(image);
+        }
+    }
+
+    /**
+     * @return The layer holding the given texture path, or -1 if it is not in this array
+     */
+    public int getLayer(String path) {
+        Integer layer = layers.get(path);
+        return layer != null ? layer : -1;
+    }
+
+    public boolean contains(String path) {
+        return layers.containsKey(path);
+    }
+
+    public int getId() { return mId; }
+    public int getWidth() { return mWidth; }
+    public int getHeight() { return mHeight; }
+    public int getLayerCount() { return mLayerCount; }
+
+    public void delete() {
+        if (mId != 0) {
+            GLStateCache.deleteTexture(mId);
+            mId = 0;
+        }
+    }
+}
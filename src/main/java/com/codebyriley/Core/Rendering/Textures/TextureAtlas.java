@@ -0,0 +1,142 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.codebyriley.Util.Log;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Runtime side of the sprite atlas built by {@link AtlasPacker}.
+ *
+ * The index maps original sprite paths (e.g. "textures/ships/ship_A.png") to a page and a
+ * pixel rectangle. Page textures are loaded on first use and shared by every region on them,
+ * so they must not be deleted through a single sprite.
+ */
+public class TextureAtlas {
+    /** Index written by the pack-atlas Maven profile, picked up automatically by TextureLoader. */
+    public static final String DEFAULT_INDEX = "atlases/atlas.json";
+
+    // JSON layout shared with AtlasPacker
+    static class Index {
+        int padding;
+        List<Page> pages;
+        Map<String, Region> regions;
+    }
+
+    static class Page {
+        String file;
+        int width;
+        int height;
+    }
+
+    static class Region {
+        int page;
+        int x, y, width, height;
+    }
+
+    private final String indexPath;
+    private final Index index;
+    private final Texture[] pageTextures;
+    private final Map<String, TextureRegion> regionCache = new HashMap<>();
+
+    private TextureAtlas(String indexPath, Index index) {
+        this.indexPath = indexPath;
+        this.index = index;
+        this.pageTextures = new Texture[index.pages.size()];
+    }
+
+    /**
+     * Read an atlas index from the classpath. Page images are not loaded until a region is used.
+     */
+    public static TextureAtlas load(String indexPath) {
+        try (InputStream source = TextureAtlas.class.getClassLoader().getResourceAsStream(indexPath)) {
+            if (source == null) {
+                throw new IOException("Atlas index not found: " + indexPath);
+            }
+            try (Reader reader = new InputStreamReader(source, StandardCharsets.UTF_8)) {
+                Index index = new Gson().fromJson(reader, Index.class);
+                if (index == null || index.pages == null || index.regions == null) {
+                    throw new IOException("Atlas index is missing pages or regions: " + indexPath);
+                }
+                Log.info("Loaded atlas index: " + indexPath + " (" + index.regions.size() + " regions, " + index.pages.size() + " pages)");
+                return new TextureAtlas(indexPath, index);
+            }
+        } catch (IOException | JsonParseException e) {
+            throw new RuntimeException("Failed to load atlas index: " + indexPath, e);
+        }
+    }
+
+    /**
+     * @return true if the classpath has an atlas index at the given path
+     */
+    public static boolean exists(String indexPath) {
+        return TextureAtlas.class.getClassLoader().getResource(indexPath) != null;
+    }
+
+    public boolean contains(String path) {
+        return index.regions.containsKey(path);
+    }
+
+    /**
+     * @return The region packed from the given sprite path, or null if it is not in this atlas
+     */
+    public TextureRegion findRegion(String path) {
+        TextureRegion cached = regionCache.get(path);
+        if (cached != null) return cached;
+        Region region = index.regions.get(path);
+        if (region == null) return null;
+
+        Texture texture = getPageTexture(region.page);
+        float pageWidth = texture.mWidth;
+        float pageHeight = texture.mHeight;
+        TextureRegion result = new TextureRegion(texture,
+            region.x / pageWidth, region.y / pageHeight,
+            (region.x + region.width) / pageWidth, (region.y + region.height) / pageHeight,
+            region.width, region.height);
+        regionCache.put(path, result);
+        return result;
+    }
+
+    private Texture getPageTexture(int page) {
+        if (page < 0 || page >= pageTextures.length) {
+            throw new RuntimeException("Atlas " + indexPath + " has no page " + page);
+        }
+        if (pageTextures[page] == null || pageTextures[page].mId == 0) {
+            pageTextures[page] = TextureLoader.LoadTexture(index.pages.get(page).file);
+        }
+        return pageTextures[page];
+    }
+
+    public String getIndexPath() { return indexPath; }
+    public int getPageCount() { return pageTextures.length; }
+    public int getRegionCount() { return index.regions.size(); }
+
+    /** Number of page textures currently uploaded. */
+    public int getLoadedPageCount() {
+        int loaded = 0;
+        for (Texture texture : pageTextures) {
+            if (texture != null && texture.mId != 0) loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * Delete the uploaded pages. Regions handed out earlier become invalid; later lookups reload.
+     */
+    public void delete() {
+        for (int i = 0; i < pageTextures.length; i++) {
+            if (pageTextures[i] != null) {
+                pageTextures[i].delete();
+                pageTextures[i] = null;
+            }
+        }
+        regionCache.clear();
+    }
+}
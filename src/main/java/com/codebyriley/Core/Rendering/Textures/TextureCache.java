@@ -0,0 +1,229 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.codebyriley.Util.Log;
+
+/**
+ * Shares textures loaded from resource paths. Textures are keyed by path and filter settings;
+ * every acquire of a key returns the same Texture and adds a reference, every release drops
+ * one. Textures without references stay resident so a later acquire is a hit, and are deleted
+ * least recently used first once the estimated resident size exceeds the budget.
+ *
+ * Only textures handed out here may be released here; do not delete them directly.
+ * All calls must be made on the GL thread.
+ */
+public class TextureCache {
+    public static final long DEFAULT_BUDGET_BYTES = 256L * 1024 * 1024;
+
+    private static class Entry {
+        final Texture texture;
+        final TextureHandle handle; // Non-null for textures loaded through AsyncTextureLoader
+        final boolean mipmapped;
+        int refCount = 0;
+
+        Entry(Texture texture, TextureHandle handle, boolean mipmapped) {
+            this.texture = texture;
+            this.handle = handle;
+            this.mipmapped = mipmapped;
+        }
+
+        long bytes() {
+            if (texture.mGpuBytes > 0) return texture.mGpuBytes;
+            long bytes = (long) texture.mWidth * texture.mHeight * 4;
+            return mipmapped ? bytes * 4 / 3 : bytes;
+        }
+    }
+
+    // Access-ordered, so iteration runs from least to most recently used
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<Texture, Entry> byTexture = new IdentityHashMap<>();
+    private static long budgetBytes = DEFAULT_BUDGET_BYTES;
+    private static int hits = 0;
+    private static int misses = 0;
+    private static int evictions = 0;
+
+    /**
+     * Shared texture with the settings of TextureLoader.LoadTexture(path).
+     */
+    public static Texture acquire(String path) {
+        String key = key(path, GL_LINEAR, GL_LINEAR);
+        Entry entry = lookup(key);
+        if (entry == null) {
+            entry = insert(key, TextureLoader.LoadTexture(path), null, true);
+        }
+        return entry.texture;
+    }
+
+    /**
+     * Shared texture with the given filters, as TextureLoader.LoadTexture(path, minFilter, magFilter).
+     */
+    public static Texture acquire(String path, int minFilter, int magFilter) {
+        String key = key(path, minFilter, magFilter);
+        Entry entry = lookup(key);
+        if (entry == null) {
+            entry = insert(key, TextureLoader.LoadTexture(path, minFilter, magFilter), null, isMipmapFilter(minFilter));
+        }
+        return entry.texture;
+    }
+
+    /**
+     * Like {@link #acquire(String)}, but a miss is loaded through AsyncTextureLoader and shows
+     * its placeholder until uploaded. Shares entries with acquire(path).
+     */
+    public static Texture acquireAsync(String path) {
+        String key = key(path, GL_LINEAR, GL_LINEAR);
+        Entry entry = lookup(key);
+        if (entry == null) {
+            TextureHandle handle = AsyncTextureLoader.LoadTextureAsync(path);
+            entry = insert(key, handle.getTexture(), handle, true);
+        }
+        return entry.texture;
+    }
+
+    /**
+     * Drop a reference taken by acquire. The texture stays cached until evicted.
+     */
+    public static void release(Texture texture) {
+        Entry entry = byTexture.get(texture);
+        if (entry == null) {
+            Log.warn("TextureCache.release: texture " + (texture != null ? texture.mPath : null) + " is not cached");
+            return;
+        }
+        if (entry.refCount <= 0) {
+            Log.warn("TextureCache.release: " + texture.mPath + " released more often than acquired");
+            return;
+        }
+        entry.refCount--;
+        if (entry.refCount == 0) trim();
+    }
+
+    public static boolean contains(Texture texture) {
+        return byTexture.containsKey(texture);
+    }
+
+    private static String key(String path, int minFilter, int magFilter) {
+        return path + '|' + minFilter + '|' + magFilter;
+    }
+
+    private static Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        // A failed async load is retried on the next acquire
+        if (entry.handle != null && entry.handle.isFailed() && entry.refCount == 0) {
+            evict(entry);
+            entries.remove(key);
+            return null;
+        }
+        hits++;
+        entry.refCount++;
+        return entry;
+    }
+
+    private static Entry insert(String key, Texture texture, TextureHandle handle, boolean mipmapped) {
+        misses++;
+        Entry entry = new Entry(texture, handle, mipmapped);
+        entry.refCount = 1;
+        entries.put(key, entry);
+        byTexture.put(texture, entry);
+        trim();
+        return entry;
+    }
+
+    static boolean isMipmapFilter(int filter) {
+        return filter == GL_LINEAR_MIPMAP_LINEAR || filter == GL_LINEAR_MIPMAP_NEAREST
+            || filter == GL_NEAREST_MIPMAP_LINEAR || filter == GL_NEAREST_MIPMAP_NEAREST;
+    }
+
+    /**
+     * Evict unreferenced textures, least recently used first, until within budget.
+     */
+    private static void trim() {
+        long resident = getResidentBytes();
+        if (resident <= budgetBytes) return;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && resident > budgetBytes) {
+            Entry entry = iterator.next();
+            if (entry.refCount > 0) continue;
+            resident -= entry.bytes();
+            evict(entry);
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    // Frees the entry's texture; the caller removes it from entries
+    private static void evict(Entry entry) {
+        byTexture.remove(entry.texture);
+        if (entry.handle != null && !entry.handle.isReady()) {
+            // Still loading: the texture holds the shared placeholder, which must not be deleted
+            entry.handle.cancel();
+            return;
+        }
+        entry.texture.delete();
+    }
+
+    /**
+     * Set the resident size above which unreferenced textures are evicted.
+     */
+    public static void setBudgetBytes(long bytes) {
+        budgetBytes = Math.max(0, bytes);
+        trim();
+    }
+
+    public static long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    // --- Stats ---
+
+    /**
+     * Estimated GPU memory of cached textures: the uploaded size for compressed textures,
+     * otherwise RGBA8 plus a third for mipmaps.
+     */
+    public static long getResidentBytes() {
+        long total = 0;
+        for (Entry entry : entries.values()) {
+            total += entry.bytes();
+        }
+        return total;
+    }
+
+    public static int getEntryCount() {
+        return entries.size();
+    }
+
+    /** Cached textures that nothing references. */
+    public static int getIdleCount() {
+        int idle = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.refCount == 0) idle++;
+        }
+        return idle;
+    }
+
+    public static int getHitCount() { return hits; }
+    public static int getMissCount() { return misses; }
+    public static int getEvictionCount() { return evictions; }
+
+    public static void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Delete every cached texture, referenced or not. For shutdown.
+     */
+    public static void clear() {
+        for (Entry entry : entries.values()) {
+            evict(entry);
+        }
+        entries.clear();
+        byTexture.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A texture requested through {@link AsyncTextureLoader}. The texture object is usable straight
+ * away: it points at a shared placeholder until its upload completes, then its id and size are
+ * replaced in place, so anything holding the Texture picks up the real image on the next draw.
+ *
+ * Do not delete the texture while it is still loading; use {@link #cancel()} instead.
+ */
+public class TextureHandle {
+    private final String path;
+    private final Texture texture;
+    private final CompletableFuture<Texture> future = new CompletableFuture<>();
+    private volatile boolean cancelled = false;
+
+    TextureHandle(String path, Texture placeholder) {
+        this.path = path;
+        this.texture = placeholder;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Texture getTexture() {
+        return texture;
+    }
+
+    /**
+     * Completes on the GL thread once the texture is uploaded, or exceptionally if the image
+     * could not be read or decoded.
+     */
+    public CompletableFuture<Texture> getFuture() {
+        return future;
+    }
+
+    public boolean isReady() {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    public boolean isFailed() {
+        return future.isCompletedExceptionally() && !cancelled;
+    }
+
+    /**
+     * Drop the load if it has not been uploaded yet. The texture keeps the placeholder.
+     */
+    public void cancel() {
+        if (future.isDone()) return;
+        cancelled = true;
+        future.cancel(false);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+}
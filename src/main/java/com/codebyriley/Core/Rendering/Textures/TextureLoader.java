@@ -1,6 +1,7 @@
 package com.codebyriley.Core.Rendering.Textures;
 
 import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.stb.STBImage;
 import org.lwjgl.system.MemoryStack;
@@ -14,7 +15,17 @@ import com.codebyriley.Util.Log;
 
 public class TextureLoader {
 
+    // Sprite atlas consulted by LoadRegion, loaded from TextureAtlas.DEFAULT_INDEX on first use
+    private static TextureAtlas atlas;
+    private static boolean atlasResolved = false;
+    // Load a converted .ktx2 sibling in place of a requested .png when one exists
+    private static boolean preferKtx2 = true;
+
     public static Texture LoadTexture(String path) {
+        path = ResolvePath(path);
+        if (KtxTextureLoader.IsKtx2(path)) {
+            return KtxTextureLoader.LoadKtx2(path);
+        }
         Texture texture = new Texture();
         
         // Load image data using STB
@@ -49,7 +60,7 @@ public class TextureLoader {
             // Generate OpenGL texture
             texture.mId = glGenTextures();
             Log.checkGLErrorDetailed("TextureLoader.LoadTexture", "glGenTextures");
-            glBindTexture(GL_TEXTURE_2D, texture.mId);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, texture.mId);
             Log.checkGLErrorDetailed("TextureLoader.LoadTexture", "glBindTexture");
             
             // Set texture parameters
@@ -68,7 +79,7 @@ public class TextureLoader {
             Log.checkGLErrorDetailed("TextureLoader.LoadTexture", "glGenerateMipmap");
             
             // Unbind texture
-            glBindTexture(GL_TEXTURE_2D, 0);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
             
             // Free STB image data
             STBImage.stbi_image_free(imageData);
@@ -81,6 +92,10 @@ public class TextureLoader {
     
     // Overloaded method for loading with custom filtering
     public static Texture LoadTexture(String path, int minFilter, int magFilter) {
+        path = ResolvePath(path);
+        if (KtxTextureLoader.IsKtx2(path)) {
+            return KtxTextureLoader.LoadKtx2(path, minFilter, magFilter);
+        }
         Texture texture = new Texture();
         
         // Load image data using STB
@@ -116,7 +131,7 @@ public class TextureLoader {
 
             // Generate OpenGL texture
             texture.mId = glGenTextures();
-            glBindTexture(GL_TEXTURE_2D, texture.mId);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, texture.mId);
             
             // Set texture parameters
             glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
@@ -134,7 +149,7 @@ public class TextureLoader {
             }
             
             // Unbind texture
-            glBindTexture(GL_TEXTURE_2D, 0);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
             
             // Free STB image data
             STBImage.stbi_image_free(imageData);
@@ -145,8 +160,73 @@ public class TextureLoader {
         return texture;
     }
     
+    /**
+     * Resolve a sprite path to a texture and UV rectangle. Paths packed into the sprite atlas
+     * return their region of the shared atlas page; anything else is a standalone texture from
+     * TextureCache covering UVs 0-1, so callers do not need to know whether a path was packed.
+     * Release standalone textures with TextureCache.release when done (TextureCache.contains
+     * tells them apart from atlas pages).
+     */
+    public static TextureRegion LoadRegion(String path) {
+        TextureAtlas current = GetAtlas();
+        if (current != null) {
+            TextureRegion region = current.findRegion(path);
+            if (region != null) {
+                return region;
+            }
+        }
+        return new TextureRegion(TextureCache.acquire(path));
+    }
+
+    /**
+     * @return The sprite atlas used by LoadRegion, or null if none is packed
+     */
+    public static TextureAtlas GetAtlas() {
+        if (!atlasResolved) {
+            atlasResolved = true;
+            if (TextureAtlas.exists(TextureAtlas.DEFAULT_INDEX)) {
+                try {
+                    atlas = TextureAtlas.load(TextureAtlas.DEFAULT_INDEX);
+                } catch (RuntimeException e) {
+                    Log.error("Failed to load sprite atlas, falling back to standalone textures", e);
+                }
+            }
+        }
+        return atlas;
+    }
+
+    /**
+     * Replace the sprite atlas used by LoadRegion. Pass null to load every sprite standalone.
+     */
+    public static void SetAtlas(TextureAtlas newAtlas) {
+        atlas = newAtlas;
+        atlasResolved = true;
+    }
+
+    /**
+     * Whether requests for a .png load its .ktx2 sibling (written by Ktx2Converter) instead,
+     * when the sibling exists. On by default.
+     */
+    public static void SetPreferKtx2(boolean prefer) {
+        preferKtx2 = prefer;
+    }
+
+    /**
+     * @return The resource that will actually be loaded for a texture path
+     */
+    public static String ResolvePath(String path) {
+        if (!preferKtx2 || path == null || !path.toLowerCase().endsWith(".png")) {
+            return path;
+        }
+        String ktx2 = path.substring(0, path.length() - 4) + ".ktx2";
+        if (TextureLoader.class.getClassLoader().getResource(ktx2) != null) {
+            return ktx2;
+        }
+        return path;
+    }
+
     // Utility method to load image resource into ByteBuffer
-    private static ByteBuffer loadImageResource(String resourcePath) {
+    static ByteBuffer loadImageResource(String resourcePath) {
         try (InputStream source = TextureLoader.class.getClassLoader().getResourceAsStream(resourcePath)) {
             if (source == null) {
                 throw new IOException("Texture resource not found: " + resourcePath);
@@ -172,24 +252,25 @@ public class TextureLoader {
     public static void BindTexture(Texture texture) {
         if (texture != null && texture.mId != 0) {
             Log.traceEveryNFrames("[TextureLoader] BindTexture: textureId=" + texture.mId, 120);
-            glBindTexture(GL_TEXTURE_2D, texture.mId);
+            GLStateCache.bindTexture(GL_TEXTURE_2D, texture.mId);
         }
     }
     
     // Method to unbind texture
     public static void UnbindTexture() {
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
     }
     
     // Method to delete a texture and free OpenGL resources
     public static void DeleteTexture(Texture texture) {
         if (texture != null && texture.mId != 0) {
             Log.infoEveryNFrames("[TextureLoader] DeleteTexture: textureId=" + texture.mId, 120);
-            glDeleteTextures(texture.mId);
+            GLStateCache.deleteTexture(texture.mId);
             texture.mId = 0;
             texture.mWidth = 0;
             texture.mHeight = 0;
             texture.mPath = "";
+            texture.mGpuBytes = 0;
         }
     }
 }
@@ -0,0 +1,29 @@
+package com.codebyriley.Core.Rendering.Textures;
+
+/**
+ * A rectangle of a texture, in normalized UVs with v = 0 at the top row of the image.
+ * Either a region of an atlas page or a whole standalone texture.
+ */
+public class TextureRegion {
+    public Texture mTexture;
+    public float mU1, mV1, mU2, mV2;
+    public int mWidth;
+    public int mHeight;
+
+    /**
+     * Region covering the whole texture.
+     */
+    public TextureRegion(Texture texture) {
+        this(texture, 0.0f, 0.0f, 1.0f, 1.0f, texture.mWidth, texture.mHeight);
+    }
+
+    public TextureRegion(Texture texture, float u1, float v1, float u2, float v2, int width, int height) {
+        mTexture = texture;
+        mU1 = u1;
+        mV1 = v1;
+        mU2 = u2;
+        mV2 = v2;
+        mWidth = width;
+        mHeight = height;
+    }
+}
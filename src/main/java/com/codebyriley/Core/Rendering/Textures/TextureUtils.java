@@ -1,6 +1,8 @@
 package com.codebyriley.Core.Rendering.Textures;
 
 import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
 import java.nio.ByteBuffer;
 import org.lwjgl.BufferUtils;
 
@@ -14,21 +16,22 @@ public class TextureUtils {
      * This is commonly used for primitive rendering when no texture is needed.
      */
     public static int createWhiteTexture() {
-        int textureId = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        RenderBackend gl = GLStateCache.backend();
+        int textureId = gl.glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         
         // Create a 1x1 white pixel
         ByteBuffer whitePixel = BufferUtils.createByteBuffer(4);
         whitePixel.put((byte) 255).put((byte) 255).put((byte) 255).put((byte) 255);
         whitePixel.flip();
         
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, whitePixel);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        gl.glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, whitePixel);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
         
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
         return textureId;
     }
     
@@ -36,21 +39,22 @@ public class TextureUtils {
      * Create a 1x1 colored texture for solid color rendering.
      */
     public static int createColoredTexture(int r, int g, int b, int a) {
-        int textureId = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        RenderBackend gl = GLStateCache.backend();
+        int textureId = gl.glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         
         // Create a 1x1 colored pixel
         ByteBuffer coloredPixel = BufferUtils.createByteBuffer(4);
         coloredPixel.put((byte) r).put((byte) g).put((byte) b).put((byte) a);
         coloredPixel.flip();
         
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, coloredPixel);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        gl.glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, 1, 1, 0, GL_RGBA, GL_UNSIGNED_BYTE, coloredPixel);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
         
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
         return textureId;
     }
     
@@ -58,8 +62,9 @@ public class TextureUtils {
      * Create a checkerboard pattern texture for debugging.
      */
     public static int createCheckerboardTexture(int size, int tileSize) {
-        int textureId = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        RenderBackend gl = GLStateCache.backend();
+        int textureId = gl.glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         
         // Create checkerboard pattern
         ByteBuffer pixels = BufferUtils.createByteBuffer(size * size * 4);
@@ -75,13 +80,13 @@ public class TextureUtils {
         }
         pixels.flip();
         
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, size, size, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_REPEAT);
+        gl.glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, size, size, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_REPEAT);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_REPEAT);
         
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
         return textureId;
     }
     
@@ -89,8 +94,9 @@ public class TextureUtils {
      * Create a gradient texture.
      */
     public static int createGradientTexture(int width, int height, int r1, int g1, int b1, int r2, int g2, int b2, boolean horizontal) {
-        int textureId = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        RenderBackend gl = GLStateCache.backend();
+        int textureId = gl.glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         
         ByteBuffer pixels = BufferUtils.createByteBuffer(width * height * 4);
         for (int y = 0; y < height; y++) {
@@ -114,13 +120,13 @@ public class TextureUtils {
         }
         pixels.flip();
         
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
-        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        gl.glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
         
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
         return textureId;
     }
     
@@ -129,7 +135,7 @@ public class TextureUtils {
      */
     public static void deleteTexture(int textureId) {
         if (textureId != 0) {
-            glDeleteTextures(textureId);
+            GLStateCache.deleteTexture(textureId);
         }
     }
 } 
\ No newline at end of file
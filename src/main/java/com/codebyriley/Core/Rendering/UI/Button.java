@@ -75,8 +75,9 @@ public class Button extends UIElement {
             );
         }
 
-        renderer.end(); // End batching
-                        // So text can render
+        // End batching so text can render, unless glyphs go into the same batch
+        boolean splitBatch = textRenderer == null || !textRenderer.batchesWith(renderer);
+        if (splitBatch) renderer.end();
 
         // Draw text centered in button using the new TextRenderer
         if (textRenderer != null && text != null && !text.isEmpty()) {
@@ -95,14 +96,14 @@ public class Button extends UIElement {
             textRenderer.drawTextCentered(text, textX, textY, textColor, 1.0f, scale);
         }
 
-        renderer.begin(); // Begin batching again
+        if (splitBatch) renderer.begin(); // Begin batching again
 
     }
     
     @Override
     protected boolean handleMouseClick(float mouseX, float mouseY, int button) {
         if (button == 0) { // Left mouse button
-            isPressed = true;
+            setPressed(true);
             if (onClickCallback != null) {
                 onClickCallback.accept(this);
             }
@@ -162,6 +163,7 @@ public class Button extends UIElement {
      */
     public void setText(String text) {
         this.text = text;
+        markDirty();
     }
     
     /**
@@ -176,6 +178,7 @@ public class Button extends UIElement {
      */
     public void setTextColor(Vector3f color) {
         this.textColor = color;
+        markDirty();
     }
     
     /**
@@ -183,6 +186,7 @@ public class Button extends UIElement {
      */
     public void setTextAlpha(float alpha) {
         this.textAlpha = alpha;
+        markDirty();
     }
     
     /**
@@ -190,6 +194,7 @@ public class Button extends UIElement {
      */
     public void setHoverColor(Vector3f color) {
         this.hoverColor = color;
+        markDirty();
     }
     
     /**
@@ -197,6 +202,7 @@ public class Button extends UIElement {
      */
     public void setPressedColor(Vector3f color) {
         this.pressedColor = color;
+        markDirty();
     }
     
     /**
@@ -204,6 +210,7 @@ public class Button extends UIElement {
      */
     public void setTextScale(float scale) {
         this.textScale = scale;
+        markDirty();
     }
     
     /**
@@ -231,20 +238,36 @@ public class Button extends UIElement {
      * Set hover state (called by UI manager)
      */
     public void setHovered(boolean hovered) {
-        this.isHovered = hovered;
+        if (isHovered != hovered) {
+            isHovered = hovered;
+            markDirty();
+        }
     }
     
     /**
      * Set pressed state (called by UI manager)
      */
     public void setPressed(boolean pressed) {
-        this.isPressed = pressed;
+        if (isPressed != pressed) {
+            isPressed = pressed;
+            markDirty();
+        }
     }
     
     /**
      * Release the button (called when mouse is released)
      */
     public void release() {
-        isPressed = false;
+        setPressed(false);
+    }
+
+    @Override
+    protected void getRenderBounds(float[] bounds) {
+        super.getRenderBounds(bounds);
+        if (textRenderer != null && text != null && !text.isEmpty()) {
+            // Text is only ever scaled down, so textScale gives the largest extent
+            Vector2f textSize = textRenderer.getTextSize(text, textScale);
+            includeTextBounds(bounds, textRenderer, text, x + (width - textSize.x) / 2.0f, y + (height + textSize.y) / 2.0f, textScale);
+        }
     }
 } 
\ No newline at end of file
@@ -119,6 +119,7 @@ public class Checkbox extends UIElement {
     public void setChecked(boolean checked) {
         if (this.checked != checked) {
             this.checked = checked;
+            markDirty();
             if (onCheckedChanged != null) {
                 onCheckedChanged.accept(checked);
             }
@@ -137,6 +138,7 @@ public class Checkbox extends UIElement {
      */
     public void setCheckColor(Vector3f color) {
         this.checkColor = color;
+        markDirty();
     }
     
     /**
@@ -144,6 +146,7 @@ public class Checkbox extends UIElement {
      */
     public void setCheckThickness(float thickness) {
         this.checkThickness = thickness;
+        markDirty();
     }
     
     /**
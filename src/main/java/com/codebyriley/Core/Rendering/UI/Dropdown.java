@@ -150,6 +150,25 @@ public class Dropdown extends UIElement {
         }
     }
     
+    @Override
+    protected void getRenderBounds(float[] bounds) {
+        super.getRenderBounds(bounds);
+        if (selectedIndex >= 0 && selectedIndex < options.size()) {
+            includeTextBounds(bounds, textRenderer, options.get(selectedIndex), x + 10.0f, y + height / 2.0f, textScale);
+        }
+        if (!expanded || options.isEmpty()) return;
+
+        // The menu quads are centered on their top-left corner, see drawDropdownMenu
+        float menuY = y + height;
+        float itemHeight = 25.0f;
+        float menuHeight = Math.min(options.size() * itemHeight, maxDropdownHeight);
+        include(bounds, x - width / 2.0f - RENDER_BOUNDS_PADDING, menuY - Math.max(menuHeight, itemHeight) / 2.0f - RENDER_BOUNDS_PADDING,
+            x + width + RENDER_BOUNDS_PADDING, menuY + menuHeight + itemHeight + RENDER_BOUNDS_PADDING);
+        for (int i = 0; i < options.size() && i * itemHeight < maxDropdownHeight; i++) {
+            includeTextBounds(bounds, textRenderer, options.get(i), x + 10.0f, menuY + i * itemHeight + itemHeight / 2.0f, textScale);
+        }
+    }
+    
     @Override
     protected boolean handleMouseClick(float mouseX, float mouseY, int button) {
         if (button == 0) { // Left mouse button
@@ -200,6 +219,7 @@ public class Dropdown extends UIElement {
     public void setSelectedIndex(int index) {
         if (index >= -1 && index < options.size() && index != selectedIndex) {
             selectedIndex = index;
+            markDirty();
             if (onSelectionChanged != null) {
                 onSelectionChanged.accept(selectedIndex);
             }
@@ -230,7 +250,10 @@ public class Dropdown extends UIElement {
      * Set the expanded state
      */
     public void setExpanded(boolean expanded) {
-        this.expanded = expanded;
+        if (this.expanded != expanded) {
+            this.expanded = expanded;
+            markDirty();
+        }
     }
     
     /**
@@ -245,6 +268,7 @@ public class Dropdown extends UIElement {
      */
     public void addOption(String option) {
         options.add(option);
+        markDirty();
     }
     
     /**
@@ -252,6 +276,7 @@ public class Dropdown extends UIElement {
      */
     public void removeOption(String option) {
         options.remove(option);
+        markDirty();
         if (selectedIndex >= options.size()) {
             selectedIndex = options.size() - 1;
         }
@@ -263,6 +288,7 @@ public class Dropdown extends UIElement {
     public void clearOptions() {
         options.clear();
         selectedIndex = -1;
+        markDirty();
     }
     
     /**
@@ -273,6 +299,7 @@ public class Dropdown extends UIElement {
         if (selectedIndex >= options.size()) {
             selectedIndex = options.size() - 1;
         }
+        markDirty();
     }
     
     /**
@@ -301,6 +328,7 @@ public class Dropdown extends UIElement {
      */
     public void setMaxDropdownHeight(float height) {
         this.maxDropdownHeight = height;
+        markDirty();
     }
     
     /**
@@ -308,6 +336,7 @@ public class Dropdown extends UIElement {
      */
     public void setDropdownBgColor(Vector3f color) {
         this.dropdownBgColor = color;
+        markDirty();
     }
     
     /**
@@ -315,6 +344,7 @@ public class Dropdown extends UIElement {
      */
     public void setDropdownHoverColor(Vector3f color) {
         this.dropdownHoverColor = color;
+        markDirty();
     }
     
     /**
@@ -322,5 +352,6 @@ public class Dropdown extends UIElement {
      */
     public void setDropdownSelectedColor(Vector3f color) {
         this.dropdownSelectedColor = color;
+        markDirty();
     }
 } 
\ No newline at end of file
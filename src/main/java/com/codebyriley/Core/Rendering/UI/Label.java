@@ -70,8 +70,9 @@ public class Label extends UIElement {
         // Draw background if needed
         drawBackground(renderer);
 
-        // FLUSH UI BATCH before drawing text!
-        renderer.end();
+        // FLUSH UI BATCH before drawing text, unless glyphs go into the same batch
+        boolean splitBatch = !textRenderer.batchesWith(renderer);
+        if (splitBatch) renderer.end();
 
         // Calculate text position based on alignment
         float textX, textY;
@@ -113,7 +114,7 @@ public class Label extends UIElement {
         }
 
         // RESTART UI BATCH for any further UI drawing
-        renderer.begin();
+        if (splitBatch) renderer.begin();
     }
     
     /**
@@ -122,11 +123,28 @@ public class Label extends UIElement {
     private void updateSize() {
         if (textRenderer != null && text != null) {
             Vector2f textSize = textRenderer.getTextSize(text, textScale);
-            this.width = textSize.x;
-            this.height = textSize.y;
+            setSize(textSize.x, textSize.y);
         }
     }
     
+    @Override
+    protected void getRenderBounds(float[] bounds) {
+        super.getRenderBounds(bounds);
+        if (textRenderer == null || text == null) return;
+        // Same anchor as render(); centered and right-aligned text extends left of it
+        float textX = x;
+        float textY = autoSize ? y : y + height / 2.0f;
+        if (alignment != TextAlignment.LEFT) {
+            float textWidth = textRenderer.getTextSize(text, textScale).x;
+            if (alignment == TextAlignment.CENTER) {
+                textX = (autoSize ? x : x + width / 2.0f) - textWidth / 2.0f;
+            } else {
+                textX = (autoSize ? x : x + width) - textWidth;
+            }
+        }
+        includeTextBounds(bounds, textRenderer, text, textX, textY, textScale);
+    }
+
     /**
      * Handle mouse click events
      */
@@ -141,6 +159,7 @@ public class Label extends UIElement {
      */
     public void setText(String text) {
         this.text = text;
+        markDirty();
         if (autoSize) {
             updateSize();
         }
@@ -158,6 +177,7 @@ public class Label extends UIElement {
      */
     public void setTextColor(Vector3f color) {
         this.textColor = color;
+        markDirty();
     }
     
     /**
@@ -165,6 +185,7 @@ public class Label extends UIElement {
      */
     public void setTextAlpha(float alpha) {
         this.textAlpha = alpha;
+        markDirty();
     }
     
     /**
@@ -172,6 +193,7 @@ public class Label extends UIElement {
      */
     public void setTextScale(float scale) {
         this.textScale = scale;
+        markDirty();
         if (autoSize) {
             updateSize();
         }
@@ -189,6 +211,7 @@ public class Label extends UIElement {
      */
     public void setAlignment(TextAlignment alignment) {
         this.alignment = alignment;
+        markDirty();
     }
     
     /**
@@ -203,6 +226,7 @@ public class Label extends UIElement {
      */
     public void setAutoSize(boolean autoSize) {
         this.autoSize = autoSize;
+        markDirty();
         if (autoSize) {
             updateSize();
         }
@@ -16,6 +16,9 @@ public class Panel extends UIElement {
     private LayoutType layoutType;
     private float padding;
     private float spacing;
+    // Area of removed children still showing in the UI cache
+    private final float[] childBounds = new float[4];
+    private final float[] removedRegion = { Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE };
     
     public enum LayoutType {
         NONE,           // No automatic layout
@@ -80,6 +83,7 @@ public class Panel extends UIElement {
      */
     public void addChild(UIElement child) {
         children.add(child);
+        child.markDirty();
         if (layoutType != LayoutType.NONE) {
             updateLayout();
         }
@@ -89,7 +93,10 @@ public class Panel extends UIElement {
      * Remove a child element from this panel
      */
     public void removeChild(UIElement child) {
-        children.remove(child);
+        if (children.remove(child)) {
+            child.collectDrawnRegion(removedRegion);
+            markDirty();
+        }
         if (layoutType != LayoutType.NONE) {
             updateLayout();
         }
@@ -106,7 +113,11 @@ public class Panel extends UIElement {
      * Clear all child elements
      */
     public void clearChildren() {
+        for (UIElement child : children) {
+            child.collectDrawnRegion(removedRegion);
+        }
         children.clear();
+        markDirty();
     }
     
     /**
@@ -233,6 +244,7 @@ public class Panel extends UIElement {
      */
     public void setLayoutType(LayoutType layoutType) {
         this.layoutType = layoutType;
+        markDirty();
         if (layoutType != LayoutType.NONE) {
             updateLayout();
         }
@@ -250,6 +262,7 @@ public class Panel extends UIElement {
      */
     public void setPadding(float padding) {
         this.padding = padding;
+        markDirty();
         if (layoutType != LayoutType.NONE) {
             updateLayout();
         }
@@ -267,6 +280,7 @@ public class Panel extends UIElement {
      */
     public void setSpacing(float spacing) {
         this.spacing = spacing;
+        markDirty();
         if (layoutType != LayoutType.NONE) {
             updateLayout();
         }
@@ -284,6 +298,7 @@ public class Panel extends UIElement {
      */
     public void setClipChildren(boolean clipChildren) {
         this.clipChildren = clipChildren;
+        markDirty();
     }
     
     /**
@@ -318,6 +333,48 @@ public class Panel extends UIElement {
         return result;
     }
 
+    @Override
+    public boolean isDirty() {
+        if (super.isDirty()) return true;
+        for (UIElement child : children) {
+            if (child.isDirty()) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void getRenderBounds(float[] bounds) {
+        super.getRenderBounds(bounds);
+        for (UIElement child : children) {
+            if (!child.isVisible()) continue;
+            child.getRenderBounds(childBounds);
+            include(bounds, childBounds[0], childBounds[1], childBounds[2], childBounds[3]);
+        }
+    }
+
+    @Override
+    boolean collectDirtyRegion(float[] region) {
+        boolean dirty = super.collectDirtyRegion(region);
+        for (UIElement child : children) {
+            dirty |= child.collectDirtyRegion(region);
+        }
+        if (removedRegion[0] <= removedRegion[2]) {
+            include(region, removedRegion[0], removedRegion[1], removedRegion[2], removedRegion[3]);
+            dirty = true;
+        }
+        return dirty;
+    }
+
+    @Override
+    void clearDirty() {
+        super.clearDirty();
+        for (UIElement child : children) {
+            child.clearDirty();
+        }
+        removedRegion[0] = removedRegion[1] = Float.MAX_VALUE;
+        removedRegion[2] = removedRegion[3] = -Float.MAX_VALUE;
+    }
+
     /**
      * Handle mouse click events and propagate to children
      */
@@ -2,6 +2,7 @@ package com.codebyriley.Core.Rendering.UI;
 
 import com.codebyriley.Core.Rendering.UIRenderer;
 import com.codebyriley.Core.Rendering.UI.Text.TextRenderer;
+import com.codebyriley.Util.Math.Vector2f;
 import com.codebyriley.Util.Math.Vector3f;
 
 /**
@@ -55,6 +56,7 @@ public class ProgressBar extends UIElement {
             } else {
                 animatedProgress += diff * animationSpeed * 0.016f; // Assuming 60 FPS
             }
+            markDirty();
         }
     }
     
@@ -99,6 +101,17 @@ public class ProgressBar extends UIElement {
         return false;
     }
     
+    @Override
+    protected void getRenderBounds(float[] bounds) {
+        super.getRenderBounds(bounds);
+        if (showText && textRenderer != null) {
+            // Widest possible percentage text
+            String displayText = text.isEmpty() ? "100%" : text;
+            Vector2f textSize = textRenderer.getTextSize(displayText, textScale);
+            includeTextBounds(bounds, textRenderer, displayText, x + (width - textSize.x) / 2.0f, y + (height + textSize.y) / 2.0f, textScale);
+        }
+    }
+
     /**
      * Set the progress value (0.0 to 1.0)
      */
@@ -107,6 +120,7 @@ public class ProgressBar extends UIElement {
         if (!animated) {
             this.animatedProgress = this.progress;
         }
+        markDirty();
     }
     
     /**
@@ -121,6 +135,7 @@ public class ProgressBar extends UIElement {
      */
     public void setFillColor(Vector3f color) {
         this.fillColor = color;
+        markDirty();
     }
     
     /**
@@ -128,6 +143,7 @@ public class ProgressBar extends UIElement {
      */
     public void setEmptyColor(Vector3f color) {
         this.emptyColor = color;
+        markDirty();
     }
     
     /**
@@ -135,6 +151,7 @@ public class ProgressBar extends UIElement {
      */
     public void setShowText(boolean showText) {
         this.showText = showText;
+        markDirty();
     }
     
     /**
@@ -142,6 +159,7 @@ public class ProgressBar extends UIElement {
      */
     public void setText(String text) {
         this.text = text;
+        markDirty();
     }
     
     /**
@@ -149,6 +167,7 @@ public class ProgressBar extends UIElement {
      */
     public void setTextRenderer(TextRenderer textRenderer) {
         this.textRenderer = textRenderer;
+        markDirty();
     }
     
     /**
@@ -156,6 +175,7 @@ public class ProgressBar extends UIElement {
      */
     public void setTextColor(Vector3f color) {
         this.textColor = color;
+        markDirty();
     }
     
     /**
@@ -163,6 +183,7 @@ public class ProgressBar extends UIElement {
      */
     public void setTextScale(float scale) {
         this.textScale = scale;
+        markDirty();
     }
     
     /**
@@ -173,6 +194,7 @@ public class ProgressBar extends UIElement {
         if (!animated) {
             this.animatedProgress = this.progress;
         }
+        markDirty();
     }
     
     /**
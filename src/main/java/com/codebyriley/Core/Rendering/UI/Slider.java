@@ -153,8 +153,10 @@ public class Slider extends UIElement {
     public void setValue(float value) {
         float oldValue = currentValue;
         currentValue = Math.max(minValue, Math.min(maxValue, value));
+        if (currentValue == oldValue) return;
+        markDirty();
         
-        if (currentValue != oldValue && onValueChanged != null) {
+        if (onValueChanged != null) {
             onValueChanged.accept(currentValue);
         }
     }
@@ -172,6 +174,7 @@ public class Slider extends UIElement {
     public void setRange(float min, float max) {
         this.minValue = min;
         this.maxValue = max;
+        markDirty();
         setValue(currentValue); // Clamp current value to new range
     }
     
@@ -187,6 +190,7 @@ public class Slider extends UIElement {
      */
     public void setHandleColor(Vector3f color) {
         this.handleColor = color;
+        markDirty();
     }
     
     /**
@@ -194,6 +198,7 @@ public class Slider extends UIElement {
      */
     public void setTrackColor(Vector3f color) {
         this.trackColor = color;
+        markDirty();
     }
     
     /**
@@ -201,6 +206,7 @@ public class Slider extends UIElement {
      */
     public void setFillColor(Vector3f color) {
         this.fillColor = color;
+        markDirty();
     }
     
     /**
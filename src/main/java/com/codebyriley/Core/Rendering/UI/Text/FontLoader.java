@@ -9,6 +9,7 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import static org.lwjgl.opengl.GL33.*;
+import com.codebyriley.Core.Rendering.GLStateCache;
 import com.codebyriley.Util.Log;
 
 /**
@@ -74,14 +75,14 @@ public class FontLoader {
         rgbaBitmap.flip();
         // Create OpenGL texture
         textureId = glGenTextures();
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
         glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
         glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, bitmapWidth, bitmapHeight, 0, GL_RGBA, GL_UNSIGNED_BYTE, rgbaBitmap);
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         Log.info("Font atlas texture created: " + textureId + " (" + bitmapWidth + "x" + bitmapHeight + ")");
         dumpAtlasToPNG("fonts/font_atlas.png");
     }
@@ -126,7 +127,7 @@ public class FontLoader {
     /**
      * Utility: Load a file from resources into a ByteBuffer.
      */
-    private static ByteBuffer ioResourceToByteBuffer(String resource, int bufferSize) throws IOException {
+    static ByteBuffer ioResourceToByteBuffer(String resource, int bufferSize) throws IOException {
         try (InputStream source = FontLoader.class.getClassLoader().getResourceAsStream(resource)) {
             if (source == null)
                 throw new IOException("Resource not found: " + resource);
@@ -149,9 +150,9 @@ public class FontLoader {
     public void dumpAtlasToPNG(String filename) {
         // Only for debugging: dump the alpha channel as grayscale PNG
         ByteBuffer pixels = BufferUtils.createByteBuffer(bitmapWidth * bitmapHeight);
-        glBindTexture(GL_TEXTURE_2D, textureId);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
         glGetTexImage(GL_TEXTURE_2D, 0, GL_ALPHA, GL_UNSIGNED_BYTE, pixels);
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
         // Use your favorite PNG writer here, e.g. STBImageWrite.stbi_write_png
         STBImageWrite.stbi_write_png("font_atlas.pngth", bitmapWidth, bitmapHeight, 1, pixels, bitmapWidth);
     }
@@ -0,0 +1,354 @@
+package com.codebyriley.Core.Rendering.UI.Text;
+
+import static org.lwjgl.opengl.GL33.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBTTFontinfo;
+import org.lwjgl.stb.STBTruetype;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Util.Log;
+
+/**
+ * Font atlas that rasterizes glyphs with stb_truetype the first time they are drawn, so any
+ * Unicode codepoint in the font can be rendered. Glyphs are packed with a {@link SkylinePacker}
+ * and only the rows and columns touched since the last upload are sent to the GPU.
+ *
+ * The texture has a fixed size. When it is full, the least recently used glyphs are evicted
+ * and the rest are repacked, so text with thousands of distinct glyphs (CJK) uses a bounded
+ * amount of texture memory. Coverage is stored in a single channel and swizzled to white with
+ * alpha, so shaders sample it like the old RGBA atlas.
+ */
+public class GlyphAtlas {
+    // Empty texels between glyphs so linear filtering does not bleed
+    private static final int PADDING = 1;
+    // Share of the atlas kept when repacking, so eviction does not run again right away
+    private static final float KEEP_FRACTION = 0.5f;
+    private static final String WARM_GLYPHS =
+        " !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~";
+
+    /**
+     * A rasterized glyph. Offsets and advance are in pixels at the atlas font size, relative to
+     * the pen position on the baseline.
+     */
+    public static class Glyph {
+        public final int codepoint;
+        public final int width, height;
+        public final float xOffset, yOffset, advance;
+        private int x, y;
+        private float u0, v0, u1, v1;
+        private int lastUsed;
+
+        Glyph(int codepoint, int width, int height, float xOffset, float yOffset, float advance) {
+            this.codepoint = codepoint;
+            this.width = width;
+            this.height = height;
+            this.xOffset = xOffset;
+            this.yOffset = yOffset;
+            this.advance = advance;
+        }
+
+        /** False for glyphs without pixels, e.g. spaces. */
+        public boolean hasBitmap() {
+            return width > 0 && height > 0;
+        }
+
+        public float getU0() { return u0; }
+        public float getV0() { return v0; }
+        public float getU1() { return u1; }
+        public float getV1() { return v1; }
+    }
+
+    private final RenderBackend gl = GLStateCache.backend();
+    private final ByteBuffer fontData; // stb_truetype reads from it while the atlas lives
+    private final STBTTFontinfo info;
+    private final float scale;
+    private final float ascent, descent, lineGap;
+    private final int width, height;
+    private final ByteBuffer pixels;
+    private final SkylinePacker packer;
+    // Access order, so iteration runs from least to most recently used
+    private final LinkedHashMap<Integer, Glyph> glyphs = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Integer, Float> advances = new HashMap<>();
+    private int textureId;
+    private int useStamp = 0;
+    private int dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+    private Runnable evictionListener;
+    private int evictionCount = 0;
+    private long uploadedBytes = 0;
+
+    /**
+     * @param fontPath Path to font file in resources (e.g. "fonts/DejaVuSerif.ttf")
+     * @param fontSize Font size in pixels
+     * @param atlasSize Width and height of the atlas texture
+     */
+    public GlyphAtlas(String fontPath, int fontSize, int atlasSize) {
+        this(fontPath, fontSize, atlasSize, atlasSize);
+    }
+
+    public GlyphAtlas(String fontPath, int fontSize, int width, int height) {
+        this.width = width;
+        this.height = height;
+        try {
+            fontData = FontLoader.ioResourceToByteBuffer(fontPath, 512 * 1024);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load font: " + fontPath, e);
+        }
+        info = STBTTFontinfo.malloc();
+        if (!STBTruetype.stbtt_InitFont(info, fontData)) {
+            info.free();
+            throw new RuntimeException("Failed to parse font: " + fontPath);
+        }
+        scale = STBTruetype.stbtt_ScaleForPixelHeight(info, fontSize);
+        int[] a = new int[1], d = new int[1], g = new int[1];
+        STBTruetype.stbtt_GetFontVMetrics(info, a, d, g);
+        ascent = a[0] * scale;
+        descent = d[0] * scale;
+        lineGap = g[0] * scale;
+
+        pixels = BufferUtils.createByteBuffer(width * height);
+        packer = new SkylinePacker(width, height);
+
+        textureId = gl.glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
+        gl.glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        gl.glTexImage2D(GL_TEXTURE_2D, 0, GL_R8, width, height, 0, GL_RED, GL_UNSIGNED_BYTE, pixels);
+        gl.glPixelStorei(GL_UNPACK_ALIGNMENT, 4);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        // White with coverage in alpha, as texture * color in the batch shaders expects
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_SWIZZLE_R, GL_ONE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_SWIZZLE_G, GL_ONE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_SWIZZLE_B, GL_ONE);
+        gl.glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_SWIZZLE_A, GL_RED);
+        Log.checkGLErrorDetailed("GlyphAtlas.constructor", "texture setup");
+        clearDirty();
+
+        ensure(WARM_GLYPHS);
+        Log.info("Glyph atlas created for " + fontPath + ": texture " + textureId + " (" + width + "x" + height
+            + ", " + glyphs.size() + " glyphs preloaded)");
+    }
+
+    /**
+     * Called before glyphs are moved to make room, while their old texture coordinates are
+     * still valid. Batches holding quads from earlier text should be flushed here.
+     */
+    public void setEvictionListener(Runnable listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * Make every glyph of the text resident and upload the new ones. Glyphs of this text are
+     * not evicted by each other, so all lookups until the next call are valid.
+     */
+    public void ensure(CharSequence text) {
+        useStamp++;
+        for (int i = 0; i < text.length(); ) {
+            int codepoint = Character.codePointAt(text, i);
+            i += Character.charCount(codepoint);
+            if (codepoint < 32) continue;
+            Glyph glyph = glyphs.get(codepoint);
+            if (glyph == null) glyph = rasterize(codepoint);
+            if (glyph != null) glyph.lastUsed = useStamp;
+        }
+        uploadDirty();
+    }
+
+    /**
+     * Resident glyph for a codepoint, or null if it has not been ensured or did not fit.
+     */
+    public Glyph getGlyph(int codepoint) {
+        return glyphs.get(codepoint);
+    }
+
+    /**
+     * Horizontal advance in pixels, without rasterizing the glyph.
+     */
+    public float getAdvance(int codepoint) {
+        Float advance = advances.get(codepoint);
+        if (advance == null) {
+            int[] advanceWidth = new int[1], leftSideBearing = new int[1];
+            STBTruetype.stbtt_GetCodepointHMetrics(info, codepoint, advanceWidth, leftSideBearing);
+            advance = advanceWidth[0] * scale;
+            advances.put(codepoint, advance);
+        }
+        return advance;
+    }
+
+    /** Baseline to baseline distance in pixels. */
+    public float getLineHeight() {
+        return ascent - descent + lineGap;
+    }
+
+    /** Distance from the baseline to the top of the tallest glyphs, in pixels. */
+    public float getAscent() {
+        return ascent;
+    }
+
+    private Glyph rasterize(int codepoint) {
+        // Missing codepoints map to glyph 0, the font's "tofu" box
+        int glyphIndex = STBTruetype.stbtt_FindGlyphIndex(info, codepoint);
+        int[] x0 = new int[1], y0 = new int[1], x1 = new int[1], y1 = new int[1];
+        STBTruetype.stbtt_GetGlyphBitmapBox(info, glyphIndex, scale, scale, x0, y0, x1, y1);
+        Glyph glyph = new Glyph(codepoint, x1[0] - x0[0], y1[0] - y0[0], x0[0], y0[0], getAdvance(codepoint));
+        if (glyph.hasBitmap()) {
+            if (glyph.width + PADDING > width || glyph.height + PADDING > height) {
+                Log.warn("GlyphAtlas: glyph U+" + Integer.toHexString(codepoint) + " is larger than the atlas");
+                return null;
+            }
+            int[] position = packer.insert(glyph.width + PADDING, glyph.height + PADDING);
+            if (position == null) {
+                evict();
+                position = packer.insert(glyph.width + PADDING, glyph.height + PADDING);
+                if (position == null) {
+                    Log.warn("GlyphAtlas: no room for U+" + Integer.toHexString(codepoint) + ", glyphs of one text exceed the atlas");
+                    return null;
+                }
+            }
+            place(glyph, position[0], position[1]);
+            pixels.position(glyph.y * width + glyph.x);
+            STBTruetype.stbtt_MakeGlyphBitmap(info, pixels.slice(), glyph.width, glyph.height, width, scale, scale, glyphIndex);
+            pixels.position(0);
+            markDirty(glyph);
+        }
+        glyphs.put(codepoint, glyph);
+        return glyph;
+    }
+
+    private void place(Glyph glyph, int x, int y) {
+        glyph.x = x;
+        glyph.y = y;
+        glyph.u0 = (float) x / width;
+        glyph.v0 = (float) y / height;
+        glyph.u1 = (float) (x + glyph.width) / width;
+        glyph.v1 = (float) (y + glyph.height) / height;
+    }
+
+    /**
+     * Drop least recently used glyphs and repack the rest from the CPU copy. The skyline
+     * cannot reuse single holes, so the whole atlas is rebuilt and uploaded once.
+     */
+    private void evict() {
+        if (evictionListener != null) evictionListener.run();
+
+        // Glyphs of the current text first, then the others from most recently used
+        List<Glyph> order = new ArrayList<>(glyphs.size());
+        List<Glyph> others = new ArrayList<>(glyphs.size());
+        for (Glyph glyph : glyphs.values()) {
+            if (glyph.lastUsed == useStamp) order.add(glyph);
+            else others.add(glyph);
+        }
+        Collections.reverse(others);
+        order.addAll(others);
+
+        ByteBuffer previous = BufferUtils.createByteBuffer(pixels.capacity());
+        previous.put(pixels).flip();
+        pixels.clear();
+        BufferUtils.zeroBuffer(pixels);
+        packer.reset();
+        long keepArea = (long) (width * height * KEEP_FRACTION);
+        int evicted = 0;
+
+        for (Glyph glyph : order) {
+            if (!glyph.hasBitmap()) continue;
+            boolean current = glyph.lastUsed == useStamp;
+            int[] position = current || packer.getUsedArea() < keepArea
+                ? packer.insert(glyph.width + PADDING, glyph.height + PADDING) : null;
+            if (position == null) {
+                glyphs.remove(glyph.codepoint);
+                evicted++;
+                continue;
+            }
+            for (int row = 0; row < glyph.height; row++) {
+                int from = (glyph.y + row) * width + glyph.x;
+                int to = (position[1] + row) * width + position[0];
+                for (int column = 0; column < glyph.width; column++) {
+                    pixels.put(to + column, previous.get(from + column));
+                }
+            }
+            place(glyph, position[0], position[1]);
+        }
+        evictionCount += evicted;
+        dirtyMinX = 0;
+        dirtyMinY = 0;
+        dirtyMaxX = width;
+        dirtyMaxY = height;
+        Log.debug("GlyphAtlas: evicted " + evicted + " glyphs, " + glyphs.size() + " resident");
+    }
+
+    private void markDirty(Glyph glyph) {
+        dirtyMinX = Math.min(dirtyMinX, glyph.x);
+        dirtyMinY = Math.min(dirtyMinY, glyph.y);
+        dirtyMaxX = Math.max(dirtyMaxX, glyph.x + glyph.width);
+        dirtyMaxY = Math.max(dirtyMaxY, glyph.y + glyph.height);
+    }
+
+    private void clearDirty() {
+        dirtyMinX = width;
+        dirtyMinY = height;
+        dirtyMaxX = 0;
+        dirtyMaxY = 0;
+    }
+
+    // Upload the bounding rectangle of the glyphs rasterized since the last upload
+    private void uploadDirty() {
+        if (dirtyMaxX <= dirtyMinX || dirtyMaxY <= dirtyMinY) return;
+        int w = dirtyMaxX - dirtyMinX, h = dirtyMaxY - dirtyMinY;
+        GLStateCache.bindTexture(GL_TEXTURE_2D, textureId);
+        gl.glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        gl.glPixelStorei(GL_UNPACK_ROW_LENGTH, width);
+        gl.glPixelStorei(GL_UNPACK_SKIP_PIXELS, dirtyMinX);
+        gl.glPixelStorei(GL_UNPACK_SKIP_ROWS, dirtyMinY);
+        gl.glTexSubImage2D(GL_TEXTURE_2D, 0, dirtyMinX, dirtyMinY, w, h, GL_RED, GL_UNSIGNED_BYTE, pixels);
+        gl.glPixelStorei(GL_UNPACK_ROW_LENGTH, 0);
+        gl.glPixelStorei(GL_UNPACK_SKIP_PIXELS, 0);
+        gl.glPixelStorei(GL_UNPACK_SKIP_ROWS, 0);
+        gl.glPixelStorei(GL_UNPACK_ALIGNMENT, 4);
+        Log.checkGLErrorDetailed("GlyphAtlas.uploadDirty", "glTexSubImage2D");
+        uploadedBytes += (long) w * h;
+        clearDirty();
+    }
+
+    public int getTextureId() {
+        return textureId;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** Glyphs currently in the atlas. */
+    public int getGlyphCount() {
+        return glyphs.size();
+    }
+
+    /** Glyphs dropped to make room since creation. */
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    /** Texel bytes sent to the GPU since creation. */
+    public long getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    public void destroy() {
+        if (textureId != 0) GLStateCache.deleteTexture(textureId);
+        textureId = 0;
+        glyphs.clear();
+        info.free();
+    }
+}
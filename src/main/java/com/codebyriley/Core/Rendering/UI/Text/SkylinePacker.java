@@ -0,0 +1,120 @@
+package com.codebyriley.Core.Rendering.UI.Text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bottom-left skyline rectangle packer. The top edge of the packed area is kept as a list of
+ * horizontal segments, and each rectangle goes where its top ends up lowest. Works well for
+ * glyphs, whose heights vary little. Space is only reclaimed by {@link #reset()}.
+ */
+public class SkylinePacker {
+    // Segment of the skyline: [x, x + width) is filled up to y
+    private static class Node {
+        int x, y, width;
+
+        Node(int x, int y, int width) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final List<Node> skyline = new ArrayList<>();
+    private long usedArea = 0;
+
+    public SkylinePacker(int width, int height) {
+        this.width = width;
+        this.height = height;
+        reset();
+    }
+
+    /**
+     * Reserve a width x height rectangle.
+     * @return {x, y} of its top-left corner, or null if it does not fit
+     */
+    public int[] insert(int w, int h) {
+        int bestIndex = -1, bestX = 0, bestY = Integer.MAX_VALUE, bestWidth = Integer.MAX_VALUE;
+        for (int i = 0; i < skyline.size(); i++) {
+            int y = fit(i, w, h);
+            if (y < 0) continue;
+            Node node = skyline.get(i);
+            // Lowest top edge first, then the narrowest segment to leave wide gaps open
+            if (y < bestY || (y == bestY && node.width < bestWidth)) {
+                bestIndex = i;
+                bestX = node.x;
+                bestY = y;
+                bestWidth = node.width;
+            }
+        }
+        if (bestIndex < 0) return null;
+
+        skyline.add(bestIndex, new Node(bestX, bestY + h, w));
+        // Trim the segments now under the new one
+        for (int i = bestIndex + 1; i < skyline.size(); i++) {
+            Node node = skyline.get(i);
+            Node previous = skyline.get(i - 1);
+            int overlap = previous.x + previous.width - node.x;
+            if (overlap <= 0) break;
+            node.x += overlap;
+            node.width -= overlap;
+            if (node.width > 0) break;
+            skyline.remove(i);
+            i--;
+        }
+        merge();
+        usedArea += (long) w * h;
+        return new int[] { bestX, bestY };
+    }
+
+    // Top y for a rectangle starting at segment index, or -1 if it does not fit there
+    private int fit(int index, int w, int h) {
+        Node node = skyline.get(index);
+        if (node.x + w > width) return -1;
+        int y = node.y;
+        int remaining = w;
+        for (int i = index; remaining > 0; i++) {
+            Node current = skyline.get(i);
+            y = Math.max(y, current.y);
+            if (y + h > height) return -1;
+            remaining -= current.width;
+        }
+        return y;
+    }
+
+    private void merge() {
+        for (int i = 0; i < skyline.size() - 1; i++) {
+            Node node = skyline.get(i);
+            Node next = skyline.get(i + 1);
+            if (node.y == next.y) {
+                node.width += next.width;
+                skyline.remove(i + 1);
+                i--;
+            }
+        }
+    }
+
+    /**
+     * Forget every rectangle.
+     */
+    public void reset() {
+        skyline.clear();
+        skyline.add(new Node(0, 0, width));
+        usedArea = 0;
+    }
+
+    /** Area of the rectangles inserted since the last reset. */
+    public long getUsedArea() {
+        return usedArea;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
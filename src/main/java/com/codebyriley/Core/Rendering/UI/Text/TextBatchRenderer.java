@@ -4,39 +4,53 @@ import java.nio.FloatBuffer;
 
 import org.lwjgl.BufferUtils;
 
-import com.codebyriley.Core.Rendering.WindowBase;
-import com.codebyriley.Core.Rendering.Shaders.ShaderLoader;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+import com.codebyriley.Core.Rendering.Camera2D;
+import com.codebyriley.Core.Rendering.GLStateCache;
+import com.codebyriley.Core.Rendering.Shaders.ShaderVariantSet;
+import com.codebyriley.Util.Profiler;
 import static org.lwjgl.opengl.GL33.*;
 
 
 public class TextBatchRenderer {
-    private int vao, vbo, shaderProgram;
+    private final RenderBackend gl = GLStateCache.backend();
+    private int vao, vbo;
+    private final ShaderVariantSet shaders;
+    private boolean distanceField = false;
     private FloatBuffer vertexBuffer;
     private static final int VERTEX_SIZE = 4; // x, y, u, v
     private static final int MAX_CHARS = 1024;
 
     public TextBatchRenderer() {
-        vao = glGenVertexArrays();
-        vbo = glGenBuffers();
-        glBindVertexArray(vao);
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferData(GL_ARRAY_BUFFER, MAX_CHARS * 6 * VERTEX_SIZE * Float.BYTES, GL_DYNAMIC_DRAW);
+        vao = gl.glGenVertexArrays();
+        vbo = gl.glGenBuffers();
+        GLStateCache.bindVertexArray(vao);
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
+        gl.glBufferData(GL_ARRAY_BUFFER, MAX_CHARS * 6 * VERTEX_SIZE * Float.BYTES, GL_DYNAMIC_DRAW);
 
         // Position (location 0): x, y
-        glVertexAttribPointer(0, 2, GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 0);
-        glEnableVertexAttribArray(0);
+        gl.glVertexAttribPointer(0, 2, GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 0);
+        gl.glEnableVertexAttribArray(0);
         // TexCoord (location 1): u, v
-        glVertexAttribPointer(1, 2, GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 2 * Float.BYTES);
-        glEnableVertexAttribArray(1);
+        gl.glVertexAttribPointer(1, 2, GL_FLOAT, false, VERTEX_SIZE * Float.BYTES, 2 * Float.BYTES);
+        gl.glEnableVertexAttribArray(1);
 
-        glBindVertexArray(0);
+        GLStateCache.bindVertexArray(0);
 
         vertexBuffer = BufferUtils.createFloatBuffer(MAX_CHARS * 6 * VERTEX_SIZE);
 
-        // Load shaders
-        String vertSource = ShaderLoader.readShaderFromResource("/shaders/TextVertexShader.vert.glsl");
-        String fragSource = ShaderLoader.readShaderFromResource("/shaders/TextFragmentShader.frag.glsl");
-        shaderProgram = ShaderLoader.createShaderProgram(vertSource, fragSource);
+        // Load shaders; the font atlas always lives on unit 0
+        shaders = new ShaderVariantSet("/shaders/TextVertexShader.vert.glsl", "/shaders/TextFragmentShader.frag.glsl",
+            program -> gl.glUniform1i(GLStateCache.getUniformLocation(program, "uFontAtlas"), 0));
+        shaders.get(ShaderVariantSet.GLYPH);
+    }
+
+    /**
+     * Whether font atlases hold signed distance fields (SDF variant) rather than glyph
+     * coverage (GLYPH variant, the default for baked bitmap fonts).
+     */
+    public void setDistanceField(boolean distanceField) {
+        this.distanceField = distanceField;
     }
 
     public void begin() {
@@ -57,41 +71,34 @@ public class TextBatchRenderer {
     }
 
     public void end(int fontTextureId, float r, float g, float b, float alpha) {
+        Profiler.begin("text.flush");
         vertexBuffer.flip();
-        glUseProgram(shaderProgram);
+        int program = shaders.get(distanceField ? ShaderVariantSet.SDF : ShaderVariantSet.GLYPH);
+        GLStateCache.useProgram(program);
 
-        int err = glGetError();
+        int err = gl.glGetError();
         if (err != GL_NO_ERROR) {
             System.err.println("OpenGL Error after text draw: " + err);
         }
 
-        int windowSizeLoc = glGetUniformLocation(shaderProgram, "uWindowSize");
-        glUniform2f(windowSizeLoc, WindowBase.windowWidth, WindowBase.windowHeight);
-
-        int colorLoc = glGetUniformLocation(shaderProgram, "uTextColor");
-        glUniform3f(colorLoc, r, g, b);
-
-        int alphaLoc = glGetUniformLocation(shaderProgram, "uTextAlpha");
-        glUniform1f(alphaLoc, alpha); // Pass the label's alpha
-
-        glActiveTexture(GL_TEXTURE0);
-        glBindTexture(GL_TEXTURE_2D, fontTextureId);
-        int fontAtlasLoc = glGetUniformLocation(shaderProgram, "uFontAtlas");
-        glUniform1i(fontAtlasLoc, 0);
+        // Text is screen-space
+        Camera2D.upload(null, 1.0f, GLStateCache.getUniformLocation(program, "uViewProjection"));
+        gl.glUniform3f(GLStateCache.getUniformLocation(program, "uTextColor"), r, g, b);
+        gl.glUniform1f(GLStateCache.getUniformLocation(program, "uTextAlpha"), alpha); // Pass the label's alpha
 
-        glBindVertexArray(vao);
-        glBindBuffer(GL_ARRAY_BUFFER, vbo);
-        glBufferSubData(GL_ARRAY_BUFFER, 0, vertexBuffer);
+        GLStateCache.bindTexture(0, GL_TEXTURE_2D, fontTextureId);
 
-        glDrawArrays(GL_TRIANGLES, 0, vertexBuffer.limit() / VERTEX_SIZE);
+        GLStateCache.bindVertexArray(vao);
+        GLStateCache.bindBuffer(GL_ARRAY_BUFFER, vbo);
+        gl.glBufferSubData(GL_ARRAY_BUFFER, 0, vertexBuffer);
 
-        glBindVertexArray(0);
-        glUseProgram(0);
+        gl.glDrawArrays(GL_TRIANGLES, 0, vertexBuffer.limit() / VERTEX_SIZE);
+        Profiler.end();
     }
 
     public void destroy() {
-        glDeleteVertexArrays(vao);
-        glDeleteBuffers(vbo);
-        glDeleteProgram(shaderProgram);
+        GLStateCache.deleteVertexArray(vao);
+        GLStateCache.deleteBuffer(vbo);
+        shaders.destroy();
     }
 }
\ No newline at end of file
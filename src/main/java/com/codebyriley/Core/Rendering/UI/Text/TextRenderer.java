@@ -1,71 +1,91 @@
 package com.codebyriley.Core.Rendering.UI.Text;
 
 import com.codebyriley.Core.Rendering.UIRenderer;
-import com.codebyriley.Util.Log;
 import com.codebyriley.Util.Math.Vector2f;
 import com.codebyriley.Util.Math.Vector3f;
-import org.lwjgl.stb.STBTTBakedChar;
-import org.lwjgl.stb.STBTruetype;
-import org.lwjgl.opengl.GL43;
-import static org.lwjgl.opengl.GL43.*;
-import org.lwjgl.stb.STBTTAlignedQuad;
 
 public class TextRenderer {
     private final TextBatchRenderer batchRenderer;
     private final UIRenderer renderer;
-    private final STBTTBakedChar.Buffer charData;
-    private final int textureId;
-    private final int bitmapWidth, bitmapHeight;
+    private final GlyphAtlas atlas;
+    private boolean unified = true;
 
-    public TextRenderer(UIRenderer renderer, FontLoader fontLoader) {
+    public TextRenderer(UIRenderer renderer, GlyphAtlas atlas) {
         this.renderer = renderer;
-        this.charData = fontLoader.getCharData();
-        this.textureId = fontLoader.getTextureId();
-        this.bitmapWidth = fontLoader.bitmapWidth;
-        this.bitmapHeight = fontLoader.bitmapHeight;
+        this.atlas = atlas;
         this.batchRenderer = new TextBatchRenderer();
+        // Repacking moves glyphs, so draw the quads that still point at the old places
+        atlas.setEvictionListener(() -> {
+            if (renderer != null && renderer.isDrawing()) renderer.flush();
+        });
+    }
+
+    /**
+     * When enabled (the default), text drawn while the UIRenderer is between begin() and end()
+     * is emitted as glyph quads into the UI batch instead of a separate text draw call.
+     */
+    public void setUnified(boolean unified) {
+        this.unified = unified;
+    }
+
+    public boolean isUnified() {
+        return unified;
+    }
+
+    /**
+     * Whether text drawn now will go into the given renderer's batch.
+     * Widgets use this to skip ending and restarting the UI batch around text.
+     */
+    public boolean batchesWith(UIRenderer uiRenderer) {
+        return unified && uiRenderer != null && uiRenderer == renderer;
     }
 
     // Main drawText (with scale)
     public void drawText(String text, float x, float y, Vector3f color, float alpha, float scale) {
-        //System.out.println("Current VAO: " + glGetInteger(GL_VERTEX_ARRAY_BINDING));
-        //System.out.println("Current Program: " + glGetInteger(GL_CURRENT_PROGRAM));
-        //Log.info("Drawing text: " + text);
-        batchRenderer.begin();
-        float[] xPos = {x};
-        float[] yPos = {y};
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            if (c == '\n') {
-                xPos[0] = x;
-                yPos[0] += getLineHeight() * scale;
+        // The font atlas is white with coverage in alpha, so the batch shader's
+        // texture * color gives the same result as the dedicated text shader
+        boolean intoUIBatch = unified && renderer != null && renderer.isDrawing();
+        // Before begin(): rasterizing may evict and flush earlier UI quads
+        atlas.ensure(text);
+        if (!intoUIBatch) batchRenderer.begin();
+        float penX = x;
+        float penY = y;
+        for (int i = 0; i < text.length(); ) {
+            int codepoint = text.codePointAt(i);
+            i += Character.charCount(codepoint);
+            if (codepoint == '\n') {
+                penX = x;
+                penY += getLineHeight() * scale;
                 continue;
             }
-            if (c == ' ') {
-                xPos[0] += getCharWidth(' ') * scale;
+            GlyphAtlas.Glyph glyph = atlas.getGlyph(codepoint);
+            if (glyph == null) {
+                // Too large for the atlas or no room; keep the layout getTextSize reports
+                if (codepoint >= 32) penX += atlas.getAdvance(codepoint) * scale;
                 continue;
             }
-            if (c < 32 || c > 127) continue;
-            STBTTAlignedQuad quad = STBTTAlignedQuad.malloc();
-            STBTruetype.stbtt_GetBakedQuad(charData, bitmapWidth, bitmapHeight, c - 32, xPos, yPos, quad, false);
-    
-            // Correct quad position: add pen position to quad offsets
-            float x0 = quad.x0();
-            float y0 = quad.y0();
-            float x1 = quad.x1();
-            float y1 = quad.y1();
-            float u0 = quad.s0();
-            float v0 = quad.t0();
-            float u1 = quad.s1();
-            float v1 = quad.t1();
-    
-            batchRenderer.addCharQuad(x0, y0, x1, y1, u0, v0, u1, v1);
-            quad.free();
+            if (glyph.hasBitmap()) {
+                float x0 = (float) Math.floor(penX + glyph.xOffset * scale + 0.5f);
+                float y0 = (float) Math.floor(penY + glyph.yOffset * scale + 0.5f);
+                float x1 = x0 + glyph.width * scale;
+                float y1 = y0 + glyph.height * scale;
+                if (intoUIBatch) {
+                    renderer.addQuad(
+                        (x0 + x1) * 0.5f, (y0 + y1) * 0.5f, x1 - x0, y1 - y0,
+                        glyph.getU0(), glyph.getV0(), glyph.getU1(), glyph.getV1(),
+                        color.x, color.y, color.z, alpha,
+                        atlas.getTextureId()
+                    );
+                } else {
+                    batchRenderer.addCharQuad(x0, y0, x1, y1, glyph.getU0(), glyph.getV0(), glyph.getU1(), glyph.getV1());
+                }
+            }
+            penX += glyph.advance * scale;
+        }
+        if (!intoUIBatch) {
+            // Use the font texture and color (alpha is handled in the shader)
+            batchRenderer.end(atlas.getTextureId(), color.x, color.y, color.z, alpha);
         }
-        // Use the font texture and color (alpha is handled in the shader)
-        batchRenderer.end(textureId, color.x, color.y, color.z, alpha);
-        //System.out.println("Current VAO: " + glGetInteger(GL_VERTEX_ARRAY_BINDING));
-        //System.out.println("Current Program: " + glGetInteger(GL_CURRENT_PROGRAM));
     }
 
     // Overload for drawText (no scale, defaults to 1.0f)
@@ -77,7 +97,8 @@ public class TextRenderer {
     public void drawTextCentered(String text, float centerX, float centerY, Vector3f color, float alpha, float scale) {
         Vector2f textSize = getTextSize(text, scale);
         float x = centerX - textSize.x / 2.0f;
-        float y = centerY - textSize.y / 2.0f + (textSize.y * 8000f);
+        // y is the first baseline, one ascent below the top of the block
+        float y = centerY - textSize.y / 2.0f + atlas.getAscent() * scale;
         drawText(text, x, y, color, alpha, scale);
     }
     public void drawTextCentered(String text, float centerX, float centerY, Vector3f color, float alpha) {
@@ -96,24 +117,20 @@ public class TextRenderer {
 
     // Text size
     public Vector2f getTextSize(String text, float scale) {
-        if (charData == null) return new Vector2f(0, 0);
         float maxWidth = 0, currentWidth = 0;
         float lineHeight = getLineHeight() * scale;
         int lineCount = 1;
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            if (c == '\n') {
+        for (int i = 0; i < text.length(); ) {
+            int codepoint = text.codePointAt(i);
+            i += Character.charCount(codepoint);
+            if (codepoint == '\n') {
                 maxWidth = Math.max(maxWidth, currentWidth);
                 currentWidth = 0;
                 lineCount++;
                 continue;
             }
-            if (c == ' ') {
-                currentWidth += getCharWidth(' ') * scale;
-                continue;
-            }
-            if (c < 32 || c > 127) continue;
-            currentWidth += charData.get(c - 32).xadvance() * scale;
+            if (codepoint < 32) continue;
+            currentWidth += atlas.getAdvance(codepoint) * scale;
         }
         maxWidth = Math.max(maxWidth, currentWidth);
         float totalHeight = lineHeight * lineCount;
@@ -124,11 +141,15 @@ public class TextRenderer {
     }
 
     public float getCharWidth(char c) {
-        if (c < 32 || c > 127) return 0;
-        return charData.get(c - 32).xadvance();
+        if (c < 32) return 0;
+        return atlas.getAdvance(c);
     }
 
     public float getLineHeight() {
-        return charData.get(0).y1() - charData.get(0).y0();
+        return atlas.getLineHeight();
+    }
+
+    public GlyphAtlas getAtlas() {
+        return atlas;
     }
-}
\ No newline at end of file
+}
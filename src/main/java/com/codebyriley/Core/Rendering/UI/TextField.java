@@ -58,9 +58,11 @@ public class TextField extends UIElement {
             if (cursorBlinkTime >= cursorBlinkRate) {
                 cursorBlinkTime = 0.0f;
                 showCursor = !showCursor;
+                markDirty();
             }
-        } else {
+        } else if (showCursor) {
             showCursor = false;
+            markDirty();
         }
     }
     
@@ -131,6 +133,13 @@ public class TextField extends UIElement {
         return false;
     }
     
+    @Override
+    protected void getRenderBounds(float[] bounds) {
+        super.getRenderBounds(bounds);
+        String displayText = text.isEmpty() ? placeholder : (passwordMode ? "*".repeat(text.length()) : text);
+        includeTextBounds(bounds, textRenderer, displayText, x + 5.0f, y + height / 2.0f, textScale);
+    }
+
     /**
      * Handle key press
      */
@@ -163,11 +172,13 @@ public class TextField extends UIElement {
             case 262: // GLFW_KEY_RIGHT
                 if (cursorPosition < text.length()) {
                     cursorPosition++;
+                    markDirty();
                 }
                 return true;
             case 263: // GLFW_KEY_LEFT
                 if (cursorPosition > 0) {
                     cursorPosition--;
+                    markDirty();
                 }
                 return true;
             case 265: // GLFW_KEY_UP
@@ -219,6 +230,7 @@ public class TextField extends UIElement {
      */
     public void setPlaceholder(String placeholder) {
         this.placeholder = placeholder != null ? placeholder : "";
+        markDirty();
     }
     
     /**
@@ -233,6 +245,7 @@ public class TextField extends UIElement {
      */
     public void setFocused(boolean focused) {
         this.focused = focused;
+        markDirty();
         if (focused) {
             cursorBlinkTime = 0.0f;
             showCursor = true;
@@ -277,6 +290,7 @@ public class TextField extends UIElement {
      */
     public void setPasswordMode(boolean passwordMode) {
         this.passwordMode = passwordMode;
+        markDirty();
     }
     
     /**
@@ -297,6 +311,7 @@ public class TextField extends UIElement {
      * Notify text change callback
      */
     private void notifyTextChanged() {
+        markDirty();
         if (onTextChanged != null) {
             onTextChanged.accept(text);
         }
@@ -1,6 +1,7 @@
 package com.codebyriley.Core.Rendering.UI;
 
 import com.codebyriley.Core.Rendering.UIRenderer;
+import com.codebyriley.Core.Rendering.UI.Text.TextRenderer;
 import com.codebyriley.Util.Log;
 import com.codebyriley.Util.Math.Vector2f;
 import com.codebyriley.Util.Math.Vector3f;
@@ -8,6 +9,11 @@ import com.codebyriley.Util.Math.Vector3f;
 /**
  * Base class for all UI elements.
  * Provides common functionality like positioning, sizing, and input handling.
+ *
+ * Elements track whether their appearance changed since they were last drawn so a cached
+ * UIManager can skip re-rendering. Setters that change what render() draws call markDirty();
+ * subclasses must do the same for their own state. Colors are compared by reference, so
+ * mutating a Vector3f returned by a getter needs an explicit markDirty().
  */
 public abstract class UIElement {
     protected float x, y, width, height;
@@ -19,6 +25,14 @@ public abstract class UIElement {
     protected boolean visible;
     protected boolean enabled;
     protected String id;
+
+    /** Extra pixels repainted around the element bounds on partial updates, covering borders and antialiased edges. */
+    protected static final float RENDER_BOUNDS_PADDING = 4.0f;
+
+    private boolean dirty = true;
+    private boolean drawn = false;
+    private final float[] drawnBounds = new float[4];
+    private final float[] boundsScratch = new float[4];
     
     public UIElement(float x, float y, float width, float height) {
         this.x = x;
@@ -120,44 +134,127 @@ public abstract class UIElement {
     
     // Getters and setters
     public float getX() { return x; }
-    public void setX(float x) { this.x = x; }
+    public void setX(float x) { if (this.x != x) { this.x = x; markDirty(); } }
     
     public float getY() { return y; }
-    public void setY(float y) { this.y = y; }
+    public void setY(float y) { if (this.y != y) { this.y = y; markDirty(); } }
     
     public float getWidth() { return width; }
-    public void setWidth(float width) { this.width = width; }
+    public void setWidth(float width) { if (this.width != width) { this.width = width; markDirty(); } }
     
     public float getHeight() { return height; }
-    public void setHeight(float height) { this.height = height; }
+    public void setHeight(float height) { if (this.height != height) { this.height = height; markDirty(); } }
     
     public Vector2f getPosition() { return new Vector2f(x, y); }
-    public void setPosition(float x, float y) { this.x = x; this.y = y; }
+    public void setPosition(float x, float y) { setX(x); setY(y); }
     
     public Vector2f getSize() { return new Vector2f(width, height); }
-    public void setSize(float width, float height) { this.width = width; this.height = height; }
+    public void setSize(float width, float height) { setWidth(width); setHeight(height); }
     
     public Vector3f getBackgroundColor() { return backgroundColor; }
-    public void setBackgroundColor(Vector3f color) { this.backgroundColor = color; }
+    public void setBackgroundColor(Vector3f color) { this.backgroundColor = color; markDirty(); }
     
     public float getBackgroundAlpha() { return backgroundAlpha; }
-    public void setBackgroundAlpha(float alpha) { this.backgroundAlpha = alpha; }
+    public void setBackgroundAlpha(float alpha) { if (this.backgroundAlpha != alpha) { this.backgroundAlpha = alpha; markDirty(); } }
     
     public Vector3f getBorderColor() { return borderColor; }
-    public void setBorderColor(Vector3f color) { this.borderColor = color; }
+    public void setBorderColor(Vector3f color) { this.borderColor = color; markDirty(); }
     
     public float getBorderAlpha() { return borderAlpha; }
-    public void setBorderAlpha(float alpha) { this.borderAlpha = alpha; }
+    public void setBorderAlpha(float alpha) { if (this.borderAlpha != alpha) { this.borderAlpha = alpha; markDirty(); } }
     
     public float getBorderThickness() { return borderThickness; }
-    public void setBorderThickness(float thickness) { this.borderThickness = thickness; }
+    public void setBorderThickness(float thickness) { if (this.borderThickness != thickness) { this.borderThickness = thickness; markDirty(); } }
     
     public boolean isVisible() { return visible; }
-    public void setVisible(boolean visible) { this.visible = visible; }
+    public void setVisible(boolean visible) { if (this.visible != visible) { this.visible = visible; markDirty(); } }
     
     public boolean isEnabled() { return enabled; }
-    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public void setEnabled(boolean enabled) { if (this.enabled != enabled) { this.enabled = enabled; markDirty(); } }
     
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
+
+    // Dirty tracking
+
+    /**
+     * Flag the element for re-rendering by a cached UIManager.
+     */
+    public void markDirty() { dirty = true; }
+
+    /**
+     * Whether the element changed since it was last drawn into the UI cache.
+     */
+    public boolean isDirty() { return dirty; }
+
+    /**
+     * Write the screen area render() can touch as {minX, minY, maxX, maxY}.
+     * Override when drawing outside x/y/width/height, e.g. text or popups.
+     */
+    protected void getRenderBounds(float[] bounds) {
+        bounds[0] = x - RENDER_BOUNDS_PADDING;
+        bounds[1] = y - RENDER_BOUNDS_PADDING;
+        bounds[2] = x + width + RENDER_BOUNDS_PADDING;
+        bounds[3] = y + height + RENDER_BOUNDS_PADDING;
+    }
+
+    /**
+     * Grow bounds to cover a line of text drawn by TextRenderer.drawText at (textX, baselineY).
+     * Glyphs sit above the baseline, with descenders slightly below it.
+     */
+    protected static void includeTextBounds(float[] bounds, TextRenderer textRenderer, String text, float textX, float baselineY, float scale) {
+        if (textRenderer == null || text == null || text.isEmpty()) return;
+        Vector2f size = textRenderer.getTextSize(text, scale);
+        float lineHeight = textRenderer.getLineHeight() * scale;
+        include(bounds, textX - RENDER_BOUNDS_PADDING, baselineY - lineHeight - RENDER_BOUNDS_PADDING,
+            textX + size.x + RENDER_BOUNDS_PADDING, baselineY + size.y - lineHeight * 0.5f + RENDER_BOUNDS_PADDING);
+    }
+
+    static void include(float[] bounds, float minX, float minY, float maxX, float maxY) {
+        bounds[0] = Math.min(bounds[0], minX);
+        bounds[1] = Math.min(bounds[1], minY);
+        bounds[2] = Math.max(bounds[2], maxX);
+        bounds[3] = Math.max(bounds[3], maxY);
+    }
+
+    /**
+     * Grow region by the area that must be repainted for this element: where it was last
+     * drawn and where it draws now. Does nothing if the element is clean.
+     * @return true if the element was dirty
+     */
+    boolean collectDirtyRegion(float[] region) {
+        if (!dirty) return false;
+        if (drawn) include(region, drawnBounds[0], drawnBounds[1], drawnBounds[2], drawnBounds[3]);
+        if (visible) {
+            getRenderBounds(boundsScratch);
+            include(region, boundsScratch[0], boundsScratch[1], boundsScratch[2], boundsScratch[3]);
+        }
+        return true;
+    }
+
+    /**
+     * Grow region by the area this element was last drawn to, e.g. after it was removed.
+     */
+    void collectDrawnRegion(float[] region) {
+        if (drawn) include(region, drawnBounds[0], drawnBounds[1], drawnBounds[2], drawnBounds[3]);
+    }
+
+    /**
+     * Record the current bounds as drawn and clear the dirty flag.
+     */
+    void clearDirty() {
+        dirty = false;
+        drawn = visible;
+        if (drawn) getRenderBounds(drawnBounds);
+    }
+
+    /**
+     * Whether the element draws anything inside the given rectangle.
+     */
+    boolean intersectsRegion(float[] region) {
+        if (!visible) return false;
+        getRenderBounds(boundsScratch);
+        return boundsScratch[0] < region[2] && boundsScratch[2] > region[0]
+            && boundsScratch[1] < region[3] && boundsScratch[3] > region[1];
+    }
 } 
\ No newline at end of file
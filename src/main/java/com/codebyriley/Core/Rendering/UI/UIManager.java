@@ -1,7 +1,11 @@
 package com.codebyriley.Core.Rendering.UI;
 
+import com.codebyriley.Core.Rendering.GLStateCache;
 import com.codebyriley.Core.Rendering.UIRenderer;
+import com.codebyriley.Core.Rendering.WindowBase;
+import com.codebyriley.Util.Log;
 import com.codebyriley.Util.Math.Vector2f;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,6 +15,10 @@ import static org.lwjgl.opengl.GL43.*;
 
 /**
  * Manages all UI elements, handles input events, and coordinates rendering.
+ *
+ * With {@link #setCachedRendering(boolean)} the UI is drawn into an offscreen texture and
+ * only re-rendered when an element reports itself dirty; clean frames composite the texture
+ * with a single quad. By default only the dirty rectangle is cleared and redrawn.
  */
 public class UIManager {
     private List<UIElement> elements;
@@ -20,6 +28,20 @@ public class UIManager {
     private UIElement focusedElement;
     private boolean mousePressed;
     private float lastMouseX, lastMouseY;
+
+    // Offscreen UI cache
+    private boolean cachedRendering = false;
+    private boolean partialUpdates = true;
+    private int cacheFramebuffer = 0;
+    private int cacheTexture = 0;
+    private int cacheWidth = 0, cacheHeight = 0;
+    private boolean cacheInvalid = true;
+    private final float[] dirtyRegion = new float[4];
+    private final int[] savedFramebuffer = new int[1];
+    private final int[] savedViewport = new int[4];
+    private final float[] savedClearColor = new float[4];
+    private int redrawCount = 0;
+    private int partialRedrawCount = 0;
     
     public UIManager(UIRenderer renderer) {
         this.elements = new ArrayList<>();
@@ -37,6 +59,7 @@ public class UIManager {
      */
     public void addElement(UIElement element) {
         elements.add(element);
+        element.markDirty();
         if (element.getId() != null && !element.getId().isEmpty()) {
             elementsById.put(element.getId(), element);
         }
@@ -46,7 +69,7 @@ public class UIManager {
      * Remove a UI element from the manager
      */
     public void removeElement(UIElement element) {
-        elements.remove(element);
+        if (elements.remove(element)) cacheInvalid = true;
         if (element.getId() != null && !element.getId().isEmpty()) {
             elementsById.remove(element.getId());
         }
@@ -72,6 +95,7 @@ public class UIManager {
     public void clear() {
         elements.clear();
         elementsById.clear();
+        cacheInvalid = true;
         hoveredElement = null;
         focusedElement = null;
     }
@@ -88,27 +112,206 @@ public class UIManager {
     }
     
     /**
-     * Render all UI elements
+     * Render all UI elements. Leaves blending enabled with the standard alpha blend function
+     * and depth testing disabled so overlays drawn afterwards do not toggle state again;
+     * the caller restores it.
      */
     public void render() {
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
-        glDisable(GL_DEPTH_TEST);
-        
-        renderer.begin();
+        GLStateCache.setBlend(true);
+        GLStateCache.setDepthTest(false);
+
+        if (cachedRendering && updateCache()) {
+            // The cache holds premultiplied color. V is flipped since texture rows start at the bottom.
+            GLStateCache.blendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+            renderer.begin();
+            renderer.addQuad(cacheWidth / 2.0f, cacheHeight / 2.0f, cacheWidth, cacheHeight,
+                0.0f, 1.0f, 1.0f, 0.0f,
+                1.0f, 1.0f, 1.0f, 1.0f, cacheTexture);
+            renderer.end();
+            GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+            return;
+        }
+
+        GLStateCache.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        renderElements(null);
+    }
 
-        // Render elements in order (first added = rendered first = background)
+    /**
+     * Draw the elements in order (first added = rendered first = background).
+     * @param region Only draw elements touching this rectangle, or everything if null
+     */
+    private void renderElements(float[] region) {
+        renderer.begin();
         for (UIElement element : elements) {
-            element.render(renderer);
-            // if (element.isVisible()) {
-            //     element.render(renderer);
-            // }
+            if (region == null || element.intersectsRegion(region)) {
+                element.render(renderer);
+            }
         }
-        
         renderer.end();
+    }
+
+    /**
+     * Bring the offscreen cache up to date, re-rendering only if something changed.
+     * @return false if the cache cannot be used this frame (e.g. minimized window)
+     */
+    private boolean updateCache() {
+        int width = WindowBase.windowWidth;
+        int height = WindowBase.windowHeight;
+        if (width <= 0 || height <= 0) return false;
+        if (cacheFramebuffer == 0 || width != cacheWidth || height != cacheHeight) {
+            if (!createCache(width, height)) return false;
+        }
+
+        boolean fullRedraw = cacheInvalid || !partialUpdates;
+        boolean scissor = false;
+        if (fullRedraw) {
+            if (!cacheInvalid && !anyDirty()) return true;
+        } else {
+            dirtyRegion[0] = dirtyRegion[1] = Float.MAX_VALUE;
+            dirtyRegion[2] = dirtyRegion[3] = -Float.MAX_VALUE;
+            boolean dirty = false;
+            for (UIElement element : elements) {
+                dirty |= element.collectDirtyRegion(dirtyRegion);
+            }
+            if (!dirty) return true;
+            scissor = true;
+        }
+
+        glGetIntegerv(GL_FRAMEBUFFER_BINDING, savedFramebuffer);
+        glGetIntegerv(GL_VIEWPORT, savedViewport);
+        glGetFloatv(GL_COLOR_CLEAR_VALUE, savedClearColor);
+
+        glBindFramebuffer(GL_FRAMEBUFFER, cacheFramebuffer);
+        glViewport(0, 0, cacheWidth, cacheHeight);
+        if (scissor) {
+            // Region is in y-down pixels; scissor rectangles start at the bottom left
+            int minX = Math.max(0, (int) Math.floor(dirtyRegion[0]));
+            int minY = Math.max(0, (int) Math.floor(dirtyRegion[1]));
+            int maxX = Math.min(cacheWidth, (int) Math.ceil(dirtyRegion[2]));
+            int maxY = Math.min(cacheHeight, (int) Math.ceil(dirtyRegion[3]));
+            glEnable(GL_SCISSOR_TEST);
+            glScissor(minX, cacheHeight - Math.max(minY, maxY), Math.max(0, maxX - minX), Math.max(0, maxY - minY));
+        }
+        glClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        glClear(GL_COLOR_BUFFER_BIT);
+        Log.checkGLErrorDetailed("UIManager.updateCache", "clear cache");
+
+        // Accumulate premultiplied color so the cache composites like the direct path
+        GLStateCache.blendFuncSeparate(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA, GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+        renderElements(scissor ? dirtyRegion : null);
+        Log.checkGLErrorDetailed("UIManager.updateCache", "render elements");
+
+        if (scissor) glDisable(GL_SCISSOR_TEST);
+        glBindFramebuffer(GL_FRAMEBUFFER, savedFramebuffer[0]);
+        glViewport(savedViewport[0], savedViewport[1], savedViewport[2], savedViewport[3]);
+        glClearColor(savedClearColor[0], savedClearColor[1], savedClearColor[2], savedClearColor[3]);
+        Log.checkGLErrorDetailed("UIManager.updateCache", "restore framebuffer");
+
+        for (UIElement element : elements) {
+            element.clearDirty();
+        }
+        cacheInvalid = false;
+        redrawCount++;
+        if (scissor) partialRedrawCount++;
+        return true;
+    }
+
+    private boolean anyDirty() {
+        for (UIElement element : elements) {
+            if (element.isDirty()) return true;
+        }
+        return false;
+    }
+
+    private boolean createCache(int width, int height) {
+        deleteCache();
+        cacheTexture = glGenTextures();
+        GLStateCache.bindTexture(GL_TEXTURE_2D, cacheTexture);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer) null);
+        // Composited 1:1 with the window
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        GLStateCache.bindTexture(GL_TEXTURE_2D, 0);
+        Log.checkGLErrorDetailed("UIManager.createCache", "cache texture");
+
+        glGetIntegerv(GL_FRAMEBUFFER_BINDING, savedFramebuffer);
+        cacheFramebuffer = glGenFramebuffers();
+        glBindFramebuffer(GL_FRAMEBUFFER, cacheFramebuffer);
+        glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, cacheTexture, 0);
+        boolean complete = glCheckFramebufferStatus(GL_FRAMEBUFFER) == GL_FRAMEBUFFER_COMPLETE;
+        if (!complete) Log.logFramebufferStatus(cacheFramebuffer, "UIManager.createCache");
+        glBindFramebuffer(GL_FRAMEBUFFER, savedFramebuffer[0]);
+        Log.checkGLErrorDetailed("UIManager.createCache", "cache framebuffer");
+
+        if (!complete) {
+            Log.error("UIManager: UI cache framebuffer incomplete, falling back to direct rendering");
+            deleteCache();
+            cachedRendering = false;
+            return false;
+        }
+        cacheWidth = width;
+        cacheHeight = height;
+        cacheInvalid = true;
+        Log.debug("UIManager: UI cache resized to " + width + "x" + height);
+        return true;
+    }
+
+    private void deleteCache() {
+        if (cacheFramebuffer != 0) glDeleteFramebuffers(cacheFramebuffer);
+        if (cacheTexture != 0) GLStateCache.deleteTexture(cacheTexture);
+        cacheFramebuffer = 0;
+        cacheTexture = 0;
+        cacheWidth = cacheHeight = 0;
+    }
+
+    /**
+     * Render the UI into an offscreen texture and redraw it only when an element is dirty,
+     * or every frame straight to the screen (the default).
+     */
+    public void setCachedRendering(boolean cached) {
+        cachedRendering = cached;
+        cacheInvalid = true;
+        if (!cached) deleteCache();
+    }
 
-        glEnable(GL_DEPTH_TEST);
-        glDisable(GL_BLEND);
+    public boolean isCachedRendering() {
+        return cachedRendering;
+    }
+
+    /**
+     * In cached mode, redraw only the rectangle covering dirty elements instead of the whole
+     * cache. Elements that draw outside their bounds must report it via getRenderBounds.
+     */
+    public void setPartialUpdates(boolean partialUpdates) {
+        this.partialUpdates = partialUpdates;
+    }
+
+    public boolean isPartialUpdates() {
+        return partialUpdates;
+    }
+
+    /** Times the cache was re-rendered since the last reset. */
+    public int getRedrawCount() {
+        return redrawCount;
+    }
+
+    /** Re-renders since the last reset that only touched the dirty rectangle. */
+    public int getPartialRedrawCount() {
+        return partialRedrawCount;
+    }
+
+    public void resetRedrawCounts() {
+        redrawCount = 0;
+        partialRedrawCount = 0;
+    }
+
+    /**
+     * Free the offscreen cache.
+     */
+    public void destroy() {
+        deleteCache();
     }
     
     /**
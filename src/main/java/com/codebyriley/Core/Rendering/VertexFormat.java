@@ -0,0 +1,131 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.lwjgl.opengl.GL33.*;
+
+import java.nio.ByteBuffer;
+import com.codebyriley.Core.Rendering.Backend.RenderBackend;
+
+/**
+ * Vertex layouts used by the batch renderers.
+ *
+ * STANDARD:     x, y (float) | r, g, b, a (float) | u, v (float)     | texIndex (int)   = 36 bytes (32 without texIndex)
+ * COMPACT:      x, y (float) | RGBA8 (unorm)      | u, v (unorm16)    | texIndex (ubyte) = 20 bytes (16 without texIndex)
+ * COMPACT_HALF: x, y (float) | RGBA8 (unorm)      | u, v (half float) | texIndex (ubyte) = 20 bytes (16 without texIndex)
+ *
+ * COMPACT clamps UVs to [0, 1]; use COMPACT_HALF when textures are tiled with UVs outside that range.
+ * All formats feed the same attribute locations, and normalized/half attributes reach the shader
+ * as floats, so BatchVertexShader works unchanged for every format.
+ */
+public enum VertexFormat {
+    STANDARD,
+    COMPACT,
+    COMPACT_HALF;
+
+    /**
+     * Size of one vertex in bytes.
+     * @param withTexIndex Whether the layout carries a texture index (BatchedRenderer) or not (UIRenderer)
+     */
+    public int getStride(boolean withTexIndex) {
+        if (this == STANDARD) {
+            return withTexIndex ? 9 * Float.BYTES : 8 * Float.BYTES;
+        }
+        // Texture index byte is padded to keep vertices 4-byte aligned
+        return withTexIndex ? 20 : 16;
+    }
+
+    /**
+     * Configure vertex attributes 0-3 for this format. Expects the VAO and VBO to be bound.
+     */
+    public void setupAttributes(boolean withTexIndex) {
+        RenderBackend gl = GLStateCache.backend();
+        int stride = getStride(withTexIndex);
+        // Position (location 0): x, y
+        gl.glVertexAttribPointer(0, 2, GL_FLOAT, false, stride, 0);
+        gl.glEnableVertexAttribArray(0);
+        if (this == STANDARD) {
+            // Color (location 1): r, g, b, a
+            gl.glVertexAttribPointer(1, 4, GL_FLOAT, false, stride, 2 * Float.BYTES);
+            gl.glEnableVertexAttribArray(1);
+            // TexCoord (location 2): u, v
+            gl.glVertexAttribPointer(2, 2, GL_FLOAT, false, stride, 6 * Float.BYTES);
+            gl.glEnableVertexAttribArray(2);
+            if (withTexIndex) {
+                // Texture Index (location 3): texIndex
+                gl.glVertexAttribIPointer(3, 1, GL_INT, stride, 8 * Float.BYTES);
+                gl.glEnableVertexAttribArray(3);
+            }
+        } else {
+            // Color (location 1): normalized RGBA8
+            gl.glVertexAttribPointer(1, 4, GL_UNSIGNED_BYTE, true, stride, 8);
+            gl.glEnableVertexAttribArray(1);
+            // TexCoord (location 2): normalized unsigned shorts or half floats
+            if (this == COMPACT) {
+                gl.glVertexAttribPointer(2, 2, GL_UNSIGNED_SHORT, true, stride, 12);
+            } else {
+                gl.glVertexAttribPointer(2, 2, GL_HALF_FLOAT, false, stride, 12);
+            }
+            gl.glEnableVertexAttribArray(2);
+            if (withTexIndex) {
+                // Texture Index (location 3): unsigned byte
+                gl.glVertexAttribIPointer(3, 1, GL_UNSIGNED_BYTE, stride, 16);
+                gl.glEnableVertexAttribArray(3);
+            }
+        }
+    }
+
+    /**
+     * Write one vertex in this format.
+     */
+    public void put(ByteBuffer buffer, float x, float y, float r, float g, float b, float a, float u, float v, int texIndex, boolean withTexIndex) {
+        buffer.putFloat(x).putFloat(y);
+        if (this == STANDARD) {
+            buffer.putFloat(r).putFloat(g).putFloat(b).putFloat(a);
+            buffer.putFloat(u).putFloat(v);
+            if (withTexIndex) buffer.putInt(texIndex);
+            return;
+        }
+        buffer.put(packUnorm8(r)).put(packUnorm8(g)).put(packUnorm8(b)).put(packUnorm8(a));
+        if (this == COMPACT) {
+            buffer.putShort(packUnorm16(u)).putShort(packUnorm16(v));
+        } else {
+            buffer.putShort(toHalfFloat(u)).putShort(toHalfFloat(v));
+        }
+        if (withTexIndex) {
+            buffer.put((byte) texIndex).put((byte) 0).put((byte) 0).put((byte) 0);
+        }
+    }
+
+    public static byte packUnorm8(float value) {
+        float clamped = Math.max(0.0f, Math.min(1.0f, value));
+        return (byte) (int) (clamped * 255.0f + 0.5f);
+    }
+
+    public static short packUnorm16(float value) {
+        float clamped = Math.max(0.0f, Math.min(1.0f, value));
+        return (short) (int) (clamped * 65535.0f + 0.5f);
+    }
+
+    /**
+     * Convert a float to IEEE 754 half precision bits (round to nearest).
+     */
+    public static short toHalfFloat(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int exponent = ((bits >>> 23) & 0xFF) - 127 + 15;
+        int mantissa = bits & 0x7FFFFF;
+
+        if (exponent <= 0) {
+            // Subnormal half or zero
+            if (exponent < -10) return (short) sign;
+            mantissa = (mantissa | 0x800000) >> (1 - exponent);
+            return (short) (sign | ((mantissa + 0x1000) >> 13));
+        }
+        if (exponent >= 0x1F) {
+            // Overflow to infinity, keep NaN as NaN
+            boolean isNaN = ((bits >>> 23) & 0xFF) == 0xFF && mantissa != 0;
+            return (short) (sign | (isNaN ? 0x7E00 : 0x7C00));
+        }
+        // Rounding may carry into the exponent, which is still the correct result
+        return (short) (sign | ((exponent << 10) + ((mantissa + 0x1000) >> 13)));
+    }
+}
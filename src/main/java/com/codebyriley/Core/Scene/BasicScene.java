@@ -16,5 +16,6 @@ public class BasicScene extends SceneBase {
     public void FixedUpdate(float fixedDeltaTime) {}
     @Override
     public void Draw(BatchedRenderer renderer, TextRenderer textRenderer) {
+        DrawVisibleSprites(renderer);
     }
 }
\ No newline at end of file
@@ -36,4 +36,7 @@ public abstract class ComponentBase {
     }
 
     public abstract void OnDeserialize(Gson gson);
+
+    // Called when the component is removed from its entity; release shared resources here
+    public void OnDestroy() {}
 }
@@ -1,17 +1,25 @@
 package com.codebyriley.Core.Scene.Entities.Components;
 
 import com.codebyriley.Core.Rendering.Textures.Texture;
+import com.codebyriley.Core.Rendering.Textures.TextureAtlas;
+import com.codebyriley.Core.Rendering.Textures.TextureCache;
 import com.codebyriley.Core.Rendering.Textures.TextureLoader;
+import com.codebyriley.Core.Rendering.Textures.TextureRegion;
 import com.codebyriley.Util.Log;
 import com.google.gson.Gson;
 
 public class TexturedComponent extends ComponentBase {
-    public Texture mTexture;
+    // GL state, resolved again from mTexturePath after loading a scene
+    public transient Texture mTexture;
     public String mTexturePath;
     public float mWidth;
     public float mHeight;
     public float mR, mG, mB, mA;
-    private boolean textureLoaded = false;
+    // UV rectangle of the sprite within mTexture; not serialised, set again when the texture loads
+    public transient float mU1, mV1, mU2 = 1.0f, mV2 = 1.0f;
+    private transient boolean textureLoaded = false;
+    // Texture referenced in TextureCache on this component's behalf, released when replaced
+    private transient Texture cachedTexture;
     
     public TexturedComponent(String texturePath, float width, float height) {
         super("TexturedComponent");
@@ -40,14 +48,33 @@ public class TexturedComponent extends ComponentBase {
     public void loadTexture() {
         if (!textureLoaded && mTexturePath != null && !mTexturePath.isEmpty()) {
             try {
-                mTexture = TextureLoader.LoadTexture(mTexturePath);
-                textureLoaded = true;
+                TextureRegion region = TextureLoader.LoadRegion(mTexturePath);
+                SetRegion(region);
+                if (TextureCache.contains(region.mTexture)) {
+                    cachedTexture = region.mTexture;
+                }
             } catch (Exception e) {
                 System.err.println("Failed to load texture: " + mTexturePath + " - " + e.getMessage());
             }
         }
     }
     
+    /**
+     * Like loadTexture, but a standalone texture is decoded and uploaded in the background and
+     * shows the loader's placeholder until it is ready. Atlas regions resolve immediately.
+     */
+    public void loadTextureAsync() {
+        if (textureLoaded || mTexturePath == null || mTexturePath.isEmpty()) return;
+        TextureAtlas atlas = TextureLoader.GetAtlas();
+        if (atlas != null && atlas.contains(mTexturePath)) {
+            loadTexture();
+        } else {
+            Texture texture = TextureCache.acquireAsync(mTexturePath);
+            SetTexture(texture);
+            cachedTexture = texture;
+        }
+    }
+
     public void setColor(float r, float g, float b, float a) {
         mR = r;
         mG = g;
@@ -61,10 +88,33 @@ public class TexturedComponent extends ComponentBase {
     }
 
     public void SetTexture(Texture texture) {
+        releaseCachedTexture();
         mTexture = texture;
+        mU1 = 0.0f;
+        mV1 = 0.0f;
+        mU2 = 1.0f;
+        mV2 = 1.0f;
         textureLoaded = true;
     }
 
+    // Use a region of a shared texture such as an atlas page
+    public void SetRegion(TextureRegion region) {
+        releaseCachedTexture();
+        mTexture = region.mTexture;
+        mU1 = region.mU1;
+        mV1 = region.mV1;
+        mU2 = region.mU2;
+        mV2 = region.mV2;
+        textureLoaded = true;
+    }
+
+    private void releaseCachedTexture() {
+        if (cachedTexture != null) {
+            TextureCache.release(cachedTexture);
+            cachedTexture = null;
+        }
+    }
+
     public Texture GetTexture() {
         if (!textureLoaded) {
             loadTexture();
@@ -76,10 +126,31 @@ public class TexturedComponent extends ComponentBase {
         return textureLoaded && mTexture != null;
     }
 
+    /**
+     * Drop the texture and its TextureCache reference. GetTexture() loads it again.
+     */
+    public void ReleaseTexture() {
+        releaseCachedTexture();
+        mTexture = null;
+        textureLoaded = false;
+    }
+
+    @Override
+    public void OnDestroy() {
+        ReleaseTexture();
+    }
+
     @Override
     public void OnDeserialize(Gson gson) {
+        // Gson creates this without running the constructor or field initializers
+        mU1 = 0.0f;
+        mV1 = 0.0f;
+        mU2 = 1.0f;
+        mV2 = 1.0f;
+        textureLoaded = false;
         if(mTexturePath != null && !mTexturePath.isEmpty()) {
-            loadTexture();
+            // Scene loads must not stall on image decoding
+            loadTextureAsync();
             if(mTexture != null) {
                 textureLoaded = true;
             } else {
@@ -82,9 +82,13 @@ public class EntityBase {
     public void RemoveComponent(ComponentBase component) {
         if (componentMap.remove(component.mName) != null) {
             mComponents.remove(component);
+            component.OnDestroy();
         }
     }
     public void RemoveAllComponents() {
+        for (ComponentBase component : mComponents) {
+            component.OnDestroy();
+        }
         mComponents.clear();
         componentMap.clear();
     }
@@ -127,6 +131,9 @@ public class EntityBase {
         mIsVisible = isVisible;
     }
     public void Destroy() {
+        for (EntityBase child : mChildren) {
+            child.Destroy();
+        }
         RemoveAllComponents();
         RemoveParent();
     }
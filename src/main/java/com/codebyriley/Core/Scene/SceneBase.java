@@ -3,13 +3,31 @@ package com.codebyriley.Core.Scene;
 import java.util.ArrayList;
 
 import com.codebyriley.Core.Rendering.BatchedRenderer;
+import com.codebyriley.Core.Rendering.Camera2D;
+import com.codebyriley.Core.Rendering.RenderQueue;
+import com.codebyriley.Core.Rendering.WindowBase;
+import com.codebyriley.Core.Rendering.Textures.Texture;
+import com.codebyriley.Core.Rendering.Textures.TextureArray;
 import com.codebyriley.Core.Rendering.UI.Text.TextRenderer;
 import com.codebyriley.Core.Scene.Entities.Entity;
+import com.codebyriley.Core.Scene.Entities.EntityBase;
+import com.codebyriley.Core.Scene.Entities.Components.ComponentBase;
+import com.codebyriley.Core.Scene.Entities.Components.TexturedComponent;
 import com.codebyriley.Util.Log;
+import com.codebyriley.Util.Math.Transform;
 
 public abstract class SceneBase {
     public String mName = "Scene";
     public ArrayList<Entity> entities = new ArrayList<>();
+    public transient RenderQueue mRenderQueue = new RenderQueue();
+
+    // Broadphase for sprite culling, rebuilt from the entity list as entities move
+    private static final float SPATIAL_CELL_SIZE = 256.0f;
+    public transient SpatialGrid<Entity> mSpatialGrid = new SpatialGrid<>(SPATIAL_CELL_SIZE);
+    private transient ArrayList<Entity> mVisibleEntities = new ArrayList<>();
+    private transient int mVisibleSpriteCount = 0;
+    private transient int mCulledSpriteCount = 0;
+    private transient float[] mViewBounds = new float[4];
 
     public SceneBase(String name) {
         mName = name;
@@ -45,6 +63,10 @@ public abstract class SceneBase {
         return entities;
     }
 
+    /**
+     * Remove an entity from the scene. The entity keeps its components and children, so it
+     * can be added again or re-parented; use {@link #DestroyEntity} to discard it.
+     */
     public void RemoveEntity(Entity entity) {
         entities.remove(entity);
     }
@@ -52,7 +74,7 @@ public abstract class SceneBase {
     public void RemoveEntity(int id) {
         for(int i = 0; i < entities.size(); i++) {
             if(entities.get(i).mId == id) {
-                entities.remove(i);
+                entities.remove(i--);
             }
         }
     }
@@ -60,7 +82,7 @@ public abstract class SceneBase {
     public void RemoveEntity(String name) {
         for(int i = 0; i < entities.size(); i++) {
             if(entities.get(i).mName.equals(name)) {
-                entities.remove(i);
+                entities.remove(i--);
             }
         }
     }
@@ -69,6 +91,145 @@ public abstract class SceneBase {
         entities.clear();
     }
 
+    /**
+     * Remove an entity and destroy it, releasing what its components hold (e.g. cached textures).
+     */
+    public void DestroyEntity(Entity entity) {
+        if (entities.remove(entity)) {
+            entity.Destroy();
+        }
+    }
+
+    /**
+     * Destroy every entity, for a scene that will not be used again.
+     */
+    public void DestroyAllEntities() {
+        for (Entity entity : entities) {
+            entity.Destroy();
+        }
+        entities.clear();
+    }
+
+    /**
+     * Release the textures of this scene's sprites while keeping its entities. Called by
+     * SceneManager when the scene stops being current; sprites load their textures again
+     * through {@link TexturedComponent#GetTexture()} when they are next drawn.
+     */
+    public void Unload() {
+        for (Entity entity : entities) {
+            releaseTextures(entity);
+        }
+    }
+
+    private static void releaseTextures(EntityBase entity) {
+        for (ComponentBase component : entity.GetComponents()) {
+            if (component instanceof TexturedComponent) {
+                ((TexturedComponent) component).ReleaseTexture();
+            }
+        }
+        for (EntityBase child : entity.GetChildren()) {
+            releaseTextures(child);
+        }
+    }
+
+    /**
+     * Sync the spatial index with the entity list. Visible entities with a visible
+     * TexturedComponent are (re)registered with their current bounds; the grid only
+     * rebuckets those that moved into other cells. Everything else is dropped.
+     */
+    public void UpdateSpatialIndex() {
+        ensureRenderState();
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            if (!entity.mIsVisible) continue;
+            TexturedComponent sprite = entity.GetComponent(TexturedComponent.class);
+            if (sprite == null || !sprite.mIsVisible) continue;
+
+            Transform transform = entity.mTransform;
+            float halfWidth = Math.abs(sprite.mWidth * transform.mScale.x) * 0.5f;
+            float halfHeight = Math.abs(sprite.mHeight * transform.mScale.y) * 0.5f;
+            if (transform.mRotation != 0.0f) {
+                // Cover every rotation with the bounding circle
+                halfWidth = halfHeight = (float) Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight);
+            }
+            float x = transform.mPosition.x, y = transform.mPosition.y;
+            mSpatialGrid.update(entity, x - halfWidth, y - halfHeight, x + halfWidth, y + halfHeight);
+        }
+        mSpatialGrid.removeStale();
+    }
+
+    /**
+     * Draw the sprites of entities that intersect the renderer's camera view, or the window
+     * if the renderer has no camera.
+     */
+    public void DrawVisibleSprites(BatchedRenderer renderer) {
+        Camera2D camera = renderer.getCamera();
+        if (camera == null) {
+            DrawVisibleSprites(renderer, 0.0f, 0.0f, WindowBase.windowWidth, WindowBase.windowHeight);
+            return;
+        }
+        ensureRenderState();
+        // Sprites are submitted on layer 0
+        float[] view = camera.getVisibleBounds(camera.getParallax(0), mViewBounds);
+        DrawVisibleSprites(renderer, view[0], view[1], view[2], view[3]);
+    }
+
+    /**
+     * Draw the sprites of entities that intersect the view rectangle (in world pixels) through
+     * mRenderQueue. Sprites whose texture is in the renderer's texture array use its layers;
+     * the rest draw from their own texture or their sprite atlas region.
+     */
+    public void DrawVisibleSprites(BatchedRenderer renderer, float viewMinX, float viewMinY, float viewMaxX, float viewMaxY) {
+        UpdateSpatialIndex();
+        mVisibleEntities.clear();
+        mVisibleSpriteCount = mSpatialGrid.query(viewMinX, viewMinY, viewMaxX, viewMaxY, mVisibleEntities);
+        mCulledSpriteCount = mSpatialGrid.size() - mVisibleSpriteCount;
+
+        TextureArray textureArray = renderer.getTextureArray();
+        for (int i = 0; i < mVisibleEntities.size(); i++) {
+            Entity entity = mVisibleEntities.get(i);
+            TexturedComponent sprite = entity.GetComponent(TexturedComponent.class);
+            Transform transform = entity.mTransform;
+            float width = sprite.mWidth * transform.mScale.x;
+            float height = sprite.mHeight * transform.mScale.y;
+            int layer = textureArray != null && sprite.mTexturePath != null ? textureArray.getLayer(sprite.mTexturePath) : -1;
+            if (layer >= 0) {
+                mRenderQueue.submitLayer(0, RenderQueue.BlendMode.ALPHA, transform.mPosition.z,
+                    transform.mPosition.x, transform.mPosition.y, width, height, transform.mRotation,
+                    0.0f, 0.0f, 1.0f, 1.0f, sprite.mR, sprite.mG, sprite.mB, sprite.mA, layer);
+            } else {
+                // Loads first so the UVs are those of the resolved atlas region
+                Texture texture = sprite.GetTexture();
+                mRenderQueue.submit(0, RenderQueue.BlendMode.ALPHA, transform.mPosition.z,
+                    transform.mPosition.x, transform.mPosition.y, width, height, transform.mRotation,
+                    sprite.mU1, sprite.mV1, sprite.mU2, sprite.mV2, sprite.mR, sprite.mG, sprite.mB, sprite.mA,
+                    texture != null ? texture.mId : 0);
+            }
+        }
+        mRenderQueue.flush(renderer);
+    }
+
+    /**
+     * Gson skips field initializers for scene classes without a no-arg constructor,
+     * leaving the transient render state null.
+     */
+    private void ensureRenderState() {
+        if (mRenderQueue == null) mRenderQueue = new RenderQueue();
+        if (mSpatialGrid == null) mSpatialGrid = new SpatialGrid<>(SPATIAL_CELL_SIZE);
+        if (mVisibleEntities == null) mVisibleEntities = new ArrayList<>();
+        if (mViewBounds == null) mViewBounds = new float[4];
+    }
+
+    /** Sprites drawn by the last DrawVisibleSprites call. */
+    public int GetVisibleSpriteCount() {
+        return mVisibleSpriteCount;
+    }
+
+    /** Registered sprites skipped by the last DrawVisibleSprites call because they were off view. */
+    public int GetCulledSpriteCount() {
+        return mCulledSpriteCount;
+    }
+
     public abstract void Update(float dT);
     public abstract void FixedUpdate(float fixedDeltaTime);
     public abstract void Draw(BatchedRenderer renderer, TextRenderer textRenderer);
@@ -41,6 +41,7 @@ public class SceneManager {
 
             if (t >= 1.0f && mFadingOut) {
                 // Switch scenes and start fade-in
+                unloadScene(mCurrentScene, mNextScene);
                 mCurrentScene = mNextScene;
                 mNextScene = null;
                 mTransitionElapsed = 0f;
@@ -80,9 +81,17 @@ public class SceneManager {
     }
 
     public static void SetScene(SceneBase scene) {
+        unloadScene(mCurrentScene, scene);
         mCurrentScene = scene;
     }
 
+    // Release the outgoing scene's textures to the cache; its entities stay for switching back
+    private static void unloadScene(SceneBase outgoing, SceneBase incoming) {
+        if (outgoing != null && outgoing != incoming) {
+            outgoing.Unload();
+        }
+    }
+
     public static SceneBase GetCurrentScene() {
         return mCurrentScene;
     }
@@ -3,6 +3,7 @@ package com.codebyriley.Core.Scene;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.codebyriley.Util.Log;
+import com.codebyriley.Util.Profiler;
 import com.codebyriley.Core.Scene.Entities.EntityBase;
 import com.codebyriley.Core.Scene.Entities.Components.ComponentBase;
 import static com.codebyriley.Util.AppdataPath.getAppdataPath;
@@ -102,7 +103,9 @@ public class SceneSerialisation {
 
     public static void SaveSceneWithUI(SceneWithUI scene) {
         // Save the scene (entities + UI) to a file
+        Profiler.begin("scene.serialise");
         String json = gson.toJson(scene);
+        Profiler.end();
         String filePath = scenePath + scene.mName + ".json";
         try {
             if(json == null || json.isEmpty()) {
@@ -127,6 +130,7 @@ public class SceneSerialisation {
     public static SceneWithUI LoadSceneWithUI(String path) throws IOException {
         // Load the scene (entities + UI) from a file
         String json = new String(Files.readAllBytes(Paths.get(getAppdataPath() + "saves/" + path + ".json")));
+        Profiler.begin("scene.deserialise");
         SceneWithUI scene = gson.fromJson(json, SceneWithUI.class);
         // Restore parent links and reload components for all entities
         if (scene != null && scene.entities != null) {
@@ -137,12 +141,15 @@ public class SceneSerialisation {
             // Set custom parent relationships if needed
             setCustomParentRelationships(scene.entities);
         }
+        Profiler.end();
         return scene;
     }
 
     // --- Legacy methods for entity-only scenes (optional) ---
     public static void SaveScene(SceneBase scene) {
+        Profiler.begin("scene.serialise");
         String json = toJson(scene);
+        Profiler.end();
         String filePath = scenePath + scene.mName + ".json";
         try {
             if(json == null || json.isEmpty()) {
@@ -166,6 +173,7 @@ public class SceneSerialisation {
 
     public static <T extends SceneBase> T LoadScene(String path, Class<T> clazz) throws IOException {
         String json = new String(Files.readAllBytes(Paths.get(getAppdataPath() + "saves/" + path + ".json")));
+        Profiler.begin("scene.deserialise");
         T scene = fromJson(json, clazz);
         if (scene != null) {
             for (EntityBase entity : scene.entities) {
@@ -173,6 +181,7 @@ public class SceneSerialisation {
                 restoreComponentLinks(entity);
             }
         }
+        Profiler.end();
         return scene;
     }
 
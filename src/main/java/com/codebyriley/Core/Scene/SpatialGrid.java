@@ -0,0 +1,179 @@
+package com.codebyriley.Core.Scene;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid broadphase over axis-aligned bounds, used to find the items overlapping a rectangle
+ * (e.g. the camera view) without testing every item.
+ *
+ * Items are stored in every cell their bounds touch. Cells are created on demand in a hash map, so
+ * the world does not need fixed limits. {@link #update} only touches the cell lists when an item
+ * moves into a different range of cells; moving within its cells just updates the stored bounds.
+ *
+ * Callers that cannot observe removals directly can re-submit all live items each frame with
+ * update() and then call {@link #removeStale()} to drop the ones that were not submitted.
+ */
+public class SpatialGrid<T> {
+
+    private static class Entry<T> {
+        final T item;
+        float minX, minY, maxX, maxY;
+        int cellMinX, cellMinY, cellMaxX, cellMaxY;
+        int queryStamp;
+        int updateStamp;
+
+        Entry(T item) {
+            this.item = item;
+        }
+    }
+
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private int queryStamp = 0;
+    private int updateStamp = 0;
+
+    /**
+     * @param cellSize: cell edge length in world units, roughly a few times the typical item size
+     */
+    public SpatialGrid(float cellSize) {
+        if (cellSize <= 0.0f) {
+            throw new IllegalArgumentException("SpatialGrid cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+    }
+
+    /**
+     * Insert an item, or move it if it is already in the grid.
+     */
+    public void update(T item, float minX, float minY, float maxX, float maxY) {
+        Entry<T> entry = entries.get(item);
+        int cellMinX = cell(minX), cellMinY = cell(minY);
+        int cellMaxX = cell(maxX), cellMaxY = cell(maxY);
+        if (entry == null) {
+            entry = new Entry<>(item);
+            entries.put(item, entry);
+            setCells(entry, cellMinX, cellMinY, cellMaxX, cellMaxY);
+            addToCells(entry);
+        } else if (entry.cellMinX != cellMinX || entry.cellMinY != cellMinY
+                || entry.cellMaxX != cellMaxX || entry.cellMaxY != cellMaxY) {
+            removeFromCells(entry);
+            setCells(entry, cellMinX, cellMinY, cellMaxX, cellMaxY);
+            addToCells(entry);
+        }
+        entry.minX = minX;
+        entry.minY = minY;
+        entry.maxX = maxX;
+        entry.maxY = maxY;
+        entry.updateStamp = updateStamp;
+    }
+
+    public void remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry != null) removeFromCells(entry);
+    }
+
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Remove every item that was not passed to update() since the last call.
+     */
+    public void removeStale() {
+        Iterator<Entry<T>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next();
+            if (entry.updateStamp != updateStamp) {
+                removeFromCells(entry);
+                it.remove();
+            }
+        }
+        updateStamp++;
+    }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Collect the items whose bounds intersect the rectangle. Each item is added once.
+     * @return number of items added to out
+     */
+    public int query(float minX, float minY, float maxX, float maxY, List<T> out) {
+        int stamp = ++queryStamp;
+        int found = 0;
+        int cellMaxX = cell(maxX), cellMaxY = cell(maxY);
+        for (int cy = cell(minY); cy <= cellMaxY; cy++) {
+            for (int cx = cell(minX); cx <= cellMaxX; cx++) {
+                List<Entry<T>> bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size(); i++) {
+                    Entry<T> entry = bucket.get(i);
+                    if (entry.queryStamp == stamp) continue;
+                    entry.queryStamp = stamp;
+                    if (entry.maxX < minX || entry.minX > maxX || entry.maxY < minY || entry.minY > maxY) continue;
+                    out.add(entry.item);
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /** Number of non-empty cells. */
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private void setCells(Entry<T> entry, int cellMinX, int cellMinY, int cellMaxX, int cellMaxY) {
+        entry.cellMinX = cellMinX;
+        entry.cellMinY = cellMinY;
+        entry.cellMaxX = cellMaxX;
+        entry.cellMaxY = cellMaxY;
+    }
+
+    private void addToCells(Entry<T> entry) {
+        for (int cy = entry.cellMinY; cy <= entry.cellMaxY; cy++) {
+            for (int cx = entry.cellMinX; cx <= entry.cellMaxX; cx++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        for (int cy = entry.cellMinY; cy <= entry.cellMaxY; cy++) {
+            for (int cx = entry.cellMinX; cx <= entry.cellMaxX; cx++) {
+                long key = key(cx, cy);
+                List<Entry<T>> bucket = cells.get(key);
+                if (bucket == null) continue;
+                bucket.remove(entry);
+                if (bucket.isEmpty()) cells.remove(key);
+            }
+        }
+    }
+}
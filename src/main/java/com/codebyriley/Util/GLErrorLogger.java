@@ -2,6 +2,8 @@ package com.codebyriley.Util;
 
 import static org.lwjgl.opengl.GL33.*;
 
+import com.codebyriley.Core.Rendering.GLStateCache;
+
 /**
  * Specialized OpenGL error logging utility that integrates with the main Logger system.
  * Provides convenient methods for checking and logging OpenGL errors.
@@ -24,7 +26,7 @@ public class GLErrorLogger {
      * @return true if an error was found and logged, false otherwise
      */
     public static boolean checkGLError(String context) {
-        int error = glGetError();
+        int error = GLStateCache.backend().glGetError();
         if (error != GL_NO_ERROR) {
             String errorMessage = getGLErrorString(error);
             String fullMessage = context.isEmpty() ? 
@@ -86,7 +88,7 @@ public class GLErrorLogger {
     public static int logAllGLErrors(String context) {
         int errorCount = 0;
         int error;
-        while ((error = glGetError()) != GL_NO_ERROR) {
+        while ((error = GLStateCache.backend().glGetError()) != GL_NO_ERROR) {
             String errorMessage = getGLErrorString(error);
             String fullMessage = context.isEmpty() ? 
                 "OpenGL Error: " + errorMessage + " (0x" + Integer.toHexString(error).toUpperCase() + ")" :
@@ -191,7 +193,7 @@ public class GLErrorLogger {
      * @return true if an error was found and logged, false otherwise
      */
     public static boolean checkGLErrorDetailed(String context, String operation) {
-        int error = glGetError();
+        int error = GLStateCache.backend().glGetError();
         if (error != GL_NO_ERROR) {
             String errorMessage = getGLErrorString(error);
             StringBuilder detailedMessage = new StringBuilder();
@@ -2,7 +2,7 @@ package com.codebyriley.Util.Math;
 
 public class Transform {
     public Vector3f mPosition;
-    public float mRotation;
+    public float mRotation; // Radians
     public Vector3f mScale;
     
     public Transform() {
@@ -0,0 +1,246 @@
+package com.codebyriley.Util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hierarchical CPU frame profiler.
+ *
+ * Wrap work in {@code Profiler.begin("scene.update")} / {@code Profiler.end()}; zones nest, and
+ * each frame is bracketed by {@link #beginFrame()} / {@link #endFrame()}. Zone timings use
+ * System.nanoTime and are stored in preallocated flat arrays, one block of {@link #MAX_ZONES}
+ * per frame, for the last {@link #HISTORY_FRAMES} frames. Recording does not allocate.
+ *
+ * Disabled by default. While disabled, begin and end return on a single static field check and
+ * no storage is allocated. Enabling or disabling takes effect at the next beginFrame so a frame
+ * is never recorded half-way. Zones past the per-frame capacity are dropped and counted;
+ * zones left open at endFrame are closed there.
+ */
+public class Profiler {
+    public static final int HISTORY_FRAMES = 120;
+    public static final int MAX_ZONES = 512;
+    private static final int MAX_DEPTH = 32;
+
+    /** Receives the zones of a frame in the order they were opened. */
+    public interface ZoneVisitor {
+        void visit(String name, int depth, long startNanos, long durationNanos);
+    }
+
+    private static boolean enabled = false;
+    private static boolean pendingEnabled = false;
+    private static boolean inFrame = false;
+
+    // Zone names interned to small ids
+    private static final Map<String, Integer> nameIds = new HashMap<>();
+    private static String[] names = new String[64];
+
+    // History ring; zone i of frame f lives at f * MAX_ZONES + i
+    private static int[] zoneNames;
+    private static byte[] zoneDepths;
+    private static long[] zoneStarts;
+    private static long[] zoneDurations;
+    private static int[] zoneCounts;
+    private static long[] frameStarts;
+    private static long[] frameDurations;
+    private static int frameIndex = 0;
+    private static int recordedFrames = 0;
+
+    // Open zones of the current frame (indices into the frame's block, -1 for dropped zones)
+    private static final int[] stack = new int[MAX_DEPTH];
+    private static int depth = 0;
+    private static int droppedZones = 0;
+
+    /**
+     * Enable or disable recording from the next frame on.
+     */
+    public static void setEnabled(boolean enable) {
+        pendingEnabled = enable;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void beginFrame() {
+        if (inFrame) endFrame();
+        if (pendingEnabled != enabled) {
+            enabled = pendingEnabled;
+            if (enabled && zoneNames == null) allocate();
+        }
+        if (!enabled) return;
+        inFrame = true;
+        depth = 0;
+        zoneCounts[frameIndex] = 0;
+        frameStarts[frameIndex] = System.nanoTime();
+    }
+
+    public static void endFrame() {
+        if (!enabled || !inFrame) return;
+        long now = System.nanoTime();
+        if (depth > 0) {
+            Log.warnSuppressed("Profiler: " + depth + " zone(s) left open at end of frame");
+            while (depth > 0) closeZone(now);
+        }
+        frameDurations[frameIndex] = now - frameStarts[frameIndex];
+        frameIndex = (frameIndex + 1) % HISTORY_FRAMES;
+        if (recordedFrames < HISTORY_FRAMES) recordedFrames++;
+        inFrame = false;
+    }
+
+    public static void begin(String name) {
+        if (!enabled || !inFrame) return;
+        if (depth >= MAX_DEPTH) {
+            droppedZones++;
+            depth++;
+            return;
+        }
+        int count = zoneCounts[frameIndex];
+        if (count >= MAX_ZONES) {
+            droppedZones++;
+            stack[depth++] = -1;
+            return;
+        }
+        int slot = frameIndex * MAX_ZONES + count;
+        zoneNames[slot] = intern(name);
+        zoneDepths[slot] = (byte) depth;
+        stack[depth++] = count;
+        zoneCounts[frameIndex] = count + 1;
+        zoneStarts[slot] = System.nanoTime();
+    }
+
+    public static void end() {
+        if (!enabled || !inFrame || depth == 0) return;
+        closeZone(System.nanoTime());
+    }
+
+    private static void closeZone(long now) {
+        depth--;
+        if (depth >= MAX_DEPTH) return;
+        int zone = stack[depth];
+        if (zone < 0) return;
+        int slot = frameIndex * MAX_ZONES + zone;
+        zoneDurations[slot] = now - zoneStarts[slot];
+    }
+
+    private static int intern(String name) {
+        Integer id = nameIds.get(name);
+        if (id != null) return id;
+        int newId = nameIds.size();
+        if (newId >= names.length) {
+            String[] grown = new String[names.length * 2];
+            System.arraycopy(names, 0, grown, 0, names.length);
+            names = grown;
+        }
+        names[newId] = name;
+        nameIds.put(name, newId);
+        return newId;
+    }
+
+    private static void allocate() {
+        int capacity = HISTORY_FRAMES * MAX_ZONES;
+        zoneNames = new int[capacity];
+        zoneDepths = new byte[capacity];
+        zoneStarts = new long[capacity];
+        zoneDurations = new long[capacity];
+        zoneCounts = new int[HISTORY_FRAMES];
+        frameStarts = new long[HISTORY_FRAMES];
+        frameDurations = new long[HISTORY_FRAMES];
+    }
+
+    // --- History queries ---
+
+    /** Number of completed frames in the history, up to HISTORY_FRAMES. */
+    public static int getRecordedFrames() {
+        return recordedFrames;
+    }
+
+    private static int historyFrame(int framesAgo) {
+        if (framesAgo < 0 || framesAgo >= recordedFrames) {
+            throw new IllegalArgumentException("Profiler: frame " + framesAgo + " not in history of " + recordedFrames);
+        }
+        return ((frameIndex - 1 - framesAgo) % HISTORY_FRAMES + HISTORY_FRAMES) % HISTORY_FRAMES;
+    }
+
+    /**
+     * Visit the zones of a completed frame.
+     * @param framesAgo: 0 for the most recent completed frame
+     */
+    public static void forEachZone(int framesAgo, ZoneVisitor visitor) {
+        int frame = historyFrame(framesAgo);
+        int base = frame * MAX_ZONES;
+        for (int i = 0; i < zoneCounts[frame]; i++) {
+            int slot = base + i;
+            visitor.visit(names[zoneNames[slot]], zoneDepths[slot], zoneStarts[slot] - frameStarts[frame], zoneDurations[slot]);
+        }
+    }
+
+    public static float getFrameMs(int framesAgo) {
+        return frameDurations[historyFrame(framesAgo)] / 1_000_000.0f;
+    }
+
+    public static float getAverageFrameMs() {
+        if (recordedFrames == 0) return 0.0f;
+        long total = 0;
+        for (int i = 0; i < recordedFrames; i++) {
+            total += frameDurations[historyFrame(i)];
+        }
+        return total / (recordedFrames * 1_000_000.0f);
+    }
+
+    /**
+     * Time spent in a zone during one frame, summed over every time it was entered.
+     */
+    public static float getZoneMs(String name, int framesAgo) {
+        Integer id = nameIds.get(name);
+        if (id == null) return 0.0f;
+        int frame = historyFrame(framesAgo);
+        int base = frame * MAX_ZONES;
+        long total = 0;
+        for (int i = 0; i < zoneCounts[frame]; i++) {
+            if (zoneNames[base + i] == id) total += zoneDurations[base + i];
+        }
+        return total / 1_000_000.0f;
+    }
+
+    /**
+     * Per-frame time in a zone averaged over the history.
+     */
+    public static float getAverageZoneMs(String name) {
+        if (recordedFrames == 0) return 0.0f;
+        float total = 0.0f;
+        for (int i = 0; i < recordedFrames; i++) {
+            total += getZoneMs(name, i);
+        }
+        return total / recordedFrames;
+    }
+
+    /** Zones dropped because a frame ran out of zone storage or nesting depth. */
+    public static int getDroppedZones() {
+        return droppedZones;
+    }
+
+    /**
+     * Indented tree of a completed frame's zones, for logging.
+     */
+    public static String dumpFrame(int framesAgo) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Frame %.3f ms", getFrameMs(framesAgo)));
+        forEachZone(framesAgo, (name, zoneDepth, start, duration) -> {
+            out.append('\n');
+            for (int i = 0; i <= zoneDepth; i++) out.append("  ");
+            out.append(name).append(String.format(" %.3f ms", duration / 1_000_000.0f));
+        });
+        return out.toString();
+    }
+
+    /**
+     * Drop the recorded history. Interned zone names are kept.
+     */
+    public static void clear() {
+        recordedFrames = 0;
+        frameIndex = 0;
+        droppedZones = 0;
+        depth = 0;
+        inFrame = false;
+    }
+}
@@ -0,0 +1,33 @@
+#version 330 core
+// Shared unit quad
+layout(location = 0) in vec2 aCorner; // -0.5..0.5
+// Per-instance attributes
+layout(location = 1) in vec2 aCenter;
+layout(location = 2) in vec2 aSize;
+layout(location = 3) in float aRotation;
+layout(location = 4) in vec4 aUVRect; // u1, v1, u2, v2
+layout(location = 5) in vec4 aColor;
+layout(location = 6) in int aTexIndex;
+
+uniform mat4 uViewProjection; // World (or screen) pixels to clip space, see Camera2D
+
+out vec4 vColor;
+out vec2 vTexCoord;
+flat out int vTexIndex;
+
+void main() {
+    // Scale and rotate the unit quad about the sprite center
+    vec2 local = aCorner * aSize;
+    float cosA = cos(aRotation);
+    float sinA = sin(aRotation);
+    vec2 pos = aCenter + vec2(
+        local.x * cosA - local.y * sinA,
+        local.x * sinA + local.y * cosA
+    );
+
+    gl_Position = uViewProjection * vec4(pos, 0.0, 1.0);
+
+    vColor = aColor;
+    vTexCoord = mix(aUVRect.xy, aUVRect.zw, aCorner + 0.5);
+    vTexIndex = aTexIndex;
+}
@@ -0,0 +1,34 @@
+#version 330 core
+in vec2 vLocal;
+flat in vec2 vHalfSize;
+flat in vec2 vShape; // corner radius, outline thickness
+flat in vec4 vFillColor;
+flat in vec4 vOutlineColor;
+layout(location = 0) out vec4 FragColor;
+
+// Signed distance to a box with rounded corners, negative inside
+float roundedBoxDistance(vec2 p, vec2 halfSize, float radius) {
+    vec2 q = abs(p) - halfSize + radius;
+    return length(max(q, 0.0)) + min(max(q.x, q.y), 0.0) - radius;
+}
+
+void main() {
+    float radius = min(vShape.x, min(vHalfSize.x, vHalfSize.y));
+    float thickness = vShape.y;
+    float d = roundedBoxDistance(vLocal, vHalfSize, radius);
+
+    // One pixel wide edge whatever the zoom
+    float aa = max(fwidth(d), 1e-4);
+    float coverage = clamp(0.5 - d / aa, 0.0, 1.0);
+    if (coverage <= 0.0) discard;
+
+    // The outline is the band of the given thickness just inside the edge
+    float outline = thickness > 0.0 ? clamp(0.5 + (d + thickness) / aa, 0.0, 1.0) : 0.0;
+
+    // Blend fill and outline premultiplied so a transparent fill does not tint the outline
+    vec4 fill = vec4(vFillColor.rgb * vFillColor.a, vFillColor.a);
+    vec4 stroke = vec4(vOutlineColor.rgb * vOutlineColor.a, vOutlineColor.a);
+    vec4 color = mix(fill, stroke, outline);
+    if (color.a <= 0.0) discard;
+    FragColor = vec4(color.rgb / color.a, color.a * coverage);
+}
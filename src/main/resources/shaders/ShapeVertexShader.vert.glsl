@@ -0,0 +1,38 @@
+#version 330 core
+// Shared unit quad
+layout(location = 0) in vec2 aCorner; // -0.5..0.5
+// Per-instance attributes
+layout(location = 1) in vec2 aCenter;
+layout(location = 2) in vec2 aHalfSize;
+layout(location = 3) in float aRotation;
+layout(location = 4) in vec2 aShape; // corner radius, outline thickness
+layout(location = 5) in vec4 aFillColor;
+layout(location = 6) in vec4 aOutlineColor;
+
+uniform mat4 uViewProjection; // World (or screen) pixels to clip space, see Camera2D
+uniform float uAAMargin;      // World units added around each shape for the anti-aliased edge
+
+out vec2 vLocal;
+flat out vec2 vHalfSize;
+flat out vec2 vShape;
+flat out vec4 vFillColor;
+flat out vec4 vOutlineColor;
+
+void main() {
+    // Grow the quad so the smoothed edge is not clipped
+    vec2 local = aCorner * 2.0 * (aHalfSize + uAAMargin);
+    float cosA = cos(aRotation);
+    float sinA = sin(aRotation);
+    vec2 pos = aCenter + vec2(
+        local.x * cosA - local.y * sinA,
+        local.x * sinA + local.y * cosA
+    );
+
+    gl_Position = uViewProjection * vec4(pos, 0.0, 1.0);
+
+    vLocal = local;
+    vHalfSize = aHalfSize;
+    vShape = aShape;
+    vFillColor = aFillColor;
+    vOutlineColor = aOutlineColor;
+}
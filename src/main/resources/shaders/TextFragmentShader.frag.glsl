@@ -1,10 +1,18 @@
 #version 330 core
+// Variants (see ShaderVariantSet): GLYPH reads coverage from the atlas alpha, SDF reads a
+// signed distance field (0.5 at the glyph edge) and antialiases it over one screen pixel
 in vec2 TexCoord;
 out vec4 FragColor;
 uniform sampler2D uFontAtlas;
 uniform vec3 uTextColor;
 uniform float uTextAlpha;
 void main() {
+#if defined(SDF)
+    float distance = texture(uFontAtlas, TexCoord).a;
+    float width = fwidth(distance);
+    float alpha = smoothstep(0.5 - width, 0.5 + width, distance);
+#else
     float alpha = texture(uFontAtlas, TexCoord).a;
+#endif
     FragColor = vec4(uTextColor, alpha * uTextAlpha);
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.codebyriley.Core.Rendering;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.opengl.GL33.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.codebyriley.Core.Rendering.Backend.RecordingRenderBackend;
+import com.codebyriley.Core.Rendering.RenderQueue.BlendMode;
+import com.codebyriley.Core.Rendering.Shaders.ShaderProgramRegistry;
+
+/**
+ * Batching, sorting and vertex emission checked against RecordingRenderBackend, so these run
+ * without a GL context.
+ */
+public class RecordingBackendBatchingTest {
+    private static final int STRIDE = VertexFormat.STANDARD.getStride(true);
+    private static final int QUAD_BYTES = 4 * STRIDE;
+
+    private RecordingRenderBackend recorder;
+    private BatchedRenderer renderer;
+
+    @BeforeEach
+    public void setUp() {
+        recorder = new RecordingRenderBackend();
+        GLStateCache.setBackend(recorder);
+        ShaderProgramRegistry.setDiskCacheEnabled(false);
+        // Not streaming, so every batch is one glBufferSubData of exactly its vertices
+        renderer = new BatchedRenderer(false, VertexFormat.STANDARD);
+        recorder.setCaptureUploads(true);
+        recorder.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        renderer.destroy();
+        ShaderProgramRegistry.clear();
+    }
+
+    @Test
+    public void untexturedQuadsDrawInOneCall() {
+        renderer.begin();
+        for (int i = 0; i < 10; i++) {
+            renderer.addQuad(i * 20, 0, 16, 16, 0, 0, 1, 1, 1, 1, 1, 1, 0);
+        }
+        renderer.end();
+
+        assertEquals(1, recorder.getDrawCallCount());
+        assertEquals(10 * 6, recorder.getDrawnElements());
+        assertEquals(10 * QUAD_BYTES, vertexBytes());
+        assertEquals(0, recorder.getTextureBinds());
+    }
+
+    @Test
+    public void fullBatchFlushes() {
+        int quads = BatchedRenderer.MAX_QUADS + 1;
+        renderer.begin();
+        for (int i = 0; i < quads; i++) {
+            renderer.addQuad(i, 0, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0);
+        }
+        renderer.end();
+
+        assertEquals(2, recorder.getDrawCallCount());
+        assertEquals(BatchedRenderer.MAX_QUADS * 6, recorder.getDrawCalls().get(0).count);
+        assertEquals(6, recorder.getDrawCalls().get(1).count);
+        assertEquals((long) quads * QUAD_BYTES, vertexBytes());
+    }
+
+    @Test
+    public void textureSlotsOverflowIntoNewBatch() {
+        // Slot 0 is white, so 15 textures fit in a batch and the 16th starts another
+        renderer.begin();
+        for (int i = 0; i < BatchedRenderer.MAX_TEXTURES; i++) {
+            renderer.addQuad(i * 20, 0, 16, 16, 0, 0, 1, 1, 1, 1, 1, 1, 100 + i);
+        }
+        renderer.end();
+
+        assertEquals(2, recorder.getDrawCallCount());
+        assertEquals(100, recorder.getDrawCalls().get(0).textures[1]);
+        assertEquals(100 + BatchedRenderer.MAX_TEXTURES - 1, recorder.getDrawCalls().get(1).textures[1]);
+    }
+
+    @Test
+    public void sortingGroupsInterleavedBlendModes() {
+        int quads = 40;
+        assertEquals(quads, flushInterleaved(false));
+        int unsorted = recorder.getDrawCallCount();
+        long unsortedBytes = vertexBytes();
+
+        recorder.reset();
+        assertEquals(quads, flushInterleaved(true));
+        int sorted = recorder.getDrawCallCount();
+
+        assertEquals(quads, unsorted);
+        assertEquals(2, sorted);
+        // Sorting changes the batches, not what is emitted
+        assertEquals((long) quads * QUAD_BYTES, unsortedBytes);
+        assertEquals((long) quads * QUAD_BYTES, vertexBytes());
+    }
+
+    @Test
+    public void sortingGroupsTextures() {
+        RenderQueue queue = new RenderQueue();
+        queue.setPreserveOrder(0, true);
+        submitCycledTextures(queue);
+        queue.flush(renderer);
+        int unsorted = recorder.getDrawCallCount();
+        assertEquals(queue.getLastBatchesUnsorted(), unsorted);
+
+        recorder.reset();
+        queue.setPreserveOrder(0, false);
+        submitCycledTextures(queue);
+        queue.flush(renderer);
+        int sorted = recorder.getDrawCallCount();
+        assertEquals(queue.getLastBatchesSorted(), sorted);
+
+        // 20 textures cycled over 40 quads: 3 batches in order, 2 once grouped by texture
+        assertEquals(3, unsorted);
+        assertEquals(2, sorted);
+        assertEquals(40L * 6, recorder.getDrawnElements());
+    }
+
+    @Test
+    public void drawsUseTrianglesFromTheIndexBuffer() {
+        renderer.begin();
+        renderer.addQuad(0, 0, 16, 16, 0, 0, 1, 1, 1, 1, 1, 1, 0);
+        renderer.end();
+        assertEquals(GL_TRIANGLES, recorder.getDrawCalls().get(0).mode);
+    }
+
+    // Alternate alpha and additive quads with one texture; returns the commands flushed
+    private int flushInterleaved(boolean sort) {
+        RenderQueue queue = new RenderQueue();
+        queue.setPreserveOrder(0, !sort);
+        for (int i = 0; i < 40; i++) {
+            BlendMode blend = i % 2 == 0 ? BlendMode.ALPHA : BlendMode.ADDITIVE;
+            queue.submit(0, blend, 0, i * 20, 0, 16, 16, 0, 0, 0, 1, 1, 1, 1, 1, 1, 7);
+        }
+        queue.flush(renderer);
+        return queue.getLastCommandCount();
+    }
+
+    // Bytes written to buffers; getUploadedBytes() also counts texture uploads
+    private long vertexBytes() {
+        long bytes = 0;
+        for (RecordingRenderBackend.Upload upload : recorder.getUploads()) {
+            bytes += upload.data.length;
+        }
+        return bytes;
+    }
+
+    private static void submitCycledTextures(RenderQueue queue) {
+        for (int i = 0; i < 40; i++) {
+            queue.submit(0, BlendMode.ALPHA, 0, i * 20, 0, 16, 16, 0, 0, 0, 1, 1, 1, 1, 1, 1, 100 + i % 20);
+        }
+    }
+}